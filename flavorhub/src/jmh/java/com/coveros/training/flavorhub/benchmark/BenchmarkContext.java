@@ -0,0 +1,71 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.FlavorHubApplication;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.model.RecipeIngredient;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Boots FlavorHub for benchmarks and builds synthetic catalog data.
+ *
+ * Each context gets its own in-memory H2 database with SQL logging switched off, so numbers
+ * reflect the application rather than console output.
+ */
+final class BenchmarkContext {
+    
+    static final String[] CUISINES = {"Italian", "Mexican", "Asian", "American", "Indian", "French", "Thai", "Greek"};
+    static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+    
+    private BenchmarkContext() {
+    }
+    
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(FlavorHubApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                // Command-line arguments outrank application.properties; builder defaults would not
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.coveros.training.flavorhub=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+    }
+    
+    /**
+     * Build unsaved recipes with a fixed seed so every run sees the same catalog
+     */
+    static List<Recipe> recipes(int count, int ingredientsPerRecipe) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String cuisine = CUISINES[i % CUISINES.length];
+            recipes.add(recipe("Benchmark " + cuisine + " Dish " + i, cuisine,
+                    DIFFICULTIES[random.nextInt(DIFFICULTIES.length)], ingredientsPerRecipe, random));
+        }
+        return recipes;
+    }
+    
+    static Recipe recipe(String name, String cuisine, String difficulty, int ingredientCount, SplittableRandom random) {
+        Recipe recipe = new Recipe(name, "A synthetic recipe used for benchmarking",
+                random.nextInt(5, 60), random.nextInt(0, 120), random.nextInt(1, 9), difficulty, cuisine);
+        for (int i = 0; i < ingredientCount; i++) {
+            recipe.getIngredients().add(new RecipeIngredient("Ingredient " + random.nextInt(500),
+                    random.nextInt(1, 8) / 2.0, "cups", i % 3 == 0 ? "chopped" : null));
+        }
+        for (int step = 1; step <= 6; step++) {
+            recipe.getInstructions().add("Step " + step + ": combine, stir and cook until done.");
+        }
+        return recipe;
+    }
+}
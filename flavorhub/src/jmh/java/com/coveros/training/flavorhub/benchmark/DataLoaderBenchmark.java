@@ -0,0 +1,54 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.config.DataLoader;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.repository.UserPantryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the startup bulk load of sample data into an empty database
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataLoaderBenchmark {
+    
+    private ConfigurableApplicationContext context;
+    private DataLoader dataLoader;
+    private IngredientRepository ingredientRepository;
+    private RecipeRepository recipeRepository;
+    private UserPantryRepository userPantryRepository;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        dataLoader = context.getBean(DataLoader.class);
+        ingredientRepository = context.getBean(IngredientRepository.class);
+        recipeRepository = context.getBean(RecipeRepository.class);
+        userPantryRepository = context.getBean(UserPantryRepository.class);
+    }
+    
+    @Setup(Level.Invocation)
+    public void emptyDatabase() {
+        userPantryRepository.deleteAllInBatch();
+        recipeRepository.deleteAll();
+        ingredientRepository.deleteAllInBatch();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public void loadSampleData() {
+        dataLoader.run();
+    }
+}
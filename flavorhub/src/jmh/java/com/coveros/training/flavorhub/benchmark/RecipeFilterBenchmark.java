@@ -0,0 +1,90 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.dto.RecipeFilter;
+import com.coveros.training.flavorhub.dto.RecipeFilterResult;
+import com.coveros.training.flavorhub.service.RecipeColumnStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a multi-criteria recipe filter answered by the column store against the same
+ * filter in SQL. Recipes are bulk-inserted through JDBC, since only their attributes matter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeFilterBenchmark {
+    
+    private static final int LIMIT = 100;
+    private static final long FIRST_ID = 1_000_000;
+    
+    @Param({"100000", "1000000"})
+    private int catalogSize;
+    
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private RecipeColumnStore recipeColumnStore;
+    private RecipeFilter[] filters;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        recipeColumnStore = context.getBean(RecipeColumnStore.class);
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object[]> rows = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            long id = FIRST_ID + i;
+            rows.add(new Object[]{id, "Benchmark Dish " + i, random.nextInt(5, 60), random.nextInt(0, 120),
+                    random.nextInt(1, 9), BenchmarkContext.DIFFICULTIES[random.nextInt(BenchmarkContext.DIFFICULTIES.length)],
+                    BenchmarkContext.CUISINES[i % BenchmarkContext.CUISINES.length],
+                    random.nextInt(0, 51) / 10.0, random.nextInt(0, 50), id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO recipes (id, name, prep_time, cook_time, servings, difficulty_level, "
+                + "cuisine_type, average_rating, rating_count, change_version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        recipeColumnStore.reload();
+        
+        // Quick weeknight dinners, about 0.5% of the catalog each. The bound changes from call to
+        // call, so H2 cannot hand back the previous result of an identical query.
+        filters = new RecipeFilter[16];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = new RecipeFilter();
+            filters[i].setMaxPrepTime(15 + i);
+            filters[i].setMaxCookTime(45);
+            filters[i].setMinRating(4.0);
+            filters[i].setCuisine(List.of("Italian", "Thai"));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public RecipeFilterResult columnStore() {
+        return recipeColumnStore.filter(filters[next++ % filters.length], LIMIT);
+    }
+    
+    /**
+     * The same criteria in H2; all matching IDs are read to count them, as the store does
+     */
+    @Benchmark
+    public List<Long> sql() {
+        RecipeFilter filter = filters[next++ % filters.length];
+        return jdbcTemplate.queryForList("SELECT id FROM recipes WHERE prep_time <= ? AND cook_time <= ? "
+                        + "AND average_rating >= ? AND cuisine_type IN (?, ?) ORDER BY id", Long.class,
+                filter.getMaxPrepTime(), filter.getMaxCookTime(), filter.getMinRating(),
+                filter.getCuisine().get(0), filter.getCuisine().get(1)).subList(0, LIMIT);
+    }
+}
@@ -0,0 +1,64 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.service.RecipeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JSON serialization through the application's configured ObjectMapper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSerializationBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    private int catalogSize;
+    
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private ObjectMapper objectMapper;
+    private Recipe recipeWithTwentyIngredients;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        recipeService = context.getBean(RecipeService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        context.getBean(RecipeRepository.class).saveAll(BenchmarkContext.recipes(catalogSize, 8));
+        recipeWithTwentyIngredients = BenchmarkContext.recipe("Twenty Ingredient Stew", "French", "Hard",
+                20, new SplittableRandom(7));
+        recipeWithTwentyIngredients.setId(1L);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    /**
+     * Full GET /api/recipes path minus HTTP: load the catalog and write it as JSON
+     */
+    @Benchmark
+    public byte[] getAllRecipesToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recipeService.getAllRecipes());
+    }
+    
+    /**
+     * Entity to JSON only, independent of catalog size
+     */
+    @Benchmark
+    public byte[] recipeWithTwentyIngredientsToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(recipeWithTwentyIngredients);
+    }
+}
@@ -0,0 +1,58 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the RecipeService write and search paths against an in-memory H2 catalog
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeServiceBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    private int catalogSize;
+    
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private long[] recipeIds;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        recipeService = context.getBean(RecipeService.class);
+        List<Recipe> saved = context.getBean(RecipeRepository.class)
+                .saveAll(BenchmarkContext.recipes(catalogSize, 8));
+        recipeIds = saved.stream().mapToLong(Recipe::getId).toArray();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Recipe addRating() {
+        long id = recipeIds[next++ % recipeIds.length];
+        return recipeService.addRating(id, 4);
+    }
+    
+    /**
+     * Matches one cuisine in eight, so the result grows with the catalog
+     */
+    @Benchmark
+    public List<Recipe> searchRecipes() {
+        return recipeService.searchRecipes("thai");
+    }
+}
@@ -0,0 +1,133 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.dto.SimilarRecipe;
+import com.coveros.training.flavorhub.service.SimilarRecipeIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks "similar recipes" lookups through the MinHash/LSH index against an exact Jaccard
+ * scan over every recipe. Recipes come in families of variations on a base ingredient list, so
+ * each one has genuinely similar neighbours.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarRecipeBenchmark {
+    
+    private static final int LIMIT = 10;
+    private static final long FIRST_ID = 1_000_000;
+    
+    @Param({"10000", "100000"})
+    private int catalogSize;
+    
+    private ConfigurableApplicationContext context;
+    private SimilarRecipeIndex similarRecipeIndex;
+    /** Sorted ingredient numbers per recipe, for the exact scan */
+    private int[][] ingredients;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        similarRecipeIndex = context.getBean(SimilarRecipeIndex.class);
+        ingredients = ingredientSets(catalogSize);
+        List<Object[]> recipes = new ArrayList<>(catalogSize);
+        List<Object[]> recipeIngredients = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            long id = FIRST_ID + i;
+            recipes.add(new Object[]{id, "Benchmark Dish " + i, id});
+            for (int ingredient : ingredients[i]) {
+                recipeIngredients.add(new Object[]{id, "Ingredient " + ingredient});
+            }
+        }
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.batchUpdate("INSERT INTO recipes (id, name, average_rating, rating_count, change_version) "
+                + "VALUES (?, ?, 0, 0, ?)", recipes);
+        jdbcTemplate.batchUpdate("INSERT INTO recipe_ingredients (recipe_id, ingredient_name) VALUES (?, ?)",
+                recipeIngredients);
+        similarRecipeIndex.reload();
+    }
+    
+    /**
+     * Families of 20 recipes, each a base list of 6 to 12 ingredients out of 2,000 with two of
+     * them swapped at random
+     */
+    static int[][] ingredientSets(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[][] sets = new int[count][];
+        int[] base = new int[0];
+        for (int i = 0; i < count; i++) {
+            if (i % 20 == 0) {
+                base = random.ints(random.nextInt(6, 13), 0, 2000).toArray();
+            }
+            int[] set = base.clone();
+            for (int swap = 0; swap < 2; swap++) {
+                set[random.nextInt(set.length)] = random.nextInt(2000);
+            }
+            sets[i] = Arrays.stream(set).distinct().sorted().toArray();
+        }
+        return sets;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Optional<List<SimilarRecipe>> lsh() {
+        return similarRecipeIndex.similar(FIRST_ID + next++ % catalogSize, LIMIT);
+    }
+    
+    /**
+     * Jaccard similarity against every other recipe, keeping the best {@value #LIMIT}
+     */
+    @Benchmark
+    public double[] exactScan() {
+        int query = next++ % catalogSize;
+        double[] best = new double[LIMIT];
+        for (int other = 0; other < ingredients.length; other++) {
+            if (other == query) {
+                continue;
+            }
+            double similarity = jaccard(ingredients[query], ingredients[other]);
+            if (similarity > best[LIMIT - 1]) {
+                int at = LIMIT - 1;
+                while (at > 0 && best[at - 1] < similarity) {
+                    best[at] = best[at - 1];
+                    at--;
+                }
+                best[at] = similarity;
+            }
+        }
+        return best;
+    }
+    
+    private static double jaccard(int[] a, int[] b) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+}
@@ -0,0 +1,74 @@
+package com.coveros.training.flavorhub.benchmark;
+
+import com.coveros.training.flavorhub.model.Recipe;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the response formats of GET /api/recipes: bytes on the wire and CPU to produce them.
+ *
+ * Uses the ObjectMappers of the application's own message converters, so settings match what
+ * clients receive. Payload sizes are printed once per trial; gzip runs at the JDK default level,
+ * as the embedded server's response compression does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    
+    @Param({"json", "json-pretty", "smile", "cbor"})
+    private String format;
+    
+    @Param({"false", "true"})
+    private boolean gzip;
+    
+    @Param({"100"})
+    private int recipeCount;
+    
+    private ObjectWriter writer;
+    private List<Recipe> recipes;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (ConfigurableApplicationContext context = BenchmarkContext.start()) {
+            writer = switch (format) {
+                case "json" -> context.getBean(MappingJackson2HttpMessageConverter.class).getObjectMapper().writer();
+                case "json-pretty" -> context.getBean(MappingJackson2HttpMessageConverter.class).getObjectMapper()
+                        .writerWithDefaultPrettyPrinter();
+                case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper().writer();
+                case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper().writer();
+                default -> throw new IllegalArgumentException("Unknown format: " + format);
+            };
+        }
+        recipes = BenchmarkContext.recipes(recipeCount, 8);
+        long id = 1;
+        for (Recipe recipe : recipes) {
+            recipe.setId(id++);
+        }
+        System.out.printf("%n%s%s: %,d bytes for %d recipes%n", format, gzip ? "+gzip" : "",
+                serialize().length, recipeCount);
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            writer.writeValue(out, recipes);
+        }
+        return bytes.toByteArray();
+    }
+}
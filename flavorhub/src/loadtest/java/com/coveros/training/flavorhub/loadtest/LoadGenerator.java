@@ -0,0 +1,225 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator.
+ *
+ * Requests are issued on a fixed schedule (constant arrival rate) whether or not earlier
+ * requests have completed, the way independent users arrive in production. Latency is measured
+ * from each request's scheduled start rather than from when it was actually sent, so a stalled
+ * server is charged for the requests that queued behind the stall (no coordinated omission).
+ */
+class LoadGenerator {
+    
+    private static final String[] SEARCH_TERMS = {"chicken", "pasta", "soup", "taco", "curry", "salad", "beef", "rice"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    /** Pantry operations are spread over this many users (X-User-Id), so sharded storage sees all shards */
+    private static final int PANTRY_USERS = 100;
+    
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService callbackExecutor;
+    private final HttpClient client;
+    private final SplittableRandom random;
+    
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    /** {userId, pantryItemId} of items added during the run */
+    private final Queue<long[]> createdPantryItems = new ConcurrentLinkedQueue<>();
+    
+    private long[] recipeIds;
+    private long[] ingredientIds;
+    
+    LoadGenerator(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.random = new SplittableRandom(config.seed());
+        this.callbackExecutor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(callbackExecutor)
+                .build();
+        
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        List<Operation> operations = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        this.weightedOperations = operations.toArray(Operation[]::new);
+    }
+    
+    /**
+     * Look up the recipe and ingredient IDs that requests will refer to
+     */
+    void prepare() throws IOException, InterruptedException {
+        recipeIds = fetchIds("/api/recipes");
+        ingredientIds = fetchIds("/api/ingredients");
+        if (recipeIds.length == 0 || ingredientIds.length == 0) {
+            throw new IllegalStateException("Target has no recipes or ingredients to load test against");
+        }
+    }
+    
+    private long[] fetchIds(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(baseUri.resolve(path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode items = objectMapper.readTree(response.body());
+        long[] ids = new long[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).get("id").asLong();
+        }
+        return ids;
+    }
+    
+    /**
+     * Drive load at the configured rate for the given period, then wait for stragglers
+     */
+    void run(Duration period) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.ratePerSecond();
+        long start = System.nanoTime();
+        long end = start + period.toNanos();
+        
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (outstanding.get() >= config.maxOutstanding()) {
+                dropped.increment();
+                continue;
+            }
+            send(weightedOperations[random.nextInt(weightedOperations.length)], scheduled);
+        }
+        
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+    
+    private void send(Operation operation, long scheduledNanos) {
+        long userId = 1 + random.nextInt(PANTRY_USERS);
+        Long pantryId = null;
+        if (operation == Operation.PANTRY_DELETE) {
+            long[] created = createdPantryItems.poll();
+            if (created != null) {
+                userId = created[0];
+                pantryId = created[1];
+            } else {
+                // Nothing left to delete yet; keep the write pressure by adding instead
+                operation = Operation.PANTRY_ADD;
+            }
+        }
+        
+        Operation sent = operation;
+        long user = userId;
+        HttpRequest request = buildRequest(operation, userId, pantryId);
+        outstanding.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - scheduledNanos;
+                    stats.get(sent).record(latency, response == null ? 0 : response.statusCode());
+                    if (sent == Operation.PANTRY_ADD && response != null && response.statusCode() == 201) {
+                        rememberPantryItem(user, response.body());
+                    }
+                    outstanding.decrementAndGet();
+                });
+    }
+    
+    private HttpRequest buildRequest(Operation operation, long userId, Long pantryId) {
+        HttpRequest.Builder builder = switch (operation) {
+            case LIST -> HttpRequest.newBuilder(uri("/api/recipes")).GET();
+            case GET -> HttpRequest.newBuilder(uri("/api/recipes/" + pick(recipeIds))).GET();
+            case SEARCH -> HttpRequest.newBuilder(uri("/api/recipes/search?query="
+                    + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)])).GET();
+            case RATE -> HttpRequest.newBuilder(uri("/api/recipes/" + pick(recipeIds) + "/rate"))
+                    .PUT(json("{\"rating\":" + random.nextInt(1, 6) + "}"));
+            case PANTRY_READ -> HttpRequest.newBuilder(uri("/api/pantry")).GET();
+            case PANTRY_ADD -> HttpRequest.newBuilder(uri("/api/pantry"))
+                    .POST(json("{\"ingredient\":{\"id\":" + pick(ingredientIds)
+                            + "},\"quantity\":" + random.nextInt(1, 10) + ",\"unit\":\"cups\"}"));
+            case PANTRY_DELETE -> HttpRequest.newBuilder(uri("/api/pantry/" + pantryId)).DELETE();
+        };
+        return builder
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("X-User-Id", Long.toString(userId))
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+    
+    private void rememberPantryItem(long userId, String body) {
+        try {
+            createdPantryItems.add(new long[]{userId, objectMapper.readTree(body).get("id").asLong()});
+        } catch (IOException | NullPointerException e) {
+            // Not fatal: the item simply won't be picked for deletion
+        }
+    }
+    
+    private URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+    
+    private long pick(long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+    
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+    
+    void resetStats() {
+        stats.values().forEach(OperationStats::reset);
+        dropped.reset();
+    }
+    
+    Map<Operation, OperationStats> stats() {
+        return stats;
+    }
+    
+    long dropped() {
+        return dropped.sum();
+    }
+    
+    void shutdown() {
+        callbackExecutor.shutdownNow();
+    }
+}
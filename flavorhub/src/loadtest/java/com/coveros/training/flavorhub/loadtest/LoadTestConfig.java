@@ -0,0 +1,67 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param ratePerSecond constant arrival rate of requests, independent of response times
+ * @param warmup how long to drive load before recording starts
+ * @param duration how long to record
+ * @param mix relative weight of each operation
+ * @param maxOutstanding requests allowed in flight before the generator counts new ones as dropped
+ * @param baseUrl target an already running instance instead of booting one
+ * @param outputDirectory where the JSON and HTML reports are written
+ * @param seed seed for the operation mix and request parameters
+ */
+record LoadTestConfig(int ratePerSecond,
+                      Duration warmup,
+                      Duration duration,
+                      Map<Operation, Integer> mix,
+                      int maxOutstanding,
+                      String baseUrl,
+                      Path outputDirectory,
+                      long seed) {
+    
+    static final String DEFAULT_MIX = "list=15,search=30,rate=20,pantry-read=20,pantry-add=10,pantry-delete=5";
+    
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 30L)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Integer.getInteger("loadtest.maxOutstanding", 10_000),
+                blankToNull(System.getProperty("loadtest.baseUrl")),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest")),
+                Long.getLong("loadtest.seed", 42L));
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+    
+    /**
+     * Parse a mix such as {@code list=15,search=30,rate=20}
+     */
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected name=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Load mix must contain at least one operation");
+        }
+        return mix;
+    }
+}
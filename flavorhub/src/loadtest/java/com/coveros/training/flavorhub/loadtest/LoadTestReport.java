@@ -0,0 +1,184 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency percentiles and throughput of one load test run, written as JSON and HTML
+ */
+class LoadTestReport {
+    
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private final LoadTestConfig config;
+    private final Instant startedAt;
+    private final Duration measured;
+    private final Map<Operation, OperationStats> stats;
+    private final long dropped;
+    
+    LoadTestReport(LoadTestConfig config, Instant startedAt, Duration measured,
+                   Map<Operation, OperationStats> stats, long dropped) {
+        this.config = config;
+        this.startedAt = startedAt;
+        this.measured = measured;
+        this.stats = stats;
+        this.dropped = dropped;
+    }
+    
+    /**
+     * Write {@code loadtest-report.json} and {@code loadtest-report.html} to the output directory
+     *
+     * @return the path of the HTML report
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.writeValue(directory.resolve("loadtest-report.json").toFile(), toMap());
+        Path html = directory.resolve("loadtest-report.html");
+        Files.writeString(html, toHtml(), StandardCharsets.UTF_8);
+        return html;
+    }
+    
+    Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("ratePerSecond", config.ratePerSecond());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("mix", mixSpec());
+        settings.put("seed", config.seed());
+        report.put("config", settings);
+        report.put("startedAt", startedAt.toString());
+        report.put("measuredSeconds", seconds());
+        
+        Histogram overall = new Histogram(3);
+        long successes = 0;
+        long shed = 0;
+        long errors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Histogram latency = operationStats.latency();
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            overall.add(latency);
+            successes += operationStats.successes();
+            shed += operationStats.shed();
+            errors += operationStats.errors();
+            Map<String, Object> operation = summarize(latency);
+            operation.put("endpoint", entry.getKey().description());
+            operation.put("successes", operationStats.successes());
+            operation.put("shed", operationStats.shed());
+            operation.put("errors", operationStats.errors());
+            operations.put(entry.getKey().key(), operation);
+        }
+        
+        Map<String, Object> totals = summarize(overall);
+        totals.put("successes", successes);
+        totals.put("shed", shed);
+        totals.put("errors", errors);
+        totals.put("droppedByGenerator", dropped);
+        totals.put("goodputPerSecond", round(successes / seconds()));
+        report.put("totals", totals);
+        report.put("operations", operations);
+        return report;
+    }
+    
+    private Map<String, Object> summarize(Histogram latency) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", latency.getTotalCount());
+        summary.put("throughputPerSecond", round(latency.getTotalCount() / seconds()));
+        Map<String, Object> millis = new LinkedHashMap<>();
+        millis.put("mean", round(latency.getMean() / NANOS_PER_MILLI));
+        millis.put("p50", percentile(latency, 50));
+        millis.put("p90", percentile(latency, 90));
+        millis.put("p99", percentile(latency, 99));
+        millis.put("p99.9", percentile(latency, 99.9));
+        millis.put("max", round(latency.getMaxValue() / NANOS_PER_MILLI));
+        summary.put("latencyMillis", millis);
+        return summary;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private String toHtml() {
+        Map<String, Object> report = toMap();
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n")
+                .append("<title>FlavorHub Load Test Report</title>\n")
+                .append("<style>body{font-family:sans-serif;margin:2rem}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:.4rem .8rem;text-align:right}")
+                .append("th:first-child,td:first-child{text-align:left}pre{background:#f6f6f6;padding:1rem}</style>\n")
+                .append("</head>\n<body>\n<h1>FlavorHub Load Test Report</h1>\n")
+                .append("<p>Started ").append(startedAt).append(", measured ").append(seconds())
+                .append(" s at ").append(config.ratePerSecond()).append(" requests/s (open loop), mix <code>")
+                .append(mixSpec()).append("</code></p>\n")
+                .append("<table>\n<tr><th>Operation</th><th>Requests</th><th>Throughput/s</th><th>OK</th>")
+                .append("<th>Shed (503)</th><th>Errors</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th>")
+                .append("<th>p99.9 ms</th><th>Max ms</th></tr>\n");
+        Map<String, Object> operations = (Map<String, Object>) report.get("operations");
+        operations.forEach((name, value) -> appendRow(html, name, (Map<String, Object>) value));
+        appendRow(html, "total", (Map<String, Object>) report.get("totals"));
+        html.append("</table>\n");
+        
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram latency = entry.getValue().latency();
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+            latency.outputPercentileDistribution(new PrintStream(distribution, true, StandardCharsets.UTF_8),
+                    NANOS_PER_MILLI);
+            html.append("<h2>").append(entry.getKey().description()).append(" (latency in ms)</h2>\n<pre>")
+                    .append(distribution.toString(StandardCharsets.UTF_8)).append("</pre>\n");
+        }
+        return html.append("</body>\n</html>\n").toString();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void appendRow(StringBuilder html, String name, Map<String, Object> values) {
+        Map<String, Object> millis = (Map<String, Object>) values.get("latencyMillis");
+        html.append("<tr><td>").append(name).append("</td>");
+        for (Object value : new Object[]{values.get("requests"), values.get("throughputPerSecond"),
+                values.get("successes"), values.get("shed"), values.get("errors"), millis.get("p50"),
+                millis.get("p90"), millis.get("p99"), millis.get("p99.9"), millis.get("max")}) {
+            html.append("<td>").append(value).append("</td>");
+        }
+        html.append("</tr>\n");
+    }
+    
+    private String mixSpec() {
+        StringBuilder spec = new StringBuilder();
+        config.mix().forEach((operation, weight) -> {
+            if (!spec.isEmpty()) {
+                spec.append(',');
+            }
+            spec.append(operation.key()).append('=').append(weight);
+        });
+        return spec.toString();
+    }
+    
+    private double seconds() {
+        return measured.toMillis() / 1000.0;
+    }
+    
+    private static double percentile(Histogram latency, double percentile) {
+        return round(latency.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import com.coveros.training.flavorhub.FlavorHubApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Boots FlavorHub on a random port with a private in-memory H2 database, drives an open-loop
+ * request mix against it and writes latency/throughput reports.
+ *
+ * Run with: {@code ./mvnw -Ploadtest test-compile exec:exec}
+ * and tune with {@code -Dloadtest.rate=500 -Dloadtest.duration=60 -Dloadtest.mix=list=50,search=50}.
+ */
+public final class LoadTestRunner {
+    
+    private LoadTestRunner() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = config.baseUrl() == null ? startApplication() : null;
+        LoadGenerator generator = null;
+        try {
+            URI baseUri = URI.create(config.baseUrl() != null ? config.baseUrl()
+                    : "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            generator = new LoadGenerator(config, baseUri);
+            generator.prepare();
+            
+            System.out.printf("Warming up %s at %d req/s for %d s%n", baseUri, config.ratePerSecond(),
+                    config.warmup().toSeconds());
+            generator.run(config.warmup());
+            generator.resetStats();
+            
+            System.out.printf("Measuring for %d s%n", config.duration().toSeconds());
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            generator.run(config.duration());
+            Duration measured = Duration.ofNanos(System.nanoTime() - start);
+            
+            LoadTestReport report = new LoadTestReport(config, startedAt, measured, generator.stats(), generator.dropped());
+            Path html = report.write(config.outputDirectory());
+            System.out.println("Report written to " + html.toAbsolutePath());
+        } finally {
+            if (generator != null) {
+                generator.shutdown();
+            }
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+    
+    private static ConfigurableApplicationContext startApplication() {
+        // DevTools reads this before the environment exists, so it has to be a system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command-line arguments outrank application.properties; builder defaults would not
+        return new SpringApplicationBuilder(FlavorHubApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.coveros.training.flavorhub=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+    }
+}
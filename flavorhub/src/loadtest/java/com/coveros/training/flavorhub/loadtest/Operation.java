@@ -0,0 +1,39 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests a load test can mix
+ */
+enum Operation {
+    LIST("list", "GET /api/recipes"),
+    GET("get", "GET /api/recipes/{id}"),
+    SEARCH("search", "GET /api/recipes/search"),
+    RATE("rate", "PUT /api/recipes/{id}/rate"),
+    PANTRY_READ("pantry-read", "GET /api/pantry"),
+    PANTRY_ADD("pantry-add", "POST /api/pantry"),
+    PANTRY_DELETE("pantry-delete", "DELETE /api/pantry/{id}");
+    
+    private final String key;
+    private final String description;
+    
+    Operation(String key, String description) {
+        this.key = key;
+        this.description = description;
+    }
+    
+    String key() {
+        return key;
+    }
+    
+    String description() {
+        return description;
+    }
+    
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "'"));
+    }
+}
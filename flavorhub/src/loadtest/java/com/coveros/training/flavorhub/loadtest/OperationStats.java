@@ -0,0 +1,60 @@
+package com.coveros.training.flavorhub.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one operation
+ */
+class OperationStats {
+    
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+    
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    /**
+     * Record a completed request
+     *
+     * @param latencyNanos time from the request's scheduled start to its completion
+     * @param status HTTP status, or 0 if the request failed without a response
+     */
+    void record(long latencyNanos, int status) {
+        latency.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (status >= 200 && status < 400) {
+            successes.increment();
+        } else if (status == 503) {
+            shed.increment();
+        } else {
+            errors.increment();
+        }
+    }
+    
+    void reset() {
+        latency.reset();
+        successes.reset();
+        shed.reset();
+        errors.reset();
+    }
+    
+    Histogram latency() {
+        return latency.copy();
+    }
+    
+    long successes() {
+        return successes.sum();
+    }
+    
+    long shed() {
+        return shed.sum();
+    }
+    
+    long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,51 @@
+package com.coveros.training.flavorhub.batch;
+
+import com.coveros.training.flavorhub.resilience.BulkheadFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.List;
+
+/**
+ * Wires the composite batch endpoint. Parallel entries run on Spring Boot's application task
+ * executor (a bounded pool, or virtual threads with the virtual-threads profile), each through
+ * the filters registered for {@value #API_PATTERN}. Consistent batches hold a connection for
+ * all their entries, so they take their permit from the expensive bulkhead compartment.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "flavorhub.batch.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchConfig {
+    
+    static final String API_PATTERN = "/api/*";
+    
+    @Bean
+    public BatchDispatcher batchDispatcher(DispatcherServlet dispatcherServlet,
+                                           ObjectProvider<FilterRegistrationBean<?>> filterRegistrations,
+                                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                           AsyncTaskExecutor executor,
+                                           PlatformTransactionManager transactionManager,
+                                           ObjectMapper objectMapper, BatchProperties properties,
+                                           ObjectProvider<BulkheadFilter> bulkheadFilter) {
+        List<Filter> apiFilters = filterRegistrations.orderedStream()
+                .filter(registration -> registration.isEnabled() && registration.getUrlPatterns().contains(API_PATTERN))
+                .<Filter>map(FilterRegistrationBean::getFilter)
+                .toList();
+        BulkheadFilter bulkheads = bulkheadFilter.getIfAvailable();
+        return new BatchDispatcher(dispatcherServlet, apiFilters, executor, transactionManager, objectMapper,
+                properties, bulkheads != null ? bulkheads.getExpensive() : null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.coveros.training.flavorhub.batch;
+
+import com.coveros.training.flavorhub.dto.BatchRequest;
+import com.coveros.training.flavorhub.dto.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Composite endpoint: several API reads in one round trip, e.g.
+ * {@code {"requests": [{"id": "recipes", "path": "/api/recipes?fields=name"}, {"id": "pantry", "path": "/api/pantry"}]}}
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "flavorhub.batch.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+public class BatchController {
+    
+    private final BatchDispatcher batchDispatcher;
+    
+    @PostMapping
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest batch,
+                                                 HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(batchDispatcher.execute(batch, request));
+        } catch (IllegalArgumentException e) {
+            // Too many sub-requests
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.coveros.training.flavorhub.batch;
+
+import com.coveros.training.flavorhub.dto.BatchRequest;
+import com.coveros.training.flavorhub.dto.BatchResponse;
+import com.coveros.training.flavorhub.resilience.Bulkhead;
+import com.coveros.training.flavorhub.resilience.BulkheadFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the entries of a batch through the API filters and Spring MVC's {@link DispatcherServlet},
+ * so each one is admitted, limited, routed and handled like a standalone request for its own
+ * path: it takes its own bulkhead and concurrency-limit permit and its SQL is counted against
+ * its own endpoint.
+ *
+ * By default the entries run in parallel on the application task executor, each in its own
+ * transaction. An entry still running when the batch times out is interrupted. A consistent
+ * batch runs them one after another on the calling thread inside a single read-only
+ * transaction, so they share one connection; the services' own transactions join it. Under
+ * H2's default READ_COMMITTED isolation each statement still sees the latest committed data,
+ * so this saves connections but is not a snapshot. A consistent batch takes one permit of the
+ * expensive bulkhead compartment for its connection before opening the transaction, and its
+ * entries run under that permit; entries that queued for their own permits while holding the
+ * connection could otherwise drain the connection pool.
+ */
+@Slf4j
+public class BatchDispatcher {
+    
+    private final DispatcherServlet dispatcherServlet;
+    private final List<Filter> filters;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties properties;
+    private final Bulkhead consistentBulkhead;
+    
+    /**
+     * @param filters the filters mapped to the API, in the order they run for a standalone request
+     * @param consistentBulkhead the compartment a consistent batch takes its permit from, or null
+     *        if bulkheads are disabled
+     */
+    public BatchDispatcher(DispatcherServlet dispatcherServlet, List<Filter> filters, AsyncTaskExecutor executor,
+                           PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                           BatchProperties properties, Bulkhead consistentBulkhead) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.filters = List.copyOf(filters);
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.consistentBulkhead = consistentBulkhead;
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the batch has more entries than allowed
+     */
+    public BatchResponse execute(BatchRequest batch, HttpServletRequest request) {
+        List<BatchRequest.Operation> operations = batch.getRequests();
+        if (operations.size() > properties.getMaxRequests()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxRequests() + " requests per batch");
+        }
+        List<BatchResponse.Result> results = batch.isConsistent()
+                ? runConsistent(operations, request)
+                : runInParallel(operations, request);
+        return new BatchResponse(results);
+    }
+    
+    private List<BatchResponse.Result> runConsistent(List<BatchRequest.Operation> operations,
+                                                     HttpServletRequest request) {
+        if (consistentBulkhead == null) {
+            return runInReadOnlyTransaction(operations, request);
+        }
+        if (!consistentBulkhead.tryEnter()) {
+            log.warn("Bulkhead '{}' full, rejecting consistent batch", consistentBulkhead.getName());
+            List<BatchResponse.Result> results = new ArrayList<>(operations.size());
+            for (int i = 0; i < operations.size(); i++) {
+                results.add(new BatchResponse.Result(idOf(operations, i),
+                        HttpServletResponse.SC_SERVICE_UNAVAILABLE, null));
+            }
+            return results;
+        }
+        try {
+            return runInReadOnlyTransaction(operations, request);
+        } finally {
+            consistentBulkhead.exit();
+        }
+    }
+    
+    private List<BatchResponse.Result> runInReadOnlyTransaction(List<BatchRequest.Operation> operations,
+                                                                HttpServletRequest request) {
+        return readOnlyTransaction.execute(status -> {
+            // Nothing to commit; ending in a rollback also keeps one failed entry (which
+            // marks the shared transaction rollback-only) from failing the whole batch
+            status.setRollbackOnly();
+            return runSequentially(operations, request);
+        });
+    }
+    
+    private List<BatchResponse.Result> runSequentially(List<BatchRequest.Operation> operations,
+                                                       HttpServletRequest request) {
+        List<BatchResponse.Result> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            String id = idOf(operations, i);
+            BatchRequest.Operation operation = operations.get(i);
+            Integer rejection = reject(operation);
+            if (rejection != null) {
+                results.add(new BatchResponse.Result(id, rejection, null));
+                continue;
+            }
+            SubRequest subRequest = new SubRequest(request, operation.getPath());
+            if (consistentBulkhead != null) {
+                subRequest.setAttribute(BulkheadFilter.PERMIT_HELD_ATTRIBUTE, Boolean.TRUE);
+            }
+            results.add(dispatch(id, subRequest));
+        }
+        return results;
+    }
+    
+    private List<BatchResponse.Result> runInParallel(List<BatchRequest.Operation> operations,
+                                                     HttpServletRequest request) {
+        List<Future<BatchResponse.Result>> futures = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            String id = idOf(operations, i);
+            BatchRequest.Operation operation = operations.get(i);
+            Integer rejection = reject(operation);
+            if (rejection != null) {
+                futures.add(CompletableFuture.completedFuture(new BatchResponse.Result(id, rejection, null)));
+            } else {
+                // Built here, while the batch request is still live
+                SubRequest subRequest = new SubRequest(request, operation.getPath());
+                futures.add(executor.submit(() -> dispatch(id, subRequest)));
+            }
+        }
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        List<BatchResponse.Result> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(idOf(operations, i), futures.get(i), deadline));
+        }
+        return results;
+    }
+    
+    private static BatchResponse.Result await(String id, Future<BatchResponse.Result> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Interrupts a wait for a permit or a connection and stops the entry at its next JDBC call
+            future.cancel(true);
+            return new BatchResponse.Result(id, HttpServletResponse.SC_GATEWAY_TIMEOUT, null);
+        } catch (ExecutionException e) {
+            log.warn("Batch request '{}' failed", id, e.getCause());
+            return new BatchResponse.Result(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new BatchResponse.Result(id, HttpServletResponse.SC_SERVICE_UNAVAILABLE, null);
+        }
+    }
+    
+    private static String idOf(List<BatchRequest.Operation> operations, int index) {
+        String id = operations.get(index).getId();
+        return id != null ? id : Integer.toString(index);
+    }
+    
+    /**
+     * Status for an entry the batch endpoint does not run, or null if it may be dispatched
+     */
+    private static Integer reject(BatchRequest.Operation operation) {
+        if (!HttpMethod.GET.matches(operation.getMethod())) {
+            return HttpServletResponse.SC_METHOD_NOT_ALLOWED;
+        }
+        String path = operation.getPath();
+        if (!path.startsWith("/api/") || path.startsWith("/api/batch")) {
+            return HttpServletResponse.SC_BAD_REQUEST;
+        }
+        return null;
+    }
+    
+    private BatchResponse.Result dispatch(String id, SubRequest subRequest) {
+        SubResponse subResponse = new SubResponse();
+        try {
+            new EntryChain().doFilter(subRequest, subResponse);
+            return new BatchResponse.Result(id, subResponse.getStatus(), body(subResponse));
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.debug("Batch request '{}' for {} stopped after the batch timed out", id, subRequest.getRequestURI());
+            } else {
+                log.warn("Batch request '{}' for {} failed", id, subRequest.getRequestURI(), e);
+            }
+            return new BatchResponse.Result(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, null);
+        }
+    }
+    
+    private JsonNode body(SubResponse subResponse) throws IOException {
+        byte[] body = subResponse.getBody();
+        String contentType = subResponse.getContentType();
+        if (body.length == 0 || contentType == null
+                || !MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return null;
+        }
+        return objectMapper.readTree(body);
+    }
+    
+    /**
+     * The API filters followed by the dispatcher servlet, for one entry
+     */
+    private final class EntryChain implements FilterChain {
+        
+        private int position;
+        
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+            if (position < filters.size()) {
+                filters.get(position++).doFilter(request, response, this);
+            } else {
+                dispatcherServlet.service(request, response);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the composite batch endpoint ({@code flavorhub.batch.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.batch")
+public class BatchProperties {
+    
+    private boolean enabled = true;
+    
+    /** Sub-requests one batch may contain */
+    private int maxRequests = 20;
+    
+    /** How long a parallel batch waits for its sub-requests before reporting 504 for the rest */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,568 @@
+package com.coveros.training.flavorhub.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConnection;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpUpgradeHandler;
+import jakarta.servlet.http.Part;
+import jakarta.servlet.http.PushBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bodiless GET for one batch entry, with the headers, cookies, locale and connection details
+ * of the batch request.
+ *
+ * Everything is copied from the batch request when the sub-request is created, on the request
+ * thread. An entry that outlives the batch (after a timeout) must not touch the batch request,
+ * which the container recycles once the batch response is sent. Every request method is
+ * therefore answered here, with a safe default for what a bodiless, sessionless, synchronous
+ * GET does not have, and the wrapped request is only a placeholder for {@link #getRequest()}.
+ *
+ * Attributes are kept per sub-request, so sub-requests dispatched in parallel do not see each
+ * other's handler state. {@code Accept} is always JSON so results can be embedded in the batch
+ * response whatever format the batch itself was requested in.
+ */
+class SubRequest extends HttpServletRequestWrapper {
+    
+    private static final HttpServletRequest DETACHED = (HttpServletRequest) Proxy.newProxyInstance(
+            SubRequest.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "detached batch request";
+                default -> throw new UnsupportedOperationException(
+                        method.getName() + " is not available to batch entries");
+            });
+    
+    private final String path;
+    private final String query;
+    private final Map<String, String[]> parameters;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Cookie[] cookies;
+    private final List<Locale> locales;
+    private final String contextPath;
+    private final ServletContext servletContext;
+    private final HttpServletMapping servletMapping;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final boolean secure;
+    private final String protocol;
+    private final String remoteAddr;
+    private final String remoteHost;
+    private final int remotePort;
+    private final String localAddr;
+    private final String localName;
+    private final int localPort;
+    private final Principal userPrincipal;
+    private final String remoteUser;
+    private final String authType;
+    
+    SubRequest(HttpServletRequest batchRequest, String pathAndQuery) {
+        super(DETACHED);
+        UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+        this.path = uri.getPath();
+        this.query = uri.getQuery();
+        this.parameters = decode(uri.getQueryParams());
+        for (String name : Collections.list(batchRequest.getHeaderNames())) {
+            if (!HttpHeaders.ACCEPT.equalsIgnoreCase(name) && !isBodyHeader(name)) {
+                headers.put(name, Collections.list(batchRequest.getHeaders(name)));
+            }
+        }
+        headers.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+        Cookie[] batchCookies = batchRequest.getCookies();
+        this.cookies = batchCookies == null ? null : copy(batchCookies);
+        this.locales = Collections.list(batchRequest.getLocales());
+        this.contextPath = batchRequest.getContextPath();
+        this.servletContext = batchRequest.getServletContext();
+        this.servletMapping = batchRequest.getHttpServletMapping();
+        this.scheme = batchRequest.getScheme();
+        this.serverName = batchRequest.getServerName();
+        this.serverPort = batchRequest.getServerPort();
+        this.secure = batchRequest.isSecure();
+        this.protocol = batchRequest.getProtocol();
+        this.remoteAddr = batchRequest.getRemoteAddr();
+        this.remoteHost = batchRequest.getRemoteHost();
+        this.remotePort = batchRequest.getRemotePort();
+        this.localAddr = batchRequest.getLocalAddr();
+        this.localName = batchRequest.getLocalName();
+        this.localPort = batchRequest.getLocalPort();
+        this.userPrincipal = batchRequest.getUserPrincipal();
+        this.remoteUser = batchRequest.getRemoteUser();
+        this.authType = batchRequest.getAuthType();
+    }
+    
+    private static Cookie[] copy(Cookie[] cookies) {
+        Cookie[] copies = new Cookie[cookies.length];
+        for (int i = 0; i < cookies.length; i++) {
+            copies[i] = (Cookie) cookies[i].clone();
+        }
+        return copies;
+    }
+    
+    private static Map<String, String[]> decode(MultiValueMap<String, String> encoded) {
+        Map<String, String[]> decoded = new LinkedHashMap<>();
+        encoded.forEach((name, values) -> decoded.put(UriUtils.decode(name, StandardCharsets.UTF_8), values.stream()
+                .map(value -> value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8))
+                .toArray(String[]::new)));
+        return Collections.unmodifiableMap(decoded);
+    }
+    
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+    
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+    
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+    
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort())
+                .append(getRequestURI());
+        return url;
+    }
+    
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+    
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+    
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+    
+    @Override
+    public String getQueryString() {
+        return query;
+    }
+    
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+    
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+    
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+    
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+    
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+    
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+    
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(new ArrayList<>(headers.keySet()));
+    }
+    
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+    
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cannot parse date header " + name + ": " + value, e);
+        }
+    }
+    
+    private static boolean isBodyHeader(String name) {
+        return HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+    
+    @Override
+    public Cookie[] getCookies() {
+        return cookies;
+    }
+    
+    @Override
+    public Locale getLocale() {
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+    
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales.isEmpty() ? List.of(Locale.getDefault()) : locales);
+    }
+    
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+    
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+    
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return servletMapping;
+    }
+    
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+    
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+    
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+    
+    @Override
+    public boolean isSecure() {
+        return secure;
+    }
+    
+    @Override
+    public String getProtocol() {
+        return protocol;
+    }
+    
+    @Override
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+    
+    @Override
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+    
+    @Override
+    public int getRemotePort() {
+        return remotePort;
+    }
+    
+    @Override
+    public String getLocalAddr() {
+        return localAddr;
+    }
+    
+    @Override
+    public String getLocalName() {
+        return localName;
+    }
+    
+    @Override
+    public int getLocalPort() {
+        return localPort;
+    }
+    
+    @Override
+    public Principal getUserPrincipal() {
+        return userPrincipal;
+    }
+    
+    @Override
+    public String getRemoteUser() {
+        return remoteUser;
+    }
+    
+    @Override
+    public String getAuthType() {
+        return authType;
+    }
+    
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+    
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Batch entries cannot create a session");
+        }
+        return null;
+    }
+    
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+    
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+    
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+    
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return false;
+    }
+    
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+    
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Batch entries have no session");
+    }
+    
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return false;
+    }
+    
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Batch entries cannot log in");
+    }
+    
+    @Override
+    public void logout() {
+        // Nothing to log out of; the principal is the batch request's
+    }
+    
+    @Override
+    public String getCharacterEncoding() {
+        return null;
+    }
+    
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        // No body to decode
+    }
+    
+    @Override
+    public String getContentType() {
+        return null;
+    }
+    
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+    
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+    
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        return new EmptyInputStream();
+    }
+    
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+    
+    @Override
+    public Collection<Part> getParts() {
+        return List.of();
+    }
+    
+    @Override
+    public Part getPart(String name) {
+        return null;
+    }
+    
+    @Override
+    public Map<String, String> getTrailerFields() {
+        return Map.of();
+    }
+    
+    @Override
+    public boolean isTrailerFieldsReady() {
+        return true;
+    }
+    
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) {
+        throw new IllegalStateException("Batch entries cannot be upgraded");
+    }
+    
+    @Override
+    public PushBuilder newPushBuilder() {
+        return null;
+    }
+    
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        // Forwarding would run outside the entry's filters
+        return null;
+    }
+    
+    @Override
+    public String getRequestId() {
+        return null;
+    }
+    
+    @Override
+    public String getProtocolRequestId() {
+        return null;
+    }
+    
+    @Override
+    public ServletConnection getServletConnection() {
+        return null;
+    }
+    
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+    
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+    
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+    
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+    
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+    
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+    
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Batch entries do not support async processing");
+    }
+    
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        return startAsync();
+    }
+    
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Batch entries do not support async processing");
+    }
+    
+    private static final class EmptyInputStream extends ServletInputStream {
+        
+        @Override
+        public boolean isFinished() {
+            return true;
+        }
+        
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+        
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Sub-requests have no body");
+        }
+        
+        @Override
+        public int read() {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.coveros.training.flavorhub.batch;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Captures the status, headers and body of one batch entry in memory. Like {@link SubRequest}
+ * it never touches the batch response, so an entry may finish after the batch has been sent;
+ * the wrapped response is a placeholder that fails on any call not answered here.
+ */
+class SubResponse extends HttpServletResponseWrapper {
+    
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private int status = SC_OK;
+    private String contentType;
+    private Charset charset = StandardCharsets.UTF_8;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    
+    private static final HttpServletResponse DETACHED = (HttpServletResponse) Proxy.newProxyInstance(
+            SubResponse.class.getClassLoader(), new Class<?>[] {HttpServletResponse.class},
+            (proxy, method, args) -> {
+                throw new UnsupportedOperationException(method.getName() + " is not available to batch entries");
+            });
+    
+    SubResponse() {
+        super(DETACHED);
+    }
+    
+    byte[] getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+    
+    @Override
+    public int getStatus() {
+        return status;
+    }
+    
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    
+    @Override
+    public void sendError(int status) {
+        this.status = status;
+    }
+    
+    @Override
+    public void sendError(int status, String message) {
+        this.status = status;
+    }
+    
+    @Override
+    public void sendRedirect(String location) {
+        this.status = SC_FOUND;
+        setHeader(HttpHeaders.LOCATION, location);
+    }
+    
+    @Override
+    public void setContentType(String type) {
+        this.contentType = type;
+    }
+    
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+    
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+    
+    @Override
+    public String getCharacterEncoding() {
+        return charset.name();
+    }
+    
+    @Override
+    public void setContentLength(int length) {
+        // Buffered in memory, no sizing needed
+    }
+    
+    @Override
+    public void setContentLengthLong(long length) {
+        // Buffered in memory, no sizing needed
+    }
+    
+    @Override
+    public void setLocale(Locale locale) {
+        // Only the JSON body is kept
+    }
+    
+    @Override
+    public Locale getLocale() {
+        return Locale.getDefault();
+    }
+    
+    @Override
+    public void addCookie(Cookie cookie) {
+        // Entries are reads; cookies belong to the batch response
+    }
+    
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+    
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+    
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        values.add(value);
+        headers.put(name, values);
+    }
+    
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+            return;
+        }
+        headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+    }
+    
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+    
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+    
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, Long.toString(date));
+    }
+    
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, Long.toString(date));
+    }
+    
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+    
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+    
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return headers.getOrDefault(name, List.of());
+    }
+    
+    @Override
+    public Collection<String> getHeaderNames() {
+        return headers.keySet();
+    }
+    
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new BufferedOutputStream();
+        }
+        return outputStream;
+    }
+    
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, charset));
+        }
+        return writer;
+    }
+    
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+    
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+    
+    @Override
+    public void resetBuffer() {
+        body.reset();
+    }
+    
+    @Override
+    public void reset() {
+        body.reset();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+    }
+    
+    @Override
+    public void setBufferSize(int size) {
+        // Buffered in memory, no sizing needed
+    }
+    
+    @Override
+    public int getBufferSize() {
+        return body.size();
+    }
+    
+    private final class BufferedOutputStream extends ServletOutputStream {
+        
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+        
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Sub-responses are written synchronously");
+        }
+        
+        @Override
+        public void write(int b) {
+            body.write(b);
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            body.write(bytes, offset, length);
+        }
+    }
+}
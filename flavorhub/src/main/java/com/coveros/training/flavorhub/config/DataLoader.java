@@ -1,9 +1,12 @@
 package com.coveros.training.flavorhub.config;
 
 import com.coveros.training.flavorhub.model.*;
+import com.coveros.training.flavorhub.pantry.PantryStore;
 import com.coveros.training.flavorhub.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -11,17 +14,25 @@ import java.util.Arrays;
 /**
  * Loads sample data into the database on application startup
  * This provides a working dataset for the GitHub Copilot workshop
+ * (replaced by {@link SyntheticDataGenerator} under the {@code synthetic} profile).
+ * A database that already has recipes (e.g. the file-backed prod database) is left as is.
  */
+@Slf4j
 @Component
+@Profile("!synthetic")
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
     
     private final IngredientRepository ingredientRepository;
     private final RecipeRepository recipeRepository;
-    private final UserPantryRepository userPantryRepository;
+    private final PantryStore pantryStore;
     
     @Override
     public void run(String... args) {
+        if (recipeRepository.count() > 0) {
+            log.info("Database already holds recipes, skipping sample data");
+            return;
+        }
         loadIngredients();
         loadRecipes();
         loadSamplePantry();
@@ -482,101 +493,101 @@ public class DataLoader implements CommandLineRunner {
         
         // Dairy products
         ingredientRepository.findByNameIgnoreCase("Eggs").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 12.0, "whole"))
+            pantryStore.save(new UserPantry(userId, ingredient, 12.0, "whole"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Milk").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "cups"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Cheese").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 1.5, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 1.5, "cups"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Butter").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 8.0, "tablespoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 8.0, "tablespoons"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Heavy Cream").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 1.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 1.0, "cups"))
         );
         
         // Grains & Pasta
         ingredientRepository.findByNameIgnoreCase("Pasta").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "pounds"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "pounds"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Rice").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 3.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 3.0, "cups"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Flour").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 5.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 5.0, "cups"))
         );
         
         // Vegetables
         ingredientRepository.findByNameIgnoreCase("Onion").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 3.0, "whole"))
+            pantryStore.save(new UserPantry(userId, ingredient, 3.0, "whole"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Garlic").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 10.0, "cloves"))
+            pantryStore.save(new UserPantry(userId, ingredient, 10.0, "cloves"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Tomato").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 4.0, "whole"))
+            pantryStore.save(new UserPantry(userId, ingredient, 4.0, "whole"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Bell Pepper").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "whole"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "whole"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Carrot").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 5.0, "whole"))
+            pantryStore.save(new UserPantry(userId, ingredient, 5.0, "whole"))
         );
         
         // Proteins
         ingredientRepository.findByNameIgnoreCase("Chicken Breast").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "pounds"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "pounds"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Ground Beef").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 1.5, "pounds"))
+            pantryStore.save(new UserPantry(userId, ingredient, 1.5, "pounds"))
         );
         
         // Condiments & Oils
         ingredientRepository.findByNameIgnoreCase("Olive Oil").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 1.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 1.0, "cups"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Soy Sauce").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 6.0, "tablespoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 6.0, "tablespoons"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Tomato Sauce").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "cups"))
         );
         
         // Spices
         ingredientRepository.findByNameIgnoreCase("Salt").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 10.0, "teaspoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 10.0, "teaspoons"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Black Pepper").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 5.0, "teaspoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 5.0, "teaspoons"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Cumin").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 3.0, "teaspoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 3.0, "teaspoons"))
         );
         
         ingredientRepository.findByNameIgnoreCase("Paprika").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 2.0, "teaspoons"))
+            pantryStore.save(new UserPantry(userId, ingredient, 2.0, "teaspoons"))
         );
         
         // Baking supplies
         ingredientRepository.findByNameIgnoreCase("Sugar").ifPresent(ingredient ->
-            userPantryRepository.save(new UserPantry(userId, ingredient, 3.0, "cups"))
+            pantryStore.save(new UserPantry(userId, ingredient, 3.0, "cups"))
         );
     }
 }
@@ -0,0 +1,35 @@
+package com.coveros.training.flavorhub.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+/**
+ * Hands Hibernate the Caffeine cache manager for the regions in {@code hibernate-cache.conf}.
+ *
+ * Given {@code hibernate.javax.cache.uri}, Hibernate turns the name into a resource URL first.
+ * Inside the packaged jar that is a {@code jar:} URL, which Caffeine cannot read, so it started
+ * without any region and startup failed. Caffeine resolves a {@code classpath:} URI itself, in
+ * the jar too, but Hibernate rejects that scheme. Hibernate closes the manager with the session
+ * factory.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    private static final URI CACHE_CONFIG = URI.create("classpath:hibernate-cache.conf");
+    
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerCustomizer() {
+        return hibernateProperties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER,
+                    provider.getCacheManager(CACHE_CONFIG, provider.getDefaultClassLoader()));
+        };
+    }
+}
@@ -0,0 +1,330 @@
+package com.coveros.training.flavorhub.config;
+
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.pantry.ShardedPantryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a large, reproducible synthetic catalog instead of the sample data.
+ *
+ * Activate with the {@code synthetic} profile and size it with {@code flavorhub.synthetic.*}.
+ * Rows are written with JDBC batch inserts and explicit IDs rather than through JPA, so a
+ * catalog of a million recipes builds in seconds rather than hours. Ingredient popularity
+ * follows a Zipf distribution and instruction counts and lengths vary; everything is drawn
+ * from a single seeded random source, so the same settings always produce the same rows.
+ */
+@Slf4j
+@Component
+@Profile("synthetic")
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements CommandLineRunner {
+    
+    static final String[][] BASE_INGREDIENTS = {
+            // Ordered roughly by how often they appear in real recipes
+            {"Salt", "Spice", "teaspoons"}, {"Onion", "Vegetable", "whole"}, {"Garlic", "Vegetable", "cloves"},
+            {"Olive Oil", "Oil", "tablespoons"}, {"Butter", "Dairy", "tablespoons"}, {"Black Pepper", "Spice", "teaspoons"},
+            {"Eggs", "Dairy", "whole"}, {"Flour", "Grain", "cups"}, {"Sugar", "Baking", "cups"},
+            {"Tomato", "Vegetable", "whole"}, {"Milk", "Dairy", "cups"}, {"Chicken Breast", "Protein", "pounds"},
+            {"Lemon", "Fruit", "whole"}, {"Carrot", "Vegetable", "whole"}, {"Parsley", "Herb", "tablespoons"},
+            {"Cheese", "Dairy", "cups"}, {"Rice", "Grain", "cups"}, {"Potato", "Vegetable", "whole"},
+            {"Ground Beef", "Protein", "pounds"}, {"Bell Pepper", "Vegetable", "whole"}, {"Cumin", "Spice", "teaspoons"},
+            {"Soy Sauce", "Condiment", "tablespoons"}, {"Ginger", "Spice", "teaspoons"}, {"Celery", "Vegetable", "stalks"},
+            {"Pasta", "Grain", "cups"}, {"Heavy Cream", "Dairy", "cups"}, {"Basil", "Herb", "tablespoons"},
+            {"Paprika", "Spice", "teaspoons"}, {"Spinach", "Vegetable", "cups"}, {"Mushrooms", "Vegetable", "cups"},
+            {"Cilantro", "Herb", "cups"}, {"Vinegar", "Condiment", "tablespoons"}, {"Honey", "Baking", "tablespoons"},
+            {"Chili Powder", "Spice", "teaspoons"}, {"Lime", "Fruit", "whole"}, {"Oregano", "Herb", "teaspoons"},
+            {"Bacon", "Protein", "slices"}, {"Zucchini", "Vegetable", "whole"}, {"Salmon", "Protein", "pounds"},
+            {"Shrimp", "Protein", "pounds"}, {"Coconut Milk", "Dairy", "cups"}, {"Broccoli", "Vegetable", "cups"},
+            {"Thyme", "Herb", "teaspoons"}, {"Cinnamon", "Spice", "teaspoons"}, {"Tofu", "Protein", "pounds"},
+            {"Chickpeas", "Legume", "cups"}, {"Black Beans", "Legume", "cups"}, {"Quinoa", "Grain", "cups"},
+            {"Tortillas", "Grain", "whole"}, {"Yogurt", "Dairy", "cups"}, {"Cucumber", "Vegetable", "whole"},
+            {"Pork Chops", "Protein", "whole"}, {"Chicken Thighs", "Protein", "pounds"}, {"Breadcrumbs", "Grain", "cups"},
+            {"Fish Sauce", "Condiment", "tablespoons"}, {"Sesame Oil", "Oil", "teaspoons"}, {"Avocado", "Fruit", "whole"},
+            {"Rosemary", "Herb", "teaspoons"}, {"Turmeric", "Spice", "teaspoons"}, {"Lentils", "Legume", "cups"},
+            {"Mozzarella Cheese", "Dairy", "cups"}, {"Sour Cream", "Dairy", "tablespoons"}, {"Jalapeño", "Vegetable", "whole"},
+            {"Green Onion", "Vegetable", "stalks"}, {"Corn", "Vegetable", "cups"}, {"Peas", "Vegetable", "cups"},
+            {"Walnuts", "Nut", "cups"}, {"Almonds", "Nut", "cups"}, {"Peanut Butter", "Nut", "tablespoons"},
+            {"Maple Syrup", "Baking", "tablespoons"}, {"Vanilla Extract", "Baking", "teaspoons"}, {"Baking Powder", "Baking", "teaspoons"},
+            {"Cabbage", "Vegetable", "heads"}, {"Eggplant", "Vegetable", "whole"}, {"Sweet Potato", "Vegetable", "whole"},
+            {"Lamb", "Protein", "pounds"}, {"Cod", "Protein", "pounds"}, {"Apple", "Fruit", "whole"},
+            {"Mango", "Fruit", "whole"}, {"Lemongrass", "Herb", "stalks"}
+    };
+    
+    static final String[] QUALIFIERS = {"", "Fresh", "Organic", "Smoked", "Dried", "Roasted", "Wild", "Baby",
+            "Heirloom", "Spicy", "Sun-Dried", "Pickled", "Frozen", "Toasted", "Aged", "Ground", "Crushed", "Young",
+            "Local", "Golden", "Red"};
+    
+    static final String[] CUISINES = {"Italian", "Mexican", "Asian", "American", "Indian", "French", "Thai",
+            "Greek", "Japanese", "Spanish", "Middle Eastern", "Korean"};
+    
+    private static final String[] DIFFICULTIES = {"Easy", "Easy", "Easy", "Medium", "Medium", "Hard"};
+    private static final String[] STYLES = {"Classic", "Rustic", "Quick", "Creamy", "Spicy", "Grandma's",
+            "Weeknight", "Herbed", "Crispy", "Slow-Cooked", "Zesty", "Hearty"};
+    private static final String[] DISHES = {"Stew", "Curry", "Salad", "Soup", "Stir Fry", "Pasta", "Tacos",
+            "Bake", "Skillet", "Bowl", "Risotto", "Casserole", "Wraps", "Pie", "Roast"};
+    private static final String[] VERBS = {"Chop", "Dice", "Slice", "Mince", "Whisk", "Fold in", "Sauté",
+            "Simmer", "Roast", "Season", "Stir in", "Grill", "Toss", "Blend", "Marinate"};
+    private static final String[] CLAUSES = {"until golden brown", "over medium heat", "for about five minutes",
+            "stirring occasionally", "until fragrant", "and set aside", "taking care not to overcrowd the pan",
+            "until the liquid has reduced by half", "then taste and adjust the seasoning",
+            "scraping up any browned bits from the bottom", "until just tender"};
+    private static final String[] NOTES = {null, null, null, "chopped", "diced", "minced", "optional", "to taste",
+            "room temperature", "thinly sliced"};
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SyntheticDataProperties properties;
+    private final ObjectProvider<ShardedPantryStore> shardedPantryStore;
+    
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recipes", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Database already holds {} recipes, skipping synthetic catalog", existing);
+            return;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                SplittableRandom random = new SplittableRandom(properties.getSeed());
+                ZipfSampler popularity = new ZipfSampler(properties.getIngredients(), properties.getZipfExponent());
+                insertIngredients(connection);
+                insertRecipes(connection, random, popularity);
+                insertPantries(connection, random, popularity);
+                restartIdentities(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        log.info("Generated {} recipes, {} ingredients and {} pantries (seed {}) in {} ms",
+                properties.getRecipes(), properties.getIngredients(), properties.getUsers(), properties.getSeed(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Name of the ingredient at the given popularity rank; the first ranks are plain staples,
+     * later ones are qualified variants, so names stay unique for any catalog size
+     */
+    static String ingredientName(int rank) {
+        String base = BASE_INGREDIENTS[rank % BASE_INGREDIENTS.length][0];
+        int variant = rank / BASE_INGREDIENTS.length;
+        String qualifier = QUALIFIERS[variant % QUALIFIERS.length];
+        int round = variant / QUALIFIERS.length;
+        String name = qualifier.isEmpty() ? base : qualifier + " " + base;
+        return round == 0 ? name : name + " " + (round + 1);
+    }
+    
+    private void insertIngredients(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO ingredients (id, name, category, unit, change_version) VALUES (?, ?, ?, ?, ?)")) {
+            for (int rank = 0; rank < properties.getIngredients(); rank++) {
+                String[] base = BASE_INGREDIENTS[rank % BASE_INGREDIENTS.length];
+                insert.setLong(1, rank + 1L);
+                insert.setString(2, ingredientName(rank));
+                insert.setString(3, base[1]);
+                insert.setString(4, base[2]);
+                insert.setLong(5, rank + 1L);
+                insert.addBatch();
+                if ((rank + 1) % properties.getBatchSize() == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+    
+    private void insertRecipes(Connection connection, SplittableRandom random, ZipfSampler popularity)
+            throws SQLException {
+        try (PreparedStatement recipes = connection.prepareStatement(
+                "INSERT INTO recipes (id, name, description, prep_time, cook_time, servings, difficulty_level, "
+                        + "cuisine_type, image_url, average_rating, rating_count, change_version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement ingredients = connection.prepareStatement(
+                     "INSERT INTO recipe_ingredients (recipe_id, ingredient_name, quantity, unit, notes) "
+                             + "VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement instructions = connection.prepareStatement(
+                     "INSERT INTO recipe_instructions (recipe_id, step_number, instructions) VALUES (?, ?, ?)")) {
+            int maxIngredients = Math.min(properties.getMaxIngredientsPerRecipe(), properties.getIngredients());
+            int minIngredients = Math.min(properties.getMinIngredientsPerRecipe(), maxIngredients);
+            int[] picked = new int[maxIngredients];
+            for (int i = 0; i < properties.getRecipes(); i++) {
+                long recipeId = i + 1L;
+                int ingredientCount = minIngredients + random.nextInt(maxIngredients - minIngredients + 1);
+                for (int n = 0; n < ingredientCount; n++) {
+                    picked[n] = distinctRank(random, popularity, picked, n);
+                    String[] base = BASE_INGREDIENTS[picked[n] % BASE_INGREDIENTS.length];
+                    ingredients.setLong(1, recipeId);
+                    ingredients.setString(2, ingredientName(picked[n]));
+                    ingredients.setDouble(3, (1 + random.nextInt(16)) / 4.0);
+                    ingredients.setString(4, base[2]);
+                    ingredients.setString(5, NOTES[random.nextInt(NOTES.length)]);
+                    ingredients.addBatch();
+                }
+                
+                String cuisine = CUISINES[random.nextInt(CUISINES.length)];
+                String main = ingredientName(picked[random.nextInt(ingredientCount)]);
+                boolean rated = random.nextInt(4) != 0;
+                recipes.setLong(1, recipeId);
+                recipes.setString(2, STYLES[random.nextInt(STYLES.length)] + " " + main + " "
+                        + DISHES[random.nextInt(DISHES.length)]);
+                recipes.setString(3, "A " + cuisine.toLowerCase() + " dish built around " + main.toLowerCase()
+                        + ", with " + ingredientCount + " ingredients");
+                recipes.setInt(4, 5 + random.nextInt(56));
+                recipes.setInt(5, random.nextInt(8) == 0 ? 0 : 5 + random.nextInt(236));
+                recipes.setInt(6, 1 + random.nextInt(12));
+                recipes.setString(7, DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+                recipes.setString(8, cuisine);
+                recipes.setString(9, null);
+                recipes.setDouble(10, rated ? Math.round((2.5 + random.nextDouble() * 2.5) * 10) / 10.0 : 0.0);
+                recipes.setInt(11, rated ? 1 + random.nextInt(500) : 0);
+                recipes.setLong(12, properties.getIngredients() + recipeId);
+                recipes.addBatch();
+                
+                int steps = instructionSteps(random);
+                for (int step = 0; step < steps; step++) {
+                    instructions.setLong(1, recipeId);
+                    instructions.setInt(2, step);
+                    instructions.setString(3, instruction(random, ingredientName(picked[random.nextInt(ingredientCount)])));
+                    instructions.addBatch();
+                }
+                
+                if ((i + 1) % properties.getBatchSize() == 0) {
+                    flush(connection, recipes, ingredients, instructions);
+                    if ((i + 1) % (properties.getBatchSize() * 20) == 0) {
+                        log.info("Generated {} of {} recipes", i + 1, properties.getRecipes());
+                    }
+                }
+            }
+            flush(connection, recipes, ingredients, instructions);
+        }
+    }
+    
+    private void insertPantries(Connection connection, SplittableRandom random, ZipfSampler popularity)
+            throws SQLException {
+        int itemsPerUser = Math.min(properties.getPantryItemsPerUser(), properties.getIngredients());
+        int[] picked = new int[itemsPerUser];
+        long usersPerBatch = Math.max(1, properties.getBatchSize() / Math.max(1, itemsPerUser));
+        // Sharded pantries live outside this database; the same rows go to their shards instead
+        ShardedPantryStore shards = shardedPantryStore.getIfAvailable();
+        List<UserPantry> shardBatch = new ArrayList<>();
+        long id = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO user_pantry (id, user_id, ingredient_id, quantity, unit, notes) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long userId = 1; userId <= properties.getUsers(); userId++) {
+                for (int n = 0; n < itemsPerUser; n++) {
+                    picked[n] = distinctRank(random, popularity, picked, n);
+                    double quantity = 1 + random.nextInt(10);
+                    String unit = BASE_INGREDIENTS[picked[n] % BASE_INGREDIENTS.length][2];
+                    if (shards != null) {
+                        shardBatch.add(new UserPantry(null, userId, new Ingredient(picked[n] + 1L, null, null, null),
+                                quantity, unit, null));
+                        continue;
+                    }
+                    insert.setLong(1, ++id);
+                    insert.setLong(2, userId);
+                    insert.setLong(3, picked[n] + 1L);
+                    insert.setDouble(4, quantity);
+                    insert.setString(5, unit);
+                    insert.setString(6, null);
+                    insert.addBatch();
+                }
+                if (userId % usersPerBatch == 0) {
+                    if (shards != null) {
+                        shards.insertAll(shardBatch);
+                        shardBatch.clear();
+                    } else {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            if (shards != null) {
+                shards.insertAll(shardBatch);
+            } else {
+                insert.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Explicit IDs and catalog versions bypass the identity sequences and the version counter,
+     * so move both past the generated rows
+     */
+    private void restartIdentities(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE ingredients ALTER COLUMN id RESTART WITH " + (properties.getIngredients() + 1L));
+            statement.execute("ALTER TABLE recipes ALTER COLUMN id RESTART WITH " + (properties.getRecipes() + 1L));
+            statement.execute("ALTER TABLE user_pantry ALTER COLUMN id RESTART WITH "
+                    + ((long) properties.getUsers() * Math.min(properties.getPantryItemsPerUser(), properties.getIngredients()) + 1));
+            // Ingredients took catalog versions 1..ingredients and recipes the ones after them
+            statement.execute("MERGE INTO catalog_version (id, version, tombstone_horizon) KEY (id) VALUES (1, "
+                    + ((long) properties.getIngredients() + properties.getRecipes()) + ", 0)");
+        }
+    }
+    
+    private static void flush(Connection connection, PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+    
+    /**
+     * Draw a Zipf rank not already among the first {@code count} picks
+     */
+    private static int distinctRank(SplittableRandom random, ZipfSampler popularity, int[] picked, int count) {
+        while (true) {
+            int rank = popularity.sample(random);
+            boolean seen = false;
+            for (int i = 0; i < count && !seen; i++) {
+                seen = picked[i] == rank;
+            }
+            if (!seen) {
+                return rank;
+            }
+        }
+    }
+    
+    /**
+     * Skewed towards short recipes, with the occasional long one
+     */
+    private int instructionSteps(SplittableRandom random) {
+        int range = properties.getMaxInstructionSteps() - properties.getMinInstructionSteps() + 1;
+        double skew = random.nextDouble();
+        return properties.getMinInstructionSteps() + (int) (range * skew * skew);
+    }
+    
+    private static String instruction(SplittableRandom random, String ingredient) {
+        StringBuilder step = new StringBuilder(VERBS[random.nextInt(VERBS.length)])
+                .append(" the ").append(ingredient.toLowerCase());
+        int clauses = random.nextInt(4);
+        for (int i = 0; i < clauses; i++) {
+            step.append(i == 0 ? " " : ", ").append(CLAUSES[random.nextInt(CLAUSES.length)]);
+        }
+        return step.append('.').toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.coveros.training.flavorhub.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size and shape of the generated catalog used by the {@code synthetic} profile
+ * ({@code flavorhub.synthetic.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.synthetic")
+public class SyntheticDataProperties {
+    
+    /** Same seed, same settings, same rows */
+    private long seed = 42;
+    
+    private int recipes = 100_000;
+    
+    private int ingredients = 2_000;
+    
+    private int users = 1_000;
+    
+    private int pantryItemsPerUser = 25;
+    
+    private int minIngredientsPerRecipe = 3;
+    
+    private int maxIngredientsPerRecipe = 15;
+    
+    private int minInstructionSteps = 2;
+    
+    private int maxInstructionSteps = 16;
+    
+    /** Skew of ingredient popularity; around 1 matches word and item frequencies in the wild */
+    private double zipfExponent = 1.07;
+    
+    /** Rows per JDBC batch, and per commit */
+    private int batchSize = 5_000;
+}
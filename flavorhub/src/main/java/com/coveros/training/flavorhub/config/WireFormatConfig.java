@@ -0,0 +1,47 @@
+package com.coveros.training.flavorhub.config;
+
+import com.coveros.training.flavorhub.metrics.TimedCborHttpMessageConverter;
+import com.coveros.training.flavorhub.metrics.TimedJacksonHttpMessageConverter;
+import com.coveros.training.flavorhub.metrics.TimedSmileHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Response formats for the REST API: compact JSON by default, Smile and CBOR for clients that
+ * ask for them with {@code Accept} or {@code ?format=smile|cbor}.
+ *
+ * JSON stays the first converter, so {@code Accept: *}{@code /*} still gets JSON. The binary
+ * mappers are built from the same {@code spring.jackson.*} settings as the JSON one.
+ */
+@Configuration
+public class WireFormatConfig {
+    
+    /**
+     * Replaces Spring Boot's default JSON converter, keeping the configured ObjectMapper
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, MeterRegistry meterRegistry) {
+        return new TimedSmileHttpMessageConverter(builder.factory(new SmileFactory()).build(), meterRegistry);
+    }
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder, MeterRegistry meterRegistry) {
+        return new TimedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), meterRegistry);
+    }
+}
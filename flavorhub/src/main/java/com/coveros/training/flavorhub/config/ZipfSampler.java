@@ -0,0 +1,45 @@
+package com.coveros.training.flavorhub.config;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks {@code 0..n-1} with Zipf-distributed probability: rank {@code k} is chosen in
+ * proportion to {@code 1 / (k + 1)^exponent}, so a handful of items dominate and the long tail
+ * is rarely seen, the way salt and onions dominate real recipes.
+ */
+public final class ZipfSampler {
+    
+    private final double[] cumulative;
+    
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf population must contain at least one item");
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("Zipf exponent must be positive");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+    
+    /**
+     * Draw the next rank, 0 being the most popular
+     */
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+    
+    public int size() {
+        return cumulative.length;
+    }
+}
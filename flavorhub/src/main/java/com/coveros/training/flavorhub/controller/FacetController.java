@@ -0,0 +1,25 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.dto.FacetCounts;
+import com.coveros.training.flavorhub.service.FacetCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for the filter facet counts, served from memory without SQL
+ */
+@RestController
+@RequestMapping("/api/facets")
+@RequiredArgsConstructor
+public class FacetController {
+    
+    private final FacetCounter facetCounter;
+    
+    @GetMapping
+    public ResponseEntity<FacetCounts> getFacets() {
+        return ResponseEntity.ok(facetCounter.counts());
+    }
+}
@@ -1,26 +1,32 @@
 package com.coveros.training.flavorhub.controller;
 
+import com.coveros.training.flavorhub.service.RecipeCardFragmentCache;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
 /**
  * Controller for serving the main web pages
  */
 @Controller
+@RequiredArgsConstructor
 public class HomeController {
     
+    private final RecipeCardFragmentCache recipeCardFragmentCache;
+    
     @GetMapping("/")
     public String home() {
         return "index";
     }
     
     /**
-     * Display the recipes browsing page
-     * TODO: Add model attributes for pre-populated data
+     * Display the recipes browsing page with the first page of recipe cards already rendered
      * @return the recipes view template
      */
     @GetMapping("/recipes")
-    public String recipes() {
+    public String recipes(Model model) {
+        model.addAttribute("recipeCards", recipeCardFragmentCache.firstPage());
         return "recipes";
     }
 }
@@ -1,6 +1,7 @@
 package com.coveros.training.flavorhub.controller;
 
 import com.coveros.training.flavorhub.dto.RatingRequest;
+import com.coveros.training.flavorhub.dto.RecipeBatchResponse;
 import com.coveros.training.flavorhub.model.Recipe;
 import com.coveros.training.flavorhub.service.RecipeService;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing recipes
@@ -26,6 +28,48 @@ public class RecipeController {
         return ResponseEntity.ok(recipeService.getAllRecipes());
     }
     
+    /**
+     * Sparse fieldset, e.g. {@code GET /api/recipes?fields=name,cuisineType}; {@code id} is always included
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllRecipes(@RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(recipeService.getAllRecipes(fields));
+        } catch (IllegalArgumentException e) {
+            // Unknown field name
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Page of a sparse fieldset, e.g. {@code GET /api/recipes?fields=name&limit=48&offset=24}, in ID order
+     */
+    @GetMapping(params = {"fields", "limit"})
+    public ResponseEntity<List<Map<String, Object>>> getRecipePage(@RequestParam String fields,
+                                                                   @RequestParam(defaultValue = "0") int offset,
+                                                                   @RequestParam int limit) {
+        try {
+            return ResponseEntity.ok(recipeService.getRecipePage(fields, offset, limit));
+        } catch (IllegalArgumentException e) {
+            // Unknown field name, negative offset or page size out of range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Multi-get, e.g. {@code GET /api/recipes/batch?ids=3,1,7}: recipes in request order plus
+     * the ids that were not found, in a fixed number of SQL statements
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<RecipeBatchResponse> getRecipesByIds(@RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(recipeService.getRecipesByIds(ids));
+        } catch (IllegalArgumentException e) {
+            // Too many ids
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Recipe> getRecipeById(@PathVariable Long id) {
         return recipeService.getRecipeById(id)
@@ -33,6 +77,17 @@ public class RecipeController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getRecipeById(@PathVariable Long id, @RequestParam String fields) {
+        try {
+            return recipeService.getRecipeById(id, fields)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Search recipes by name
      * NOTE: This endpoint is complete and working
@@ -42,6 +97,16 @@ public class RecipeController {
         return ResponseEntity.ok(recipeService.searchRecipes(query));
     }
     
+    @GetMapping(value = "/search", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> searchRecipes(@RequestParam String query,
+                                                                   @RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(recipeService.searchRecipes(query, fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get recipes by difficulty level
      * NOTE: Workshop participants will implement this endpoint using Copilot
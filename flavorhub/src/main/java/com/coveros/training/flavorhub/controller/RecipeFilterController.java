@@ -0,0 +1,34 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.dto.RecipeFilter;
+import com.coveros.training.flavorhub.dto.RecipeFilterResult;
+import com.coveros.training.flavorhub.service.RecipeColumnStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for multi-criteria recipe filters, answered from the in-memory column store
+ * without SQL, e.g. {@code GET /api/recipes/filter?maxPrepTime=20&minRating=4&cuisine=Italian,Thai}
+ */
+@RestController
+@RequestMapping("/api/recipes/filter")
+@RequiredArgsConstructor
+public class RecipeFilterController {
+    
+    private final RecipeColumnStore recipeColumnStore;
+    
+    @GetMapping
+    public ResponseEntity<RecipeFilterResult> filterRecipes(RecipeFilter filter,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(recipeColumnStore.filter(filter, limit));
+        } catch (IllegalArgumentException e) {
+            // Limit out of range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.dto.SimilarRecipe;
+import com.coveros.training.flavorhub.service.SimilarRecipeIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for "you might also like" suggestions: recipes with similar ingredients,
+ * answered from the in-memory similarity index without SQL
+ */
+@RestController
+@RequestMapping("/api/recipes")
+@RequiredArgsConstructor
+public class SimilarRecipeController {
+    
+    private final SimilarRecipeIndex similarRecipeIndex;
+    
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SimilarRecipe>> getSimilarRecipes(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return similarRecipeIndex.similar(id, limit)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            // Limit out of range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.dto.CatalogChanges;
+import com.coveros.training.flavorhub.service.CatalogSyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for incremental catalog sync, e.g. {@code GET /api/sync?since=1234}:
+ * the recipes and ingredients changed or deleted since the client's last sync, or 410 if deletes
+ * since then were already pruned
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+    
+    private final CatalogSyncService catalogSyncService;
+    
+    @GetMapping
+    public ResponseEntity<CatalogChanges> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "0") long tombstoneHorizon,
+                                                     @RequestParam(defaultValue = "500") int limit) {
+        try {
+            CatalogChanges changes = catalogSyncService.changesSince(since, tombstoneHorizon, limit);
+            if (changes.isFullResyncRequired()) {
+                return ResponseEntity.status(HttpStatus.GONE).body(changes);
+            }
+            return ResponseEntity.ok(changes);
+        } catch (IllegalArgumentException e) {
+            // Negative version or page size out of range
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
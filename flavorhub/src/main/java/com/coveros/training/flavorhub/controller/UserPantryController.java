@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for managing user pantry
@@ -19,19 +20,38 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserPantryController {
     
+    /**
+     * Identifies the user whose pantry a request works on; requests without it act for user 1.
+     * In a real application, this would come from authentication
+     */
+    public static final String USER_ID_HEADER = "X-User-Id";
+    
     private final UserPantryService userPantryService;
     
     /**
-     * Get all pantry items for a specific user
-     * For simplicity, we're using a hardcoded userId (1)
-     * In a real application, this would come from authentication
+     * Get all pantry items for the requesting user
      */
     @GetMapping
-    public ResponseEntity<List<UserPantry>> getUserPantry() {
-        Long userId = 1L; // Hardcoded for workshop purposes
+    public ResponseEntity<List<UserPantry>> getUserPantry(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = "1") Long userId) {
         return ResponseEntity.ok(userPantryService.getUserPantry(userId));
     }
     
+    /**
+     * Sparse fieldset, e.g. {@code GET /api/pantry?fields=quantity,unit,ingredient.name};
+     * {@code id} is always included
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getUserPantry(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = "1") Long userId, @RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(userPantryService.getUserPantry(userId, fields));
+        } catch (IllegalArgumentException e) {
+            // Unknown field name
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Get a specific pantry item by ID
      * NOTE: Workshop participants will implement this endpoint using Copilot
@@ -39,14 +59,21 @@ public class UserPantryController {
     // TODO: Implement GET /api/pantry/{id} endpoint
     
     /**
-     * Add an item to the user's pantry
+     * Add an item to the user's pantry; an ID in the body is ignored, so a POST always creates
      */
     @PostMapping
-    public ResponseEntity<UserPantry> addPantryItem(@Valid @RequestBody UserPantry pantryItem) {
-        Long userId = 1L; // Hardcoded for workshop purposes
+    public ResponseEntity<UserPantry> addPantryItem(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = "1") Long userId,
+            @Valid @RequestBody UserPantry pantryItem) {
+        pantryItem.setId(null);
         pantryItem.setUserId(userId);
-        UserPantry saved = userPantryService.addPantryItem(pantryItem);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        try {
+            UserPantry saved = userPantryService.addPantryItem(pantryItem);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            // Unknown ingredient
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -59,8 +86,9 @@ public class UserPantryController {
      * Delete a pantry item
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePantryItem(@PathVariable Long id) {
-        userPantryService.deletePantryItem(id);
+    public ResponseEntity<Void> deletePantryItem(
+            @RequestHeader(name = USER_ID_HEADER, defaultValue = "1") Long userId, @PathVariable Long id) {
+        userPantryService.deletePantryItem(userId, id);
         return ResponseEntity.noContent().build();
     }
     
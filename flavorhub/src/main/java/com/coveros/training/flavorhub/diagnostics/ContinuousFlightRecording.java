@@ -0,0 +1,97 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Always-on Flight Recorder recording, kept in the JFR disk repository for the last
+ * {@code flavorhub.jfr.max-age} and dumped on demand by {@link FlightRecordingEndpoint}.
+ *
+ * Settings are the JDK's {@code default} configuration plus {@code jfr/flavorhub.jfc}, the same
+ * combination as {@code -XX:StartFlightRecording:settings=default,flavorhub.jfc}, except that
+ * the events capturing environment variables and system properties are switched off: those
+ * often hold credentials, and a dump is downloaded over HTTP.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ContinuousFlightRecording {
+    
+    static final String SETTINGS_RESOURCE = "jfr/flavorhub.jfc";
+    
+    /** JDK events that would copy secrets from the environment into every dump */
+    private static final String[] SENSITIVE_EVENTS = {"jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty"};
+    
+    private final FlightRecordingProperties properties;
+    
+    private Recording recording;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM; continuous recording disabled");
+            return;
+        }
+        recording = new Recording(settings());
+        recording.setName("flavorhub-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.start();
+        log.info("Started continuous Flight Recorder recording (max age {}, max size {})",
+                properties.getMaxAge(), properties.getMaxSize());
+    }
+    
+    private Map<String, String> settings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(properties.getBaseSettings()).getSettings());
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS_RESOURCE).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        for (String event : SENSITIVE_EVENTS) {
+            settings.put(event + "#enabled", "false");
+        }
+        return settings;
+    }
+    
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+    
+    /**
+     * Write everything recorded so far to a new temporary file
+     */
+    public synchronized Path dump() throws IOException {
+        if (!isRecording()) {
+            throw new IllegalStateException("No continuous recording is running");
+        }
+        Path file = Files.createTempFile("flavorhub-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+    
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
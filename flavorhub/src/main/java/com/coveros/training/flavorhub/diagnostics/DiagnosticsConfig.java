@@ -0,0 +1,26 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Continuous Flight Recorder recording and the endpoint that dumps it, both only with
+ * {@code flavorhub.jfr.enabled=true}
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecordingProperties.class)
+@ConditionalOnProperty(name = "flavorhub.jfr.enabled", havingValue = "true")
+public class DiagnosticsConfig {
+    
+    @Bean
+    public ContinuousFlightRecording continuousFlightRecording(FlightRecordingProperties properties) {
+        return new ContinuousFlightRecording(properties);
+    }
+    
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(ContinuousFlightRecording continuousFlightRecording) {
+        return new FlightRecordingEndpoint(continuousFlightRecording);
+    }
+}
@@ -0,0 +1,62 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code GET /actuator/jfr} downloads the continuous recording as a {@code .jfr} file that opens in
+ * JDK Mission Control or {@code jfr print}, without attaching an agent to the live process
+ */
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+    
+    private final ContinuousFlightRecording recording;
+    
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        if (!recording.isRecording()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(recording.dump()));
+    }
+    
+    /**
+     * Deletes the dump once it has been streamed to the client
+     */
+    private static class TemporaryFileResource extends FileSystemResource {
+        
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+        
+        @Override
+        public String getFilename() {
+            return "flavorhub.jfr";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the continuous Flight Recorder recording ({@code flavorhub.jfr.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.jfr")
+public class FlightRecordingProperties {
+    
+    /** Off by default: a recording holds request details and JVM state that must not leak */
+    private boolean enabled = false;
+    
+    /** JDK settings the FlavorHub events are layered on: "default" (~1% overhead) or "profile" */
+    private String baseSettings = "default";
+    
+    /** How far back a dump reaches */
+    private Duration maxAge = Duration.ofMinutes(15);
+    
+    /** Disk space the recording may use before the oldest chunks are dropped */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+}
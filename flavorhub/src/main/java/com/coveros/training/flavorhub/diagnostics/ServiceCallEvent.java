@@ -0,0 +1,53 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one call into a FlavorHub service.
+ *
+ * Stack traces are off: the service and method fields identify the call site, and skipping
+ * the stack walk keeps the event cheap enough to record continuously.
+ */
+@Name(ServiceCallEvent.NAME)
+@Label("Service Call")
+@Category({"FlavorHub", "Service"})
+@Description("A call into RecipeService, IngredientService or UserPantryService")
+@StackTrace(false)
+class ServiceCallEvent extends Event {
+    
+    static final String NAME = "flavorhub.ServiceCall";
+    
+    @Label("Service")
+    String service;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Entity ID")
+    @Description("First Long argument: the recipe, ingredient or pantry item ID, or the user ID; 0 if none")
+    long entityId;
+    
+    @Label("Result Count")
+    @Description("Size of a returned collection, 1 or 0 for a single or optional result, 0 for void")
+    int resultCount;
+    
+    @Label("Cache Hit")
+    @Description("Completed without running SQL: served from the ingredient catalog, a coalesced call or a cache")
+    boolean cacheHit;
+    
+    @Label("SQL Statements")
+    int sqlStatements;
+    
+    @Label("SQL Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long sqlTime;
+    
+    @Label("Exception")
+    String exception;
+}
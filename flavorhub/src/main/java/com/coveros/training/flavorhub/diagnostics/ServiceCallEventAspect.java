@@ -0,0 +1,75 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import com.coveros.training.flavorhub.metrics.SqlStatementStats;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Emits a {@link ServiceCallEvent} for every public service method.
+ *
+ * When no recording has the event enabled the only cost is {@code isEnabled()}; the SQL scope
+ * and argument inspection happen only while the event is being recorded.
+ */
+@Aspect
+@Component
+public class ServiceCallEventAspect {
+    
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        SqlStatementStats sql = SqlStatementStats.begin();
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            sql.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.entityId = entityId(joinPoint.getArgs());
+                event.resultCount = resultCount(result);
+                event.sqlStatements = sql.getStatementCount();
+                event.sqlTime = sql.getExecutionNanos();
+                event.cacheHit = event.exception == null && sql.getStatementCount() == 0;
+                event.commit();
+            }
+        }
+    }
+    
+    private static long entityId(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        return 0;
+    }
+    
+    static int resultCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+}
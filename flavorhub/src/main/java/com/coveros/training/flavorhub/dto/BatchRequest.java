@@ -0,0 +1,47 @@
+package com.coveros.training.flavorhub.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/batch}: API reads to run in one round trip
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+    
+    @NotEmpty(message = "At least one request is required")
+    @Valid
+    private List<Operation> requests = new ArrayList<>();
+    
+    /**
+     * Run the reads one after another on a single connection in one read-only transaction,
+     * instead of in parallel. This is not a snapshot: each read still sees whatever was
+     * committed when it ran, so a write between two reads shows up in the second.
+     */
+    private boolean consistent;
+    
+    /**
+     * One sub-request, e.g. {@code {"id": "pantry", "method": "GET", "path": "/api/pantry"}}
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        
+        /** Echoed back in the matching result; defaults to the position in the batch */
+        private String id;
+        
+        private String method = "GET";
+        
+        @NotEmpty(message = "Path is required")
+        private String path;
+    }
+}
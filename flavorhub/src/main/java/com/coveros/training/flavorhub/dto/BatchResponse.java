@@ -0,0 +1,35 @@
+package com.coveros.training.flavorhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of {@code POST /api/batch}: one result per sub-request, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    
+    private List<Result> responses = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        
+        private String id;
+        
+        private int status;
+        
+        /** The sub-request's JSON body, or null if it had none */
+        private JsonNode body;
+    }
+}
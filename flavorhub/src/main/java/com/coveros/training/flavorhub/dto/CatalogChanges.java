@@ -0,0 +1,45 @@
+package com.coveros.training.flavorhub.dto;
+
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of catalog changes after a client's last known version.
+ * The client applies the page and asks again with {@code since=version} until {@code hasMore} is false.
+ * A response with {@code fullResyncRequired} (status 410) is not a page; see {@link #fullResyncRequired}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChanges {
+    
+    /** Catalog version this page brings the client up to */
+    private long version;
+    
+    /** Whether further changes are waiting after {@link #version} */
+    private boolean hasMore;
+    
+    /** Highest version of a pruned tombstone; the client passes it back with its next request */
+    private long tombstoneHorizon;
+    
+    /**
+     * Deletes after the client's version may already be pruned; the client must discard its copy
+     * and sync again from {@code since=0}. Only the horizon is set besides.
+     */
+    private boolean fullResyncRequired;
+    
+    /** Created or updated recipes, in their current state */
+    private List<Recipe> recipes = new ArrayList<>();
+    
+    private List<Ingredient> ingredients = new ArrayList<>();
+    
+    private List<Long> deletedRecipeIds = new ArrayList<>();
+    
+    private List<Long> deletedIngredientIds = new ArrayList<>();
+}
@@ -0,0 +1,30 @@
+package com.coveros.training.flavorhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts for the recipe and ingredient filters, keyed by facet value in alphabetical order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCounts {
+    
+    private int recipes;
+    
+    private int ingredients;
+    
+    private Map<String, Integer> cuisine = new LinkedHashMap<>();
+    
+    private Map<String, Integer> difficulty = new LinkedHashMap<>();
+    
+    /** Recipes per average-rating bucket ({@code 1-2} … {@code 4-5}, or {@code unrated}) */
+    private Map<String, Integer> rating = new LinkedHashMap<>();
+    
+    private Map<String, Integer> ingredientCategory = new LinkedHashMap<>();
+}
@@ -0,0 +1,54 @@
+package com.coveros.training.flavorhub.dto;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The properties a client asked for with {@code fields=a,b,c} (a sparse fieldset)
+ */
+public final class FieldSet {
+    
+    private final Set<String> fields;
+    
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+    
+    /**
+     * Parse a comma-separated field list, accepting only the given property names
+     *
+     * @throws IllegalArgumentException if the list is empty or names an unknown property
+     */
+    public static FieldSet parse(String spec, List<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : spec.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected any of " + allowed);
+            }
+            fields.add(name);
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required");
+        }
+        return new FieldSet(fields);
+    }
+    
+    public boolean contains(String field) {
+        return fields.contains(field);
+    }
+    
+    public boolean containsAny(Collection<String> candidates) {
+        return candidates.stream().anyMatch(fields::contains);
+    }
+    
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+}
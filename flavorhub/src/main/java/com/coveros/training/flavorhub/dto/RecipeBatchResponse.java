@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.dto;
+
+import com.coveros.training.flavorhub.model.Recipe;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response of the recipe multi-get: found recipes in request order, plus the ids that do not exist
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBatchResponse {
+    
+    private List<Recipe> recipes = new ArrayList<>();
+    
+    private List<Long> missingIds = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.coveros.training.flavorhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Criteria of a multi-criteria recipe filter; {@code null} criteria do not filter.
+ * Recipes with no value for a filtered attribute never match, as in SQL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeFilter {
+    
+    private Integer maxPrepTime;
+    
+    private Integer maxCookTime;
+    
+    private Integer minServings;
+    
+    private Integer maxServings;
+    
+    private Double minRating;
+    
+    /** Any of these cuisines */
+    private List<String> cuisine;
+    
+    /** Any of these difficulty levels */
+    private List<String> difficulty;
+}
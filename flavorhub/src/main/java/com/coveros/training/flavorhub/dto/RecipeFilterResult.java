@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IDs of the recipes matching a {@link RecipeFilter}, in ID order, and how many matched in total
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeFilterResult {
+    
+    private int total;
+    
+    /** The first matching IDs, at most the requested limit */
+    private List<Long> ids = new ArrayList<>();
+}
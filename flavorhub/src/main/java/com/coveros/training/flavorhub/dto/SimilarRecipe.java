@@ -0,0 +1,19 @@
+package com.coveros.training.flavorhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A recipe whose ingredients overlap with another's
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarRecipe {
+    
+    private Long id;
+    
+    /** Jaccard similarity of the two ingredient sets: shared ingredients over all distinct ingredients */
+    private double similarity;
+}
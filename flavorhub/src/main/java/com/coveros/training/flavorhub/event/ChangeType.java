@@ -0,0 +1,12 @@
+package com.coveros.training.flavorhub.event;
+
+/**
+ * Kind of change carried by a domain change event
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    /** A rating was added, changing only the average rating and rating count */
+    RATED,
+    DELETED
+}
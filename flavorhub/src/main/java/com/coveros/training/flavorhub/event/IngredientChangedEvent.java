@@ -0,0 +1,18 @@
+package com.coveros.training.flavorhub.event;
+
+import com.coveros.training.flavorhub.model.Ingredient;
+
+/**
+ * Published by the ingredient service whenever an ingredient is created, updated or deleted.
+ * Listeners that keep in-memory views of the ingredient table react to it after commit.
+ *
+ * As with {@link RecipeChangedEvent}, views compare {@code version} with the last one they
+ * applied and drop stale events.
+ *
+ * @param type the kind of change
+ * @param ingredientId the ID of the changed ingredient
+ * @param ingredient the saved ingredient, or {@code null} for deletes
+ * @param version the catalog version of the change
+ */
+public record IngredientChangedEvent(ChangeType type, Long ingredientId, Ingredient ingredient, long version) {
+}
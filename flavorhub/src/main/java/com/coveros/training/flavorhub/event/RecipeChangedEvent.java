@@ -0,0 +1,18 @@
+package com.coveros.training.flavorhub.event;
+
+import com.coveros.training.flavorhub.model.Recipe;
+
+/**
+ * Published by the recipe service whenever a recipe is created, updated, rated or deleted.
+ * Listeners that keep in-memory views of the recipe table react to it after commit.
+ *
+ * After-commit listeners of two transactions may run in either order, so views compare
+ * {@code version} with the last one they applied and drop stale events.
+ *
+ * @param type the kind of change
+ * @param recipeId the ID of the changed recipe
+ * @param recipe the saved recipe, or {@code null} for deletes
+ * @param version the catalog version of the change
+ */
+public record RecipeChangedEvent(ChangeType type, Long recipeId, Recipe recipe, long version) {
+}
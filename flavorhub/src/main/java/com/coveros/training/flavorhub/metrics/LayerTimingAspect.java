@@ -0,0 +1,85 @@
+package com.coveros.training.flavorhub.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every service and repository call, so a request's latency in
+ * {@code http.server.requests} can be split into service and data-access time.
+ *
+ * Publishes {@code flavorhub.service} and {@code flavorhub.repository} timers tagged with
+ * {@code class}, {@code method} and {@code exception}. Timers for successful calls are cached
+ * per method, so the steady-state cost is two clock reads and a lock-free map lookup.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LayerTimingAspect {
+    
+    static final String SERVICE_TIMER = "flavorhub.service";
+    static final String REPOSITORY_TIMER = "flavorhub.repository";
+    
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Timer> repositoryTimers = new ConcurrentHashMap<>();
+    
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_TIMER, serviceTimers);
+    }
+    
+    @Around("execution(public * com.coveros.training.flavorhub.repository..*.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY_TIMER, repositoryTimers);
+    }
+    
+    private Object time(ProceedingJoinPoint joinPoint, String name, Map<Method, Timer> timers) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            timers.computeIfAbsent(method, key -> timer(name, joinPoint, "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(name, joinPoint, e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+    
+    private Timer timer(String name, ProceedingJoinPoint joinPoint, String exception) {
+        return Timer.builder(name)
+                .tag("class", className(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * The interface name for repositories (the target is a generated proxy), the class name otherwise
+     */
+    private static String className(ProceedingJoinPoint joinPoint) {
+        Class<?> declaringType = joinPoint.getSignature().getDeclaringType();
+        if (declaringType.getName().startsWith("com.coveros.training.flavorhub")) {
+            return declaringType.getSimpleName();
+        }
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.coveros.training.flavorhub")) {
+                return type.getSimpleName();
+            }
+        }
+        return declaringType.getSimpleName();
+    }
+}
@@ -0,0 +1,61 @@
+package com.coveros.training.flavorhub.metrics;
+
+import com.coveros.training.flavorhub.service.RecipeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Metrics beyond what Actuator binds on its own (HTTP requests, JVM, Hikari pool)
+ */
+@Configuration
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class MetricsConfig {
+    
+    /**
+     * Hooks statement counting and JDBC timing into every Hibernate session
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementTrackingCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+    
+    /**
+     * Shows whether identical concurrent recipe reads are actually being coalesced
+     */
+    @Bean
+    public MeterBinder singleFlightMetrics(RecipeService recipeService) {
+        return registry -> {
+            recipeService.getRecipeListFlights().bindTo(registry);
+            recipeService.getRecipeByIdFlights().bindTo(registry);
+        };
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public SqlBudgetFilter sqlBudgetFilter(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        return new SqlBudgetFilter(properties, meterRegistry);
+    }
+    
+    /**
+     * Runs after the load-protection filters, so only requests that reach a controller are counted
+     */
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilterRegistration(SqlBudgetFilter sqlBudgetFilter) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(sqlBudgetFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.coveros.training.flavorhub.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records {@code flavorhub.serialization} for one wire format, tagged with the serialized type
+ */
+class SerializationTimer {
+    
+    static final String SERIALIZATION_TIMER = "flavorhub.serialization";
+    
+    private final MeterRegistry meterRegistry;
+    private final String format;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    
+    SerializationTimer(MeterRegistry meterRegistry, String format) {
+        this.meterRegistry = meterRegistry;
+        this.format = format;
+    }
+    
+    void record(Object value, Write write) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            write.run();
+        } finally {
+            sample.stop(timers.computeIfAbsent(typeName(value), name -> Timer.builder(SERIALIZATION_TIMER)
+                    .tag("type", name)
+                    .tag("format", format)
+                    .register(meterRegistry)));
+        }
+    }
+    
+    /**
+     * Simple name of the value, or {@code List<Recipe>} style for collections, keeping tag values few
+     */
+    static String typeName(Object object) {
+        if (object instanceof Collection<?> collection) {
+            String container = object instanceof Set<?> ? "Set" : "List";
+            Object first = collection.isEmpty() ? null : collection.iterator().next();
+            return first == null ? container : container + "<" + first.getClass().getSimpleName() + ">";
+        }
+        return object == null ? "null" : object.getClass().getSimpleName();
+    }
+    
+    @FunctionalInterface
+    interface Write {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,147 @@
+package com.coveros.training.flavorhub.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL each API request runs.
+ *
+ * Adds {@code X-SQL-Statement-Count} and {@code X-SQL-Time-Ms} response headers, records the
+ * {@code flavorhub.sql.statements} summary and {@code flavorhub.sql.time} timer per endpoint, and
+ * logs a warning when a request goes over the statement budget or repeats one statement often
+ * enough to suggest N+1 loading. The headers are written when the response starts, so SQL from
+ * lazy loading during serialization only shows up in the metrics and the log.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String SQL_TIME_HEADER = "X-SQL-Time-Ms";
+    
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+    
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    public SqlBudgetFilter(SqlBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        SqlHeaderResponse wrapped = new SqlHeaderResponse(response, stats);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            wrapped.addSqlHeaders();
+            stats.end();
+            record(request, stats);
+        }
+    }
+    
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("flavorhub.sql.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("flavorhub.sql.time")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+        
+        if (stats.getStatementCount() > properties.getMaxStatements()) {
+            log.warn("{} {} ran {} SQL statements in {} ms, over the budget of {}", request.getMethod(), uri,
+                    stats.getStatementCount(), TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos()),
+                    properties.getMaxStatements());
+        }
+        stats.mostRepeated()
+                .filter(entry -> entry.getValue() >= properties.getRepeatedStatementThreshold())
+                .ifPresent(entry -> log.warn("{} {} ran the same statement {} times, likely N+1 loading: {}",
+                        request.getMethod(), uri, entry.getValue(), abbreviate(entry)));
+    }
+    
+    private static String abbreviate(Map.Entry<String, Integer> entry) {
+        String sql = entry.getKey().replaceAll("\\s+", " ").trim();
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+    
+    /**
+     * Sets the SQL headers just before the response body starts, while headers can still be added
+     */
+    private static class SqlHeaderResponse extends HttpServletResponseWrapper {
+        
+        private final SqlStatementStats stats;
+        private boolean headersAdded;
+        
+        SqlHeaderResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+        
+        void addSqlHeaders() {
+            if (!headersAdded && !isCommitted()) {
+                headersAdded = true;
+                setHeader(STATEMENT_COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+                setHeader(SQL_TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos())));
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addSqlHeaders();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addSqlHeaders();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            addSqlHeaders();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addSqlHeaders();
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            addSqlHeaders();
+            super.sendError(sc);
+        }
+    }
+}
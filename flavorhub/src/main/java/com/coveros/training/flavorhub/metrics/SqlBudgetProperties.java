@@ -0,0 +1,20 @@
+package com.coveros.training.flavorhub.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for per-request SQL tracking ({@code flavorhub.sql-budget.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.sql-budget")
+public class SqlBudgetProperties {
+    
+    private boolean enabled = true;
+    
+    /** Statements one API request may run before a warning is logged */
+    private int maxStatements = 10;
+    
+    /** Runs of the same statement within one request that are reported as a likely N+1 */
+    private int repeatedStatementThreshold = 5;
+}
@@ -0,0 +1,109 @@
+package com.coveros.training.flavorhub.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL statements executed by the current thread within a scope, usually one HTTP request.
+ *
+ * Scopes nest: when an inner scope ends, its counts are added to the enclosing one, so a test
+ * can wrap several requests and still see every statement. Outside any scope nothing is recorded.
+ */
+public final class SqlStatementStats {
+    
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+    
+    /** Distinct statements remembered for N+1 detection; further ones are only counted */
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+    
+    private final SqlStatementStats parent;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int statementCount;
+    private long executionNanos;
+    private long executionStartedAt;
+    
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+    
+    /**
+     * Start recording on the current thread
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    /**
+     * Stop recording and hand the counts to the enclosing scope, if any
+     */
+    public void end() {
+        if (CURRENT.get() == this) {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+        if (parent != null) {
+            parent.statementCount += statementCount;
+            parent.executionNanos += executionNanos;
+            countsBySql.forEach(parent::countSql);
+        }
+    }
+    
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+    
+    void recordStatement(String sql) {
+        statementCount++;
+        countSql(sql, 1);
+    }
+    
+    void executionStarted() {
+        executionStartedAt = System.nanoTime();
+    }
+    
+    void executionEnded() {
+        if (executionStartedAt != 0) {
+            executionNanos += System.nanoTime() - executionStartedAt;
+            executionStartedAt = 0;
+        }
+    }
+    
+    private void countSql(String sql, int count) {
+        if (countsBySql.size() < MAX_DISTINCT_STATEMENTS || countsBySql.containsKey(sql)) {
+            countsBySql.merge(sql, count, Integer::sum);
+        }
+    }
+    
+    public void reset() {
+        statementCount = 0;
+        executionNanos = 0;
+        countsBySql.clear();
+    }
+    
+    public int getStatementCount() {
+        return statementCount;
+    }
+    
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+    
+    public Map<String, Integer> getCountsBySql() {
+        return Map.copyOf(countsBySql);
+    }
+    
+    /**
+     * The statement run most often in this scope; many runs of one statement usually mean N+1 loading
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return countsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()));
+    }
+}
@@ -0,0 +1,44 @@
+package com.coveros.training.flavorhub.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time to the current {@link SqlStatementStats} scope.
+ * Hibernate creates one instance per session.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+    
+    private static void started() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+    
+    private static void ended() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.executionEnded();
+        }
+    }
+}
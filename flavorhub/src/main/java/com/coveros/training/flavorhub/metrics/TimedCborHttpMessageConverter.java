@@ -0,0 +1,29 @@
+package com.coveros.training.flavorhub.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR ({@code application/cbor}) converter that records {@code flavorhub.serialization}
+ */
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+    
+    private final SerializationTimer timer;
+    
+    public TimedCborHttpMessageConverter(ObjectMapper cborMapper, MeterRegistry meterRegistry) {
+        super(cborMapper);
+        this.timer = new SerializationTimer(meterRegistry, "cbor");
+    }
+    
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        timer.record(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
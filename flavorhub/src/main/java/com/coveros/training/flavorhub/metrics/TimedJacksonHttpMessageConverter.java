@@ -0,0 +1,52 @@
+package com.coveros.training.flavorhub.metrics;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that records how long response serialization takes ({@code flavorhub.serialization},
+ * tagged with the serialized type). The time includes writing to the response stream, so a slow
+ * client shows up here rather than in the service or repository timers.
+ *
+ * Output is compact; a request with {@code ?pretty=true} gets indented JSON.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    
+    static final String PRETTY_PARAMETER = "pretty";
+    
+    private final SerializationTimer timer;
+    
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.timer = new SerializationTimer(meterRegistry, "json");
+    }
+    
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        timer.record(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+    
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType mediaType) {
+        return prettyPrintRequested() ? writer.withDefaultPrettyPrinter() : writer;
+    }
+    
+    private static boolean prettyPrintRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                && Boolean.parseBoolean(servletAttributes.getRequest().getParameter(PRETTY_PARAMETER));
+    }
+}
@@ -0,0 +1,29 @@
+package com.coveros.training.flavorhub.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) converter that records {@code flavorhub.serialization}
+ */
+public class TimedSmileHttpMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+    
+    private final SerializationTimer timer;
+    
+    public TimedSmileHttpMessageConverter(ObjectMapper smileMapper, MeterRegistry meterRegistry) {
+        super(smileMapper);
+        this.timer = new SerializationTimer(meterRegistry, "smile");
+    }
+    
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        timer.record(object, () -> super.writeInternal(object, type, outputMessage));
+    }
+}
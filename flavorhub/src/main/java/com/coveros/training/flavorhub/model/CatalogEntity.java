@@ -0,0 +1,31 @@
+package com.coveros.training.flavorhub.model;
+
+import com.coveros.training.flavorhub.sync.CatalogVersionListener;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Base class of the catalog entities that clients can sync incrementally ({@code GET /api/sync}).
+ *
+ * Every insert and update stamps the row with the next catalog version, and every delete leaves
+ * a {@link Tombstone}; see {@link CatalogVersionListener}.
+ */
+@MappedSuperclass
+@EntityListeners(CatalogVersionListener.class)
+@JsonPropertyOrder({"id"})
+@Getter
+@Setter
+public abstract class CatalogEntity {
+    
+    /** Catalog version of the last change to this row; assigned on write, ignored in request bodies */
+    @Column(name = "change_version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeVersion;
+    
+    public abstract Long getId();
+}
@@ -0,0 +1,30 @@
+package com.coveros.training.flavorhub.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The single row holding the last allocated catalog version and the tombstone horizon.
+ * Only mapped so that the schema is generated and validated with the rest; it is read and
+ * written through {@link com.coveros.training.flavorhub.sync.CatalogVersionCounter}.
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+public class CatalogVersion {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    /** Highest version of a pruned tombstone; clients that synced before it must start over */
+    @Column(name = "tombstone_horizon", nullable = false)
+    private Long tombstoneHorizon;
+}
@@ -4,17 +4,23 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents an ingredient that can be used in recipes
  */
 @Entity
-@Table(name = "ingredients")
+@Table(name = "ingredients", indexes = @Index(name = "idx_ingredients_change_version", columnList = "change_version"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ingredients")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Ingredient {
+public class Ingredient extends CatalogEntity {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -6,20 +6,28 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents a recipe with its ingredients and instructions
+ * 
+ * Recipes and both collections are kept in the second-level cache; see hibernate-cache.conf.
  */
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = @Index(name = "idx_recipes_change_version", columnList = "change_version"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipes")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
-public class Recipe {
+public class Recipe extends CatalogEntity {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,11 +60,13 @@ public class Recipe {
     
     @ElementCollection
     @CollectionTable(name = "recipe_ingredients", joinColumns = @JoinColumn(name = "recipe_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-ingredients")
     private List<RecipeIngredient> ingredients = new ArrayList<>();
     
     @ElementCollection
     @CollectionTable(name = "recipe_instructions", joinColumns = @JoinColumn(name = "recipe_id"))
     @OrderColumn(name = "step_number")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-instructions")
     private List<String> instructions = new ArrayList<>();
     
     @Column(name = "image_url")
@@ -0,0 +1,36 @@
+package com.coveros.training.flavorhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Marker left behind by a deleted recipe or ingredient, so that syncing clients learn about the delete
+ */
+@Entity
+@Table(name = "tombstones", indexes = @Index(name = "idx_tombstones_change_version", columnList = "change_version"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "entity_type", nullable = false)
+    private String entityType; // "Recipe" or "Ingredient"
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+    
+    /** When the row was deleted; tombstones older than {@code flavorhub.sync.tombstone-retention} are pruned */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
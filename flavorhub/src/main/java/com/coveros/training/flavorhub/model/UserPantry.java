@@ -22,8 +22,7 @@ public class UserPantry {
     private Long id;
     
     @Column(name = "user_id")
-    @NotNull(message = "User ID is required")
-    private Long userId; // In a real app, this would be a relationship to a User entity
+    private Long userId; // Set from the X-User-Id request header; in a real app, a relationship to a User entity
     
     @ManyToOne
     @JoinColumn(name = "ingredient_id", nullable = false)
@@ -0,0 +1,59 @@
+package com.coveros.training.flavorhub.pantry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hashing of numeric keys onto named nodes.
+ *
+ * Each node is placed on a 64-bit ring at {@code virtualNodes} points derived from its name; a
+ * key belongs to the first node point at or after the key's hash. Points depend only on node
+ * names, so adding or removing one of N nodes moves roughly 1/N of the keys and leaves the rest
+ * where they were, and the virtual nodes even out the share each node gets.
+ */
+final class ConsistentHashRing<T> {
+    
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+    
+    ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("At least one node and one virtual node are required");
+        }
+        nodes.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(name + "#" + i), node);
+            }
+        });
+    }
+    
+    T nodeFor(long key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+    
+    /**
+     * MurmurHash3's 64-bit finalizer: spreads sequential IDs evenly over the ring
+     */
+    static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+    
+    private static long hash(String label) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(label.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.repository.UserPantryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Default pantry storage: the {@code user_pantry} table of the application database
+ */
+@Component
+@ConditionalOnProperty(name = "flavorhub.pantry-sharding.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+@Transactional
+public class JpaPantryStore implements PantryStore {
+    
+    private final UserPantryRepository userPantryRepository;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserPantry> findByUserId(Long userId) {
+        return userPantryRepository.findByUserId(userId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findProjectedByUserId(Long userId, FieldSet fields) {
+        return userPantryRepository.findProjectedByUserId(userId, fields);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserPantry> findById(Long userId, Long id) {
+        return userPantryRepository.findByIdAndUserId(id, userId);
+    }
+    
+    @Override
+    public UserPantry save(UserPantry item) {
+        if (item.getIngredient() == null || item.getIngredient().getId() == null) {
+            throw new IllegalArgumentException("Ingredient is required");
+        }
+        // save() merges by ID alone, which would hand another user's row to this one
+        if (item.getId() != null
+                && userPantryRepository.findByIdAndUserId(item.getId(), item.getUserId()).isEmpty()) {
+            throw new EmptyResultDataAccessException(
+                    "No pantry item " + item.getId() + " for user " + item.getUserId(), 1);
+        }
+        return userPantryRepository.save(item);
+    }
+    
+    @Override
+    public Optional<UserPantry> update(Long userId, Long id, Consumer<UserPantry> changes) {
+        return userPantryRepository.findByIdAndUserId(id, userId).map(existing -> {
+            changes.accept(existing);
+            return userPantryRepository.save(existing);
+        });
+    }
+    
+    @Override
+    public void deleteById(Long userId, Long id) {
+        userPantryRepository.deleteByIdAndUserId(id, userId);
+    }
+    
+    @Override
+    public void deleteByUserId(Long userId) {
+        userPantryRepository.deleteByUserId(userId);
+    }
+}
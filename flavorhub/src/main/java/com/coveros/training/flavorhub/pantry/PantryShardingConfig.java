@@ -0,0 +1,23 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.service.IngredientCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces {@link JpaPantryStore} with {@link ShardedPantryStore} ({@code sharded} profile)
+ */
+@Configuration
+@ConditionalOnProperty(name = "flavorhub.pantry-sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(PantryShardingProperties.class)
+public class PantryShardingConfig {
+    
+    @Bean
+    public ShardedPantryStore shardedPantryStore(PantryShardingProperties properties,
+                                                 IngredientCatalog ingredientCatalog, MeterRegistry meterRegistry) {
+        return new ShardedPantryStore(properties, ingredientCatalog, meterRegistry);
+    }
+}
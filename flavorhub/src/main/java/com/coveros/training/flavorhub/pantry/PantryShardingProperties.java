@@ -0,0 +1,33 @@
+package com.coveros.training.flavorhub.pantry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for sharded pantry storage ({@code flavorhub.pantry-sharding.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.pantry-sharding")
+public class PantryShardingProperties {
+    
+    private boolean enabled = false;
+    
+    /**
+     * Shard databases. Fixed once the shard tables exist: items are not moved between shards,
+     * so startup fails if the existing tables were created for a different count
+     */
+    private int shards = 4;
+    
+    /** Points per shard on the hash ring; more points spread users more evenly */
+    private int virtualNodes = 128;
+    
+    /** JDBC URL of each shard; {shard} is replaced by the shard number, starting at 0 */
+    private String urlTemplate = "jdbc:h2:mem:flavorhub-pantry-{shard}";
+    
+    private String username = "sa";
+    
+    private String password = "";
+    
+    /** Connection pool size of each shard */
+    private int poolSize = 10;
+}
@@ -0,0 +1,55 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.repository.UserPantryRepositoryCustom;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage for pantry items. Every operation names the owning user, so an implementation can
+ * keep each user's pantry in a different database ({@link ShardedPantryStore}).
+ */
+public interface PantryStore {
+    
+    /**
+     * Pantry item properties that can be requested with {@code fields=}
+     */
+    List<String> FIELDS = UserPantryRepositoryCustom.FIELDS;
+    
+    List<UserPantry> findByUserId(Long userId);
+    
+    /**
+     * Sparse-fieldset read: only the properties named in {@code fields}, plus {@code id}
+     */
+    List<Map<String, Object>> findProjectedByUserId(Long userId, FieldSet fields);
+    
+    /**
+     * The item with the given ID, if it belongs to the user
+     */
+    Optional<UserPantry> findById(Long userId, Long id);
+    
+    /**
+     * Insert a new item (no ID) or update the user's existing one
+     *
+     * @throws IllegalArgumentException if the item has no ingredient, or one the store cannot resolve
+     * @throws org.springframework.dao.EmptyResultDataAccessException if the item has an ID that
+     *         does not belong to its user
+     */
+    UserPantry save(UserPantry item);
+    
+    /**
+     * Read the user's item, apply {@code changes} and write it back as one unit
+     *
+     * @return the updated item, or empty if the user has no item with that ID, including one
+     *         deleted while the update ran
+     */
+    Optional<UserPantry> update(Long userId, Long id, Consumer<UserPantry> changes);
+    
+    void deleteById(Long userId, Long id);
+    
+    void deleteByUserId(Long userId);
+}
@@ -0,0 +1,306 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.service.IngredientCatalog;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Pantry storage partitioned by user over several shard databases.
+ *
+ * Users are assigned to shards with a {@link ConsistentHashRing}; all of a user's items live on
+ * one shard, so every pantry operation runs against a single, independent database and
+ * connection pool, and adding shards adds capacity. Shard rows keep only the ingredient ID;
+ * ingredients are resolved from the in-memory {@link IngredientCatalog}, so reads never touch
+ * the main database. IDs stay unique across shards: shard k of N hands out k+1, k+1+N, ...
+ *
+ * The shard count is therefore fixed once the shard tables exist. Nothing moves rows between
+ * shards, and a changed count would rehash users away from their items and hand out colliding
+ * IDs, so startup fails if an existing table was created for a different count.
+ */
+@Slf4j
+public class ShardedPantryStore implements PantryStore, DisposableBean {
+    
+    private static final String COLUMNS = "id, user_id, ingredient_id, quantity, unit, notes";
+    
+    /** Shard table column for each non-ingredient field of {@link PantryStore#FIELDS} */
+    private static final Map<String, String> FIELD_COLUMNS = Map.of(
+            "id", "id", "userId", "user_id", "quantity", "quantity", "unit", "unit", "notes", "notes");
+    private static final String INGREDIENT = "ingredient";
+    private static final String INGREDIENT_PREFIX = INGREDIENT + ".";
+    
+    private final List<Shard> shards = new ArrayList<>();
+    private final ConsistentHashRing<Shard> ring;
+    private final IngredientCatalog ingredientCatalog;
+    
+    public ShardedPantryStore(PantryShardingProperties properties, IngredientCatalog ingredientCatalog,
+                              MeterRegistry meterRegistry) {
+        this.ingredientCatalog = ingredientCatalog;
+        Map<String, Shard> byName = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < properties.getShards(); i++) {
+                Shard shard = Shard.create(i, properties, meterRegistry);
+                shards.add(shard);
+                byName.put(shard.name(), shard);
+            }
+        } catch (RuntimeException e) {
+            destroy();
+            throw e;
+        }
+        this.ring = new ConsistentHashRing<>(byName, properties.getVirtualNodes());
+        log.info("Pantry storage sharded over {} databases", shards.size());
+    }
+    
+    /**
+     * Name of the shard holding the user's pantry
+     */
+    public String shardOf(Long userId) {
+        return ring.nodeFor(userId).name();
+    }
+    
+    @Override
+    public List<UserPantry> findByUserId(Long userId) {
+        return shardFor(userId).jdbc().query("SELECT " + COLUMNS + " FROM user_pantry WHERE user_id = ? ORDER BY id",
+                (rs, rowNum) -> toItem(rs), userId);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findProjectedByUserId(Long userId, FieldSet fields) {
+        List<String> columns = FIELDS.stream()
+                .filter(field -> !field.equals(INGREDIENT))
+                .filter(field -> field.equals("id") || fields.contains(field)
+                        || field.startsWith(INGREDIENT_PREFIX) && fields.contains(INGREDIENT))
+                .toList();
+        boolean needIngredient = columns.stream().anyMatch(column -> column.startsWith(INGREDIENT_PREFIX));
+        String select = columns.stream()
+                .map(FIELD_COLUMNS::get)
+                .filter(column -> column != null)
+                .collect(Collectors.joining(", "));
+        if (needIngredient) {
+            select += ", ingredient_id";
+        }
+        IngredientCatalog.Snapshot catalog = ingredientCatalog.snapshot();
+        return shardFor(userId).jdbc().query("SELECT " + select + " FROM user_pantry WHERE user_id = ? ORDER BY id",
+                (rs, rowNum) -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    Ingredient ingredient = needIngredient ? ingredient(catalog, rs.getLong("ingredient_id")) : null;
+                    for (String column : columns) {
+                        if (column.startsWith(INGREDIENT_PREFIX)) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> nested = (Map<String, Object>) item.computeIfAbsent(INGREDIENT,
+                                    key -> new LinkedHashMap<String, Object>());
+                            nested.put(column.substring(INGREDIENT_PREFIX.length()), ingredientField(ingredient, column));
+                        } else {
+                            item.put(column, rs.getObject(FIELD_COLUMNS.get(column)));
+                        }
+                    }
+                    return item;
+                }, userId);
+    }
+    
+    @Override
+    public Optional<UserPantry> findById(Long userId, Long id) {
+        return shardFor(userId).jdbc().query("SELECT " + COLUMNS + " FROM user_pantry WHERE id = ? AND user_id = ?",
+                (rs, rowNum) -> toItem(rs), id, userId).stream().findFirst();
+    }
+    
+    /**
+     * @throws EmptyResultDataAccessException if an item with an ID no longer exists for its user
+     */
+    @Override
+    public UserPantry save(UserPantry item) {
+        Ingredient ingredient = resolveIngredient(item);
+        Shard shard = shardFor(item.getUserId());
+        if (item.getId() == null) {
+            KeyHolder keys = new GeneratedKeyHolder();
+            shard.jdbc().update(connection -> {
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO user_pantry (user_id, ingredient_id, quantity, unit, notes) VALUES (?, ?, ?, ?, ?)",
+                        new String[]{"ID"});
+                bind(insert, item.getUserId(), ingredient.getId(), item);
+                return insert;
+            }, keys);
+            item.setId(keys.getKey().longValue());
+        } else {
+            if (!updateRow(shard, item, ingredient)) {
+                throw new EmptyResultDataAccessException(
+                        "No pantry item " + item.getId() + " for user " + item.getUserId(), 1);
+            }
+        }
+        item.setIngredient(ingredient);
+        return item;
+    }
+    
+    /**
+     * Optimistic read-modify-write: the row is written with one UPDATE whose WHERE clause checks
+     * the owner and every column as it was read, so an update or delete that commits in between
+     * makes it match nothing. The update is then retried on the new row, or comes back as not
+     * found if the row is gone; a concurrent update is never overwritten.
+     */
+    @Override
+    public Optional<UserPantry> update(Long userId, Long id, Consumer<UserPantry> changes) {
+        while (true) {
+            Optional<UserPantry> read = findById(userId, id);
+            if (read.isEmpty()) {
+                return Optional.empty();
+            }
+            UserPantry expected = read.get();
+            UserPantry updated = new UserPantry(expected.getId(), expected.getUserId(), expected.getIngredient(),
+                    expected.getQuantity(), expected.getUnit(), expected.getNotes());
+            changes.accept(updated);
+            Ingredient ingredient = resolveIngredient(updated);
+            int rows = ring.nodeFor(userId).jdbc().update("UPDATE user_pantry SET ingredient_id = ?, quantity = ?, "
+                            + "unit = ?, notes = ? WHERE id = ? AND user_id = ? AND ingredient_id = ? "
+                            + "AND quantity IS NOT DISTINCT FROM ? AND unit IS NOT DISTINCT FROM ? "
+                            + "AND notes IS NOT DISTINCT FROM ?",
+                    ingredient.getId(), updated.getQuantity(), updated.getUnit(), updated.getNotes(),
+                    id, userId, expected.getIngredient().getId(),
+                    expected.getQuantity(), expected.getUnit(), expected.getNotes());
+            if (rows > 0) {
+                updated.setIngredient(ingredient);
+                return Optional.of(updated);
+            }
+        }
+    }
+    
+    private Ingredient resolveIngredient(UserPantry item) {
+        Ingredient ingredient = item.getIngredient() != null && item.getIngredient().getId() != null
+                ? ingredientCatalog.snapshot().findById(item.getIngredient().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown ingredient " + item.getIngredient().getId()))
+                : null;
+        if (ingredient == null) {
+            throw new IllegalArgumentException("Ingredient is required");
+        }
+        return ingredient;
+    }
+    
+    private static boolean updateRow(Shard shard, UserPantry item, Ingredient ingredient) {
+        return shard.jdbc().update("UPDATE user_pantry SET ingredient_id = ?, quantity = ?, unit = ?, notes = ? "
+                        + "WHERE id = ? AND user_id = ?",
+                ingredient.getId(), item.getQuantity(), item.getUnit(), item.getNotes(), item.getId(), item.getUserId()) > 0;
+    }
+    
+    /**
+     * Bulk load for seeding; items must reference existing ingredients and get IDs from their shard
+     */
+    public void insertAll(List<UserPantry> items) {
+        Map<Shard, List<UserPantry>> byShard = items.stream()
+                .collect(Collectors.groupingBy(item -> ring.nodeFor(item.getUserId()), LinkedHashMap::new, Collectors.toList()));
+        byShard.forEach((shard, shardItems) -> {
+            shard.operations().increment();
+            shard.jdbc().batchUpdate(
+                    "INSERT INTO user_pantry (user_id, ingredient_id, quantity, unit, notes) VALUES (?, ?, ?, ?, ?)",
+                    shardItems, shardItems.size(),
+                    (insert, item) -> bind(insert, item.getUserId(), item.getIngredient().getId(), item));
+        });
+    }
+    
+    @Override
+    public void deleteById(Long userId, Long id) {
+        shardFor(userId).jdbc().update("DELETE FROM user_pantry WHERE id = ? AND user_id = ?", id, userId);
+    }
+    
+    @Override
+    public void deleteByUserId(Long userId) {
+        shardFor(userId).jdbc().update("DELETE FROM user_pantry WHERE user_id = ?", userId);
+    }
+    
+    @Override
+    public void destroy() {
+        shards.forEach(shard -> shard.dataSource().close());
+    }
+    
+    private Shard shardFor(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID is required");
+        }
+        Shard shard = ring.nodeFor(userId);
+        shard.operations().increment();
+        return shard;
+    }
+    
+    private UserPantry toItem(ResultSet rs) throws SQLException {
+        return new UserPantry(rs.getLong("id"), rs.getLong("user_id"),
+                ingredient(ingredientCatalog.snapshot(), rs.getLong("ingredient_id")),
+                rs.getObject("quantity", Double.class), rs.getString("unit"), rs.getString("notes"));
+    }
+    
+    /**
+     * Catalog ingredient, or an ID-only placeholder if it has been deleted since the item was stored
+     */
+    private static Ingredient ingredient(IngredientCatalog.Snapshot catalog, long id) {
+        return catalog.findById(id).orElseGet(() -> new Ingredient(id, null, null, null));
+    }
+    
+    private static Object ingredientField(Ingredient ingredient, String column) {
+        return switch (column.substring(INGREDIENT_PREFIX.length())) {
+            case "id" -> ingredient.getId();
+            case "name" -> ingredient.getName();
+            case "category" -> ingredient.getCategory();
+            default -> ingredient.getUnit();
+        };
+    }
+    
+    private static void bind(PreparedStatement insert, Long userId, Long ingredientId, UserPantry item)
+            throws SQLException {
+        insert.setLong(1, userId);
+        insert.setLong(2, ingredientId);
+        insert.setObject(3, item.getQuantity());
+        insert.setString(4, item.getUnit());
+        insert.setString(5, item.getNotes());
+    }
+    
+    private record Shard(String name, HikariDataSource dataSource, JdbcTemplate jdbc, Counter operations) {
+        
+        static Shard create(int index, PantryShardingProperties properties, MeterRegistry meterRegistry) {
+            String name = "pantry-shard-" + index;
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(properties.getUrlTemplate().replace("{shard}", Integer.toString(index)));
+            config.setUsername(properties.getUsername());
+            config.setPassword(properties.getPassword());
+            config.setMaximumPoolSize(properties.getPoolSize());
+            HikariDataSource dataSource = new HikariDataSource(config);
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS user_pantry ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH " + (index + 1)
+                    + " INCREMENT BY " + properties.getShards() + ") PRIMARY KEY, "
+                    + "user_id BIGINT NOT NULL, ingredient_id BIGINT NOT NULL, quantity FLOAT(53), "
+                    + "unit VARCHAR(255), notes VARCHAR(255))");
+            jdbc.execute("CREATE INDEX IF NOT EXISTS idx_user_pantry_user ON user_pantry (user_id)");
+            Long increment = jdbc.queryForObject("SELECT IDENTITY_INCREMENT FROM INFORMATION_SCHEMA.COLUMNS "
+                    + "WHERE TABLE_NAME = 'USER_PANTRY' AND COLUMN_NAME = 'ID'", Long.class);
+            if (increment == null || increment != properties.getShards()) {
+                dataSource.close();
+                throw new IllegalStateException(name + " was created for " + increment + " shards, not "
+                        + properties.getShards() + "; the shard count cannot change once the shards hold data");
+            }
+            Counter operations = Counter.builder("flavorhub.pantry.shard.operations")
+                    .description("Pantry operations routed to the shard")
+                    .tag("shard", name)
+                    .register(meterRegistry);
+            return new Shard(name, dataSource, jdbc, operations);
+        }
+    }
+}
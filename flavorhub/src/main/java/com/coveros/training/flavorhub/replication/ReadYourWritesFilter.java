@@ -0,0 +1,142 @@
+package com.coveros.training.flavorhub.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Read-your-writes over asynchronous replicas.
+ *
+ * After a request writes, the log position of its last change goes back to the client in the
+ * {@code FH-LSN} cookie. Later reads carrying the cookie are only routed to replicas that have
+ * applied that position, so a client never reads data older than its own writes. Reads later in
+ * the writing request itself are covered by the position the trigger recorded on the thread.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    public static final String COOKIE_NAME = "FH-LSN";
+    
+    private final ReplicationProperties properties;
+    
+    public ReadYourWritesFilter(ReplicationProperties properties) {
+        this.properties = properties;
+    }
+    
+    /**
+     * Lowest log position a replica must have applied to serve the current thread's reads
+     */
+    static long requiredLsn() {
+        long required = ReplicationTrigger.lastWrittenLsn();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            required = Math.max(required, cookieLsn(attributes.getRequest()));
+        }
+        return required;
+    }
+    
+    static long cookieLsn(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Request threads are pooled; a position left by an earlier request must not leak in
+        ReplicationTrigger.clearLastWrittenLsn();
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        LsnCookieResponse wrapped = new LsnCookieResponse(response, cookieLsn(request));
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            wrapped.addLsnCookie();
+            ReplicationTrigger.clearLastWrittenLsn();
+        }
+    }
+    
+    /**
+     * Sets the cookie just before the response body starts, while headers can still be added
+     */
+    private class LsnCookieResponse extends HttpServletResponseWrapper {
+        
+        private final long previousLsn;
+        private boolean cookieAdded;
+        
+        LsnCookieResponse(HttpServletResponse response, long previousLsn) {
+            super(response);
+            this.previousLsn = previousLsn;
+        }
+        
+        void addLsnCookie() {
+            long written = ReplicationTrigger.lastWrittenLsn();
+            if (!cookieAdded && !isCommitted() && written > previousLsn) {
+                cookieAdded = true;
+                Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(written));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) properties.getReadYourWritesWindow().toSeconds());
+                addCookie(cookie);
+            }
+        }
+        
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addLsnCookie();
+            return super.getOutputStream();
+        }
+        
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addLsnCookie();
+            return super.getWriter();
+        }
+        
+        @Override
+        public void flushBuffer() throws IOException {
+            addLsnCookie();
+            super.flushBuffer();
+        }
+        
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addLsnCookie();
+            super.sendError(sc, msg);
+        }
+        
+        @Override
+        public void sendError(int sc) throws IOException {
+            addLsnCookie();
+            super.sendError(sc);
+        }
+    }
+}
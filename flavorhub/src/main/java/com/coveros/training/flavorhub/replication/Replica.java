@@ -0,0 +1,146 @@
+package com.coveros.training.flavorhub.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * One in-memory H2 replica: its connection pool, how far it has applied the primary's change
+ * log, and the statements used to apply logged rows to each table
+ */
+class Replica {
+    
+    /** Applied position before the replica has been loaded from the primary */
+    static final long NOT_READY = -1;
+    
+    @Getter
+    private final String name;
+    @Getter
+    private final HikariDataSource dataSource;
+    private final AtomicLong appliedLsn = new AtomicLong(NOT_READY);
+    private final Map<String, TableStatements> statements = new ConcurrentHashMap<>();
+    
+    /** When the applier first found the next position missing, or 0 */
+    private long gapSince;
+    
+    /**
+     * Positions skipped after the gap timeout whose writes may still commit. The primary keeps
+     * its log from the lowest of them so they can be applied late.
+     */
+    @Getter
+    private final NavigableSet<Long> pendingGaps = new ConcurrentSkipListSet<>();
+    
+    /** Log entries applied after their position had been skipped */
+    @Getter
+    private final AtomicLong lateChanges = new AtomicLong();
+    
+    Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+    
+    long getAppliedLsn() {
+        return appliedLsn.get();
+    }
+    
+    void setAppliedLsn(long lsn) {
+        appliedLsn.set(lsn);
+    }
+    
+    boolean isReady() {
+        return appliedLsn.get() != NOT_READY;
+    }
+    
+    /**
+     * Whether every change up to {@code lsn} is on this replica: the applied position has passed
+     * it and no position at or below it was skipped and is still waiting to be applied late
+     */
+    boolean hasApplied(long lsn) {
+        if (!isReady() || appliedLsn.get() < lsn) {
+            return false;
+        }
+        Long firstGap = pendingGaps.isEmpty() ? null : pendingGaps.first();
+        return firstGap == null || firstGap > lsn;
+    }
+    
+    long getGapSince() {
+        return gapSince;
+    }
+    
+    void setGapSince(long gapSince) {
+        this.gapSince = gapSince;
+    }
+    
+    /**
+     * Highest position the primary may drop from its log without losing an entry this replica
+     * still needs
+     */
+    long retainedLsn() {
+        long applied = appliedLsn.get();
+        Long firstGap = pendingGaps.isEmpty() ? null : pendingGaps.first();
+        return firstGap == null ? applied : Math.min(applied, firstGap - 1);
+    }
+    
+    TableStatements statements(Connection connection, String table) throws SQLException {
+        TableStatements existing = statements.get(table);
+        if (existing != null) {
+            return existing;
+        }
+        TableStatements created = TableStatements.of(connection.getMetaData(), table);
+        statements.put(table, created);
+        return created;
+    }
+    
+    /**
+     * Row-level INSERT/UPDATE/DELETE for one table. Rows are matched on the primary key, or on
+     * every column for tables without one (element collections); one row changes per log entry.
+     */
+    record TableStatements(String insert, String update, String delete, int[] keyIndexes, int columnCount) {
+        
+        static TableStatements of(DatabaseMetaData metaData, String table) throws SQLException {
+            List<String> columns = new ArrayList<>();
+            try (ResultSet rs = metaData.getColumns(null, "PUBLIC", table, null)) {
+                while (rs.next()) {
+                    columns.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+            List<String> keys = new ArrayList<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(null, "PUBLIC", table)) {
+                while (rs.next()) {
+                    keys.add(rs.getString("COLUMN_NAME"));
+                }
+            }
+            if (keys.isEmpty()) {
+                keys = columns;
+            }
+            String quotedTable = quote(table);
+            String match = keys.stream().map(key -> quote(key) + " IS NOT DISTINCT FROM ?")
+                    .collect(Collectors.joining(" AND "));
+            String insert = "INSERT INTO " + quotedTable + " ("
+                    + columns.stream().map(Replica::quote).collect(Collectors.joining(", ")) + ") VALUES ("
+                    + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+            String update = "UPDATE " + quotedTable + " SET "
+                    + columns.stream().map(column -> quote(column) + " = ?").collect(Collectors.joining(", "))
+                    + " WHERE " + match + " FETCH FIRST 1 ROWS ONLY";
+            String delete = "DELETE FROM " + quotedTable + " WHERE " + match + " FETCH FIRST 1 ROWS ONLY";
+            int[] keyIndexes = keys.stream().mapToInt(columns::indexOf).toArray();
+            return new TableStatements(insert, update, delete, keyIndexes, columns.size());
+        }
+    }
+    
+    static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
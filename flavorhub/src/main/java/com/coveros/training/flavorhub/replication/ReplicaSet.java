@@ -0,0 +1,446 @@
+package com.coveros.training.flavorhub.replication;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.util.JdbcUtils;
+import org.h2.util.Utils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for database replication: in-memory H2 replicas kept in sync with the primary
+ * by trigger-based log shipping.
+ *
+ * On start the primary gets a {@code replication_log} table and a {@link ReplicationTrigger} on
+ * every table, and each replica is loaded from a {@code SCRIPT} snapshot of the primary. From
+ * then on every replica polls the log on its own schedule and applies new rows in log order, so
+ * replicas lag the primary by about {@code flavorhub.replication.apply-interval}, like
+ * asynchronous streaming replicas would.
+ */
+@Slf4j
+public class ReplicaSet implements SmartLifecycle, DisposableBean {
+    
+    private static final String TRIGGER_CLASS = ReplicationTrigger.class.getName();
+    
+    /**
+     * Log rows are arrays of the column values H2 hands {@link ReplicationTrigger}; nothing else
+     * may be deserialized from the log, so a tampered row cannot instantiate arbitrary classes
+     */
+    private static final ObjectInputFilter ROW_FILTER = ObjectInputFilter.Config.createFilter("maxdepth=5;"
+            + "java.lang.Object;java.lang.String;java.lang.Boolean;java.lang.Character;java.lang.Number;"
+            + "java.lang.Byte;java.lang.Short;java.lang.Integer;java.lang.Long;java.lang.Float;java.lang.Double;"
+            + "java.math.BigDecimal;java.math.BigInteger;java.util.UUID;java.util.Date;"
+            + "java.sql.Date;java.sql.Time;java.sql.Timestamp;java.time.*;!*");
+    
+    /**
+     * H2 loads trigger classes through its own class loader. Under DevTools that yields a second
+     * copy of {@link ReplicationTrigger} whose positions the application never sees, so the
+     * application's copy is handed to H2 directly.
+     */
+    private static final Utils.ClassFactory TRIGGER_CLASS_FACTORY = new Utils.ClassFactory() {
+        @Override
+        public boolean match(String name) {
+            return TRIGGER_CLASS.equals(name);
+        }
+        
+        @Override
+        public Class<?> loadClass(String name) {
+            return ReplicationTrigger.class;
+        }
+    };
+    
+    private final DataSource primary;
+    private final ReplicationProperties properties;
+    private final List<Replica> replicas;
+    private final AtomicLong primaryLsn = new AtomicLong();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    
+    public ReplicaSet(DataSource primary, ReplicationProperties properties) {
+        this.primary = primary;
+        this.properties = properties;
+        List<Replica> created = new ArrayList<>();
+        String run = UUID.randomUUID().toString();
+        for (int i = 1; i <= properties.getReplicas(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl("jdbc:h2:mem:flavorhub-replica-" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setMaximumPoolSize(properties.getReplicaPoolSize());
+            created.add(new Replica("replica-" + i, new HikariDataSource(config)));
+        }
+        this.replicas = Collections.unmodifiableList(created);
+        JdbcUtils.addClassFactory(TRIGGER_CLASS_FACTORY);
+    }
+    
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    /**
+     * Pick a replica that has applied every change up to {@code requiredLsn}, round robin, or
+     * none if all of them are behind (the caller then reads from the primary). A replica whose
+     * applied position has passed {@code requiredLsn} still lacks a skipped position below it
+     * until that position is applied late, and the caller's own write may be the skipped one.
+     */
+    Optional<Replica> choose(long requiredLsn) {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.hasApplied(requiredLsn)) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Log positions the replica is behind the newest change it has seen on the primary
+     */
+    long lag(Replica replica) {
+        return replica.isReady() ? Math.max(0, primaryLsn.get() - replica.getAppliedLsn()) : primaryLsn.get();
+    }
+    
+    @Override
+    public synchronized void start() {
+        try {
+            bootstrap();
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Could not set up replicas", e);
+        }
+        scheduler = Executors.newScheduledThreadPool(replicas.size() + 1, runnable -> {
+            Thread thread = new Thread(runnable, "replication-applier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getApplyInterval().toMillis();
+        for (Replica replica : replicas) {
+            scheduler.scheduleWithFixedDelay(() -> applySafely(replica), interval, interval, TimeUnit.MILLISECONDS);
+        }
+        scheduler.scheduleWithFixedDelay(this::truncateLog, 1, 1, TimeUnit.SECONDS);
+        running = true;
+        log.info("Replication started with {} replicas, applying every {}", replicas.size(),
+                properties.getApplyInterval());
+    }
+    
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Start before the web server and the sample data loaders, so every write is logged
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+    
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                // DB_CLOSE_DELAY=-1 keeps in-memory databases alive until shut down explicitly
+                statement.execute("SHUTDOWN");
+            } catch (SQLException e) {
+                log.debug("Could not shut down {}", replica.getName(), e);
+            }
+            replica.getDataSource().close();
+        }
+        JdbcUtils.removeClassFactory(TRIGGER_CLASS_FACTORY);
+    }
+    
+    private void bootstrap() throws SQLException, IOException {
+        Path snapshot = Files.createTempFile("flavorhub-replica", ".sql");
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + ReplicationTrigger.LOG_TABLE + " ("
+                    + "lsn BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "table_name VARCHAR(128) NOT NULL, old_row VARBINARY, new_row VARBINARY)");
+            // Replicas start from a fresh snapshot, so an older log (file database) is not needed
+            statement.execute("DELETE FROM " + ReplicationTrigger.LOG_TABLE);
+            statement.execute("ALTER TABLE " + ReplicationTrigger.LOG_TABLE + " ALTER COLUMN lsn RESTART WITH 1");
+            statement.execute("SCRIPT TO '" + snapshot.toAbsolutePath() + "'");
+            for (String table : replicatedTables(connection)) {
+                statement.execute("CREATE TRIGGER IF NOT EXISTS " + Replica.quote(ReplicationTrigger.TRIGGER_PREFIX + table)
+                        + " AFTER INSERT, UPDATE, DELETE ON " + Replica.quote(table)
+                        + " FOR EACH ROW CALL '" + TRIGGER_CLASS + "'");
+            }
+        }
+        try {
+            for (Replica replica : replicas) {
+                try (Connection connection = replica.getDataSource().getConnection();
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("RUNSCRIPT FROM '" + snapshot.toAbsolutePath() + "'");
+                    for (String trigger : replicationTriggers(connection)) {
+                        statement.execute("DROP TRIGGER " + Replica.quote(trigger));
+                    }
+                }
+                replica.setAppliedLsn(0);
+            }
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+    
+    private static List<String> replicatedTables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (ResultSet rs = connection.getMetaData().getTables(null, "PUBLIC", null, new String[]{"BASE TABLE"})) {
+            while (rs.next()) {
+                String table = rs.getString("TABLE_NAME");
+                if (!table.equals(ReplicationTrigger.LOG_TABLE) && !table.equalsIgnoreCase("flyway_schema_history")) {
+                    tables.add(table);
+                }
+            }
+        }
+        return tables;
+    }
+    
+    private static List<String> replicationTriggers(Connection connection) throws SQLException {
+        List<String> triggers = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISTINCT TRIGGER_NAME FROM INFORMATION_SCHEMA.TRIGGERS")) {
+            while (rs.next()) {
+                if (rs.getString(1).startsWith(ReplicationTrigger.TRIGGER_PREFIX)) {
+                    triggers.add(rs.getString(1));
+                }
+            }
+        }
+        return triggers;
+    }
+    
+    private void applySafely(Replica replica) {
+        try {
+            apply(replica);
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Applying the change log to {} failed, retrying", replica.getName(), e);
+        }
+    }
+    
+    /**
+     * Apply the next batch of logged changes. A missing position may belong to a transaction that
+     * has not committed yet, so the replica waits for it up to the gap timeout before moving on.
+     * Skipped positions stay pending and are applied whenever their writes show up.
+     */
+    void apply(Replica replica) throws SQLException {
+        resolveGaps(replica);
+        List<LogEntry> entries = readLog(replica.getAppliedLsn());
+        if (entries.isEmpty()) {
+            return;
+        }
+        primaryLsn.accumulateAndGet(entries.get(entries.size() - 1).lsn(), Math::max);
+        long applied = replica.getAppliedLsn();
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            for (LogEntry entry : entries) {
+                if (entry.lsn() != applied + 1) {
+                    if (!gapTimedOut(replica)) {
+                        break;
+                    }
+                    for (long missing = applied + 1; missing < entry.lsn(); missing++) {
+                        replica.getPendingGaps().add(missing);
+                    }
+                    log.debug("{} skipped log positions {} to {}", replica.getName(), applied + 1, entry.lsn() - 1);
+                }
+                replica.setGapSince(0);
+                applyEntry(connection, replica, entry);
+                applied = entry.lsn();
+            }
+            connection.commit();
+        }
+        replica.setAppliedLsn(applied);
+    }
+    
+    /**
+     * Apply pending positions whose transactions have committed since they were skipped. This is
+     * safe out of log order because the late transaction held row locks on everything it wrote,
+     * so no change applied in the meantime touched those rows. Positions are dropped only once
+     * their transactions are known to have rolled back: no primary session had uncommitted
+     * writes before the log was read, so anything still missing will never appear.
+     */
+    private void resolveGaps(Replica replica) throws SQLException {
+        NavigableSet<Long> pending = replica.getPendingGaps();
+        if (pending.isEmpty()) {
+            return;
+        }
+        boolean quiescent = !primaryHasUncommittedWrites();
+        List<LogEntry> late = readLog(pending.toArray(new Long[0]));
+        if (!late.isEmpty()) {
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                connection.setAutoCommit(false);
+                for (LogEntry entry : late) {
+                    applyEntry(connection, replica, entry);
+                }
+                connection.commit();
+            }
+            for (LogEntry entry : late) {
+                pending.remove(entry.lsn());
+            }
+            replica.getLateChanges().addAndGet(late.size());
+            log.info("{} applied {} late log entries", replica.getName(), late.size());
+        }
+        if (quiescent) {
+            pending.clear();
+        }
+    }
+    
+    private boolean primaryHasUncommittedWrites() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS WHERE CONTAINS_UNCOMMITTED")) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+    
+    private boolean gapTimedOut(Replica replica) {
+        long now = System.nanoTime();
+        if (replica.getGapSince() == 0) {
+            replica.setGapSince(now);
+            return false;
+        }
+        return now - replica.getGapSince() >= properties.getGapTimeout().toNanos();
+    }
+    
+    private List<LogEntry> readLog(Long[] lsns) throws SQLException {
+        try (Connection connection = primary.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT lsn, table_name, old_row, new_row FROM "
+                     + ReplicationTrigger.LOG_TABLE + " WHERE lsn = ANY(?) ORDER BY lsn")) {
+            query.setObject(1, lsns);
+            return readEntries(query);
+        }
+    }
+    
+    private List<LogEntry> readLog(long afterLsn) throws SQLException {
+        try (Connection connection = primary.getConnection();
+             PreparedStatement query = connection.prepareStatement("SELECT lsn, table_name, old_row, new_row FROM "
+                     + ReplicationTrigger.LOG_TABLE + " WHERE lsn > ? ORDER BY lsn FETCH FIRST ? ROWS ONLY")) {
+            query.setLong(1, afterLsn);
+            query.setInt(2, properties.getApplyBatchSize());
+            return readEntries(query);
+        }
+    }
+    
+    private static List<LogEntry> readEntries(PreparedStatement query) throws SQLException {
+        List<LogEntry> entries = new ArrayList<>();
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                entries.add(new LogEntry(rs.getLong(1), rs.getString(2),
+                        deserialize(rs.getBytes(3)), deserialize(rs.getBytes(4))));
+            }
+        }
+        return entries;
+    }
+    
+    private static void applyEntry(Connection connection, Replica replica, LogEntry entry) throws SQLException {
+        Replica.TableStatements table = replica.statements(connection, entry.table());
+        if (entry.oldRow() == null) {
+            try (PreparedStatement insert = connection.prepareStatement(table.insert())) {
+                bindRow(insert, entry.newRow(), 1);
+                insert.executeUpdate();
+            }
+        } else if (entry.newRow() == null) {
+            try (PreparedStatement delete = connection.prepareStatement(table.delete())) {
+                bindKey(delete, table, entry.oldRow(), 1);
+                delete.executeUpdate();
+            }
+        } else {
+            try (PreparedStatement update = connection.prepareStatement(table.update())) {
+                bindRow(update, entry.newRow(), 1);
+                bindKey(update, table, entry.oldRow(), table.columnCount() + 1);
+                update.executeUpdate();
+            }
+        }
+    }
+    
+    private static void bindRow(PreparedStatement statement, Object[] row, int firstIndex) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(firstIndex + i, row[i]);
+        }
+    }
+    
+    private static void bindKey(PreparedStatement statement, Replica.TableStatements table, Object[] row,
+                                int firstIndex) throws SQLException {
+        int[] keyIndexes = table.keyIndexes();
+        for (int i = 0; i < keyIndexes.length; i++) {
+            statement.setObject(firstIndex + i, row[keyIndexes[i]]);
+        }
+    }
+    
+    /**
+     * Drop log rows every replica has applied, keeping everything from the lowest pending gap
+     */
+    private void truncateLog() {
+        long applied = replicas.stream().mapToLong(Replica::retainedLsn).min().orElse(0);
+        if (applied <= 0) {
+            return;
+        }
+        try (Connection connection = primary.getConnection();
+             PreparedStatement delete = connection.prepareStatement(
+                     "DELETE FROM " + ReplicationTrigger.LOG_TABLE + " WHERE lsn <= ?")) {
+            delete.setLong(1, applied);
+            delete.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Could not truncate the replication log", e);
+        }
+    }
+    
+    static Object[] deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(ROW_FILTER);
+            return (Object[]) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private record LogEntry(long lsn, String table, Object[] oldRow, Object[] newRow) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.coveros.training.flavorhub.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write splitting over local replicas ({@code replicas} profile).
+ *
+ * The application's {@link DataSource} becomes a lazy proxy over a routing data source: writes
+ * and read-write transactions use the primary pool configured by {@code spring.datasource.*},
+ * read-only transactions use one of the {@link ReplicaSet} pools and only read from the
+ * Hibernate caches.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flavorhub.replication.enabled", havingValue = "true")
+@EnableConfigurationProperties({ReplicationProperties.class, DataSourceProperties.class})
+public class ReplicationConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaSet replicaSet(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicationProperties properties, MeterRegistry meterRegistry) {
+        ReplicaSet replicaSet = new ReplicaSet(primaryDataSource, properties);
+        for (Replica replica : replicaSet.getReplicas()) {
+            Gauge.builder("flavorhub.replication.lag", replicaSet, set -> set.lag(replica))
+                    .description("Change log entries the replica has not applied yet")
+                    .baseUnit("entries")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("flavorhub.replication.pending-gaps", replica, r -> r.getPendingGaps().size())
+                    .description("Skipped log positions whose transactions may still commit")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            FunctionCounter.builder("flavorhub.replication.late-changes", replica, r -> r.getLateChanges().get())
+                    .description("Log entries applied after their position had been skipped")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+        return replicaSet;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        ReplicationRoutingDataSource routing =
+                new ReplicationRoutingDataSource(primaryDataSource, replicaSet, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    /**
+     * Replaces Spring Boot's JPA transaction manager so read-only transactions pick their replica
+     * up front and stay out of the Hibernate caches while on it
+     */
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, ReplicaSet replicaSet,
+                                                    ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new ReplicationTransactionManager(entityManagerFactory, replicaSet);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+    
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicationProperties properties) {
+        return new ReadYourWritesFilter(properties);
+    }
+    
+    /**
+     * Runs ahead of the load-protection filters so the cookie is set on every write that got through
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration(
+            ReadYourWritesFilter readYourWritesFilter) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(readYourWritesFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.coveros.training.flavorhub.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for read/write splitting over local replicas ({@code flavorhub.replication.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.replication")
+public class ReplicationProperties {
+    
+    private boolean enabled = false;
+    
+    /** In-memory H2 replicas to create */
+    private int replicas = 2;
+    
+    /** Connection pool size of each replica */
+    private int replicaPoolSize = 10;
+    
+    /** How often each replica polls the primary's change log; also its typical replication lag */
+    private Duration applyInterval = Duration.ofMillis(100);
+    
+    /** Log rows applied per replica transaction */
+    private int applyBatchSize = 1000;
+    
+    /**
+     * How long a missing log position holds up later entries before the replica moves on.
+     * Positions are allocated at insert time, so a slow transaction can commit after later ones;
+     * a skipped position is still applied if its write commits later.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(2);
+    
+    /** Lifetime of the read-your-writes cookie set after a write */
+    private Duration readYourWritesWindow = Duration.ofSeconds(30);
+}
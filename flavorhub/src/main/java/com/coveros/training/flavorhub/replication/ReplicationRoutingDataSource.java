@@ -0,0 +1,53 @@
+package com.coveros.training.flavorhub.replication;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * A replica is only chosen if it has applied the caller's own writes ({@link ReadYourWritesFilter});
+ * while every replica is behind, reads go to the primary. The choice is made by
+ * {@link ReplicationTransactionManager} when the transaction begins, after the transaction manager
+ * has asked for its connection, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}. Connections used
+ * outside such a transaction go to the primary.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    private final ReplicaSet replicaSet;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> routes = new ConcurrentHashMap<>();
+    
+    public ReplicationRoutingDataSource(DataSource primary, ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        this.replicaSet = replicaSet;
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicaSet.getReplicas()) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String bound = ReplicationTransactionManager.boundTarget(replicaSet);
+        String target = bound != null ? bound : PRIMARY;
+        routes.computeIfAbsent(target, name -> Counter.builder("flavorhub.replication.routes")
+                .description("Connections handed out, by target database")
+                .tag("target", name)
+                .register(meterRegistry)).increment();
+        return target;
+    }
+}
@@ -0,0 +1,93 @@
+package com.coveros.training.flavorhub.replication;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the database of a read-only transaction when it begins, and keeps what a replica returns
+ * out of Hibernate's second-level and query caches.
+ *
+ * A replica may not have applied a write that already invalidated the caches. A result read from
+ * it would be cached with the reading transaction's later timestamp and served as current until
+ * the next write to the table, so sessions on a replica only read from the caches
+ * ({@link CacheMode#GET}). Transactions on the primary fill them as before. The choice is bound
+ * to the transaction for {@link ReplicationRoutingDataSource}, so the connection goes to the
+ * database the cache mode was set for.
+ */
+class ReplicationTransactionManager extends JpaTransactionManager {
+    
+    private final ReplicaSet replicaSet;
+    
+    ReplicationTransactionManager(EntityManagerFactory entityManagerFactory, ReplicaSet replicaSet) {
+        super(entityManagerFactory);
+        this.replicaSet = replicaSet;
+    }
+    
+    /**
+     * Database chosen for the current transaction, or null outside a read-only transaction begun
+     * by this manager
+     */
+    static String boundTarget(ReplicaSet replicaSet) {
+        Route route = (Route) TransactionSynchronizationManager.getResource(replicaSet);
+        return route != null ? route.target() : null;
+    }
+    
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        if (!definition.isReadOnly()) {
+            return;
+        }
+        String target = replicaSet.choose(ReadYourWritesFilter.requiredLsn())
+                .map(Replica::getName)
+                .orElse(ReplicationRoutingDataSource.PRIMARY);
+        Session session = currentSession();
+        CacheMode previous = session.getCacheMode();
+        if (!ReplicationRoutingDataSource.PRIMARY.equals(target)) {
+            session.setCacheMode(CacheMode.GET);
+        }
+        TransactionSynchronizationManager.bindResource(replicaSet, new Route(target, previous));
+    }
+    
+    @Override
+    protected Object doSuspend(Object transaction) {
+        Route route = (Route) TransactionSynchronizationManager.unbindResourceIfPossible(replicaSet);
+        return new SuspendedRoute(super.doSuspend(transaction), route);
+    }
+    
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        SuspendedRoute suspended = (SuspendedRoute) suspendedResources;
+        super.doResume(transaction, suspended.resources());
+        if (suspended.route() != null) {
+            TransactionSynchronizationManager.bindResource(replicaSet, suspended.route());
+        }
+    }
+    
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        Route route = (Route) TransactionSynchronizationManager.unbindResourceIfPossible(replicaSet);
+        if (route != null) {
+            // An entity manager opened outside the transaction outlives it
+            currentSession().setCacheMode(route.previousCacheMode());
+        }
+        super.doCleanupAfterCompletion(transaction);
+    }
+    
+    private Session currentSession() {
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder.getEntityManager().unwrap(Session.class);
+    }
+    
+    private record Route(String target, CacheMode previousCacheMode) {
+    }
+    
+    private record SuspendedRoute(Object resources, Route route) {
+    }
+}
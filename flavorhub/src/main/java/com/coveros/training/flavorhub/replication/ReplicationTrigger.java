@@ -0,0 +1,85 @@
+package com.coveros.training.flavorhub.replication;
+
+import org.h2.api.Trigger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * H2 row trigger installed on every replicated table of the primary. It appends the old and new
+ * row to {@code replication_log} inside the writing transaction, so the log holds exactly the
+ * committed changes, in the order their positions (LSNs) were allocated.
+ *
+ * The position of the last row the current thread logged is kept for read-your-writes.
+ */
+public class ReplicationTrigger implements Trigger {
+    
+    static final String LOG_TABLE = "REPLICATION_LOG";
+    static final String TRIGGER_PREFIX = "REPLICATE_";
+    
+    private static final ThreadLocal<Long> LAST_WRITTEN_LSN = new ThreadLocal<>();
+    
+    private String tableName;
+    
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) {
+        this.tableName = tableName;
+    }
+    
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + LOG_TABLE + " (table_name, old_row, new_row) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, tableName);
+            insert.setBytes(2, serialize(oldRow));
+            insert.setBytes(3, serialize(newRow));
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                if (keys.next()) {
+                    LAST_WRITTEN_LSN.set(keys.getLong(1));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Log position of the last change written by this thread, or 0
+     */
+    static long lastWrittenLsn() {
+        Long lsn = LAST_WRITTEN_LSN.get();
+        return lsn != null ? lsn : 0;
+    }
+    
+    static void clearLastWrittenLsn() {
+        LAST_WRITTEN_LSN.remove();
+    }
+    
+    private static byte[] serialize(Object[] row) throws SQLException {
+        if (row == null) {
+            return null;
+        }
+        Object[] values = row.clone();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Clob clob) {
+                values[i] = clob.getSubString(1, (int) clob.length());
+            }
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,7 +1,11 @@
 package com.coveros.training.flavorhub.repository;
 
 import com.coveros.training.flavorhub.model.Ingredient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,12 +23,22 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
     Optional<Ingredient> findByNameIgnoreCase(String name);
     
     /**
-     * Find all ingredients in a specific category
+     * Find all ingredients in a specific category (query cache: result IDs are cached until
+     * ingredients change)
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "ingredients-by-category")
+    })
     List<Ingredient> findByCategory(String category);
     
     /**
      * Find ingredients with names containing the search term (case-insensitive)
      */
     List<Ingredient> findByNameContainingIgnoreCase(String searchTerm);
+    
+    /**
+     * Ingredients changed after the given catalog version, oldest change first
+     */
+    List<Ingredient> findByChangeVersionGreaterThanOrderByChangeVersion(Long version, Limit limit);
 }
@@ -1,8 +1,12 @@
 package com.coveros.training.flavorhub.repository;
 
 import com.coveros.training.flavorhub.model.Recipe;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,16 +16,24 @@ import java.util.List;
  * Repository for managing Recipe entities
  */
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeRepositoryCustom {
     
     /**
-     * Find recipes by difficulty level
+     * Find recipes by difficulty level (query cache: result IDs are cached until recipes change)
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "recipes-by-difficulty")
+    })
     List<Recipe> findByDifficultyLevel(String difficultyLevel);
     
     /**
-     * Find recipes by cuisine type
+     * Find recipes by cuisine type (query cache: result IDs are cached until recipes change)
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "recipes-by-cuisine")
+    })
     List<Recipe> findByCuisineType(String cuisineType);
     
     /**
@@ -29,6 +41,11 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
      */
     List<Recipe> findByNameContainingIgnoreCase(String searchTerm);
     
+    /**
+     * Recipes changed after the given catalog version, oldest change first
+     */
+    List<Recipe> findByChangeVersionGreaterThanOrderByChangeVersion(Long version, Limit limit);
+    
     /**
      * Find recipes that can be made in a specific time (total time = prep + cook)
      * NOTE: This method is intentionally left incomplete for workshop participants to implement
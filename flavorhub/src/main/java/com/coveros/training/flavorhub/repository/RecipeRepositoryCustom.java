@@ -0,0 +1,34 @@
+package com.coveros.training.flavorhub.repository;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sparse-fieldset reads for recipes: only the requested columns and collections are queried,
+ * and each recipe comes back as a map of exactly those properties (plus {@code id})
+ */
+public interface RecipeRepositoryCustom {
+    
+    /** Recipe properties that can be requested, in response order */
+    List<String> FIELDS = List.of("id", "name", "description", "prepTime", "cookTime", "servings",
+            "difficultyLevel", "cuisineType", "ingredients", "instructions", "imageUrl",
+            "averageRating", "ratingCount");
+    
+    List<Map<String, Object>> findAllProjected(FieldSet fields);
+    
+    /**
+     * {@code limit} recipes in ID order, skipping the first {@code offset}, as
+     * {@link #findAllProjected(FieldSet)} would list them
+     */
+    List<Map<String, Object>> findPageProjected(FieldSet fields, int offset, int limit);
+    
+    Optional<Map<String, Object>> findProjectedById(Long id, FieldSet fields);
+    
+    /**
+     * Same matching as {@link RecipeRepository#findByNameContainingIgnoreCase(String)}
+     */
+    List<Map<String, Object>> findProjectedByNameContainingIgnoreCase(String searchTerm, FieldSet fields);
+}
@@ -0,0 +1,109 @@
+package com.coveros.training.flavorhub.repository;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * JPQL implementation of {@link RecipeRepositoryCustom}.
+ *
+ * Selected columns come from one query over {@code recipes}; each requested collection adds one
+ * query for all returned recipes, in chunks of {@value #IN_CLAUSE_SIZE} ids. Unrequested
+ * collections are never touched.
+ */
+class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+    
+    private static final int IN_CLAUSE_SIZE = 1000;
+    
+    private static final int NO_LIMIT = -1;
+    
+    private static final List<String> COLLECTIONS = List.of("ingredients", "instructions");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findAllProjected(FieldSet fields) {
+        return project(fields, "", Map.of(), 0, NO_LIMIT);
+    }
+    
+    @Override
+    public List<Map<String, Object>> findPageProjected(FieldSet fields, int offset, int limit) {
+        return project(fields, "", Map.of(), offset, limit);
+    }
+    
+    @Override
+    public Optional<Map<String, Object>> findProjectedById(Long id, FieldSet fields) {
+        return project(fields, " where r.id = :id", Map.of("id", id), 0, NO_LIMIT).stream().findFirst();
+    }
+    
+    @Override
+    public List<Map<String, Object>> findProjectedByNameContainingIgnoreCase(String searchTerm, FieldSet fields) {
+        return project(fields, " where upper(r.name) like upper(:pattern) escape '\\'",
+                Map.of("pattern", "%" + escapeLike(searchTerm) + "%"), 0, NO_LIMIT);
+    }
+    
+    private List<Map<String, Object>> project(FieldSet fields, String where, Map<String, Object> parameters,
+                                              int offset, int limit) {
+        List<String> columns = FIELDS.stream()
+                .filter(field -> !COLLECTIONS.contains(field))
+                .filter(field -> field.equals("id") || fields.contains(field))
+                .toList();
+        String select = columns.stream()
+                .map(column -> "r." + column + " as " + column)
+                .collect(Collectors.joining(", "));
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + select + " from Recipe r" + where + " order by r.id", Tuple.class);
+        parameters.forEach(query::setParameter);
+        query.setFirstResult(offset);
+        if (limit != NO_LIMIT) {
+            query.setMaxResults(limit);
+        }
+        
+        Map<Long, Map<String, Object>> recipes = new LinkedHashMap<>();
+        for (Tuple row : query.getResultList()) {
+            Map<String, Object> recipe = new LinkedHashMap<>();
+            for (String field : FIELDS) {
+                if (columns.contains(field)) {
+                    recipe.put(field, row.get(field));
+                } else if (COLLECTIONS.contains(field) && fields.contains(field)) {
+                    recipe.put(field, new ArrayList<>());
+                }
+            }
+            recipes.put(row.get("id", Long.class), recipe);
+        }
+        if (!recipes.isEmpty() && fields.contains("ingredients")) {
+            loadCollection(recipes, "ingredients",
+                    "select r.id, i from Recipe r join r.ingredients i where r.id in :ids");
+        }
+        if (!recipes.isEmpty() && fields.contains("instructions")) {
+            loadCollection(recipes, "instructions",
+                    "select r.id, s from Recipe r join r.instructions s where r.id in :ids order by r.id, index(s)");
+        }
+        return new ArrayList<>(recipes.values());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void loadCollection(Map<Long, Map<String, Object>> recipes, String field, String jpql) {
+        List<Long> ids = new ArrayList<>(recipes.keySet());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size()));
+            for (Tuple row : entityManager.createQuery(jpql, Tuple.class).setParameter("ids", chunk).getResultList()) {
+                ((List<Object>) recipes.get(row.get(0, Long.class)).get(field)).add(row.get(1));
+            }
+        }
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,20 @@
+package com.coveros.training.flavorhub.repository;
+
+import com.coveros.training.flavorhub.model.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the tombstones of deleted recipes and ingredients
+ */
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    
+    /**
+     * Deletes after the given catalog version, oldest first
+     */
+    List<Tombstone> findByChangeVersionGreaterThanOrderByChangeVersion(Long version, Limit limit);
+}
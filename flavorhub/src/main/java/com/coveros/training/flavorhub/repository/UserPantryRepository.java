@@ -11,13 +11,18 @@ import java.util.Optional;
  * Repository for managing UserPantry entities
  */
 @Repository
-public interface UserPantryRepository extends JpaRepository<UserPantry, Long> {
+public interface UserPantryRepository extends JpaRepository<UserPantry, Long>, UserPantryRepositoryCustom {
     
     /**
      * Find all pantry items for a specific user
      */
     List<UserPantry> findByUserId(Long userId);
     
+    /**
+     * Find a pantry item, provided it belongs to the user
+     */
+    Optional<UserPantry> findByIdAndUserId(Long id, Long userId);
+    
     /**
      * Find a specific pantry item by user and ingredient
      */
@@ -27,4 +32,9 @@ public interface UserPantryRepository extends JpaRepository<UserPantry, Long> {
      * Delete all pantry items for a specific user
      */
     void deleteByUserId(Long userId);
+    
+    /**
+     * Delete a pantry item, provided it belongs to the user
+     */
+    void deleteByIdAndUserId(Long id, Long userId);
 }
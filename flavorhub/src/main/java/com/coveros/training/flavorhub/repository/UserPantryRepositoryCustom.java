@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.repository;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse-fieldset reads for pantry items: one query selecting only the requested columns,
+ * joining {@code ingredients} only when ingredient fields are requested
+ */
+public interface UserPantryRepositoryCustom {
+    
+    /**
+     * Pantry item properties that can be requested, in response order. {@code ingredient}
+     * selects the whole ingredient, {@code ingredient.name} etc. single ingredient properties.
+     */
+    List<String> FIELDS = List.of("id", "userId", "ingredient", "ingredient.id", "ingredient.name",
+            "ingredient.category", "ingredient.unit", "quantity", "unit", "notes");
+    
+    List<Map<String, Object>> findProjectedByUserId(Long userId, FieldSet fields);
+}
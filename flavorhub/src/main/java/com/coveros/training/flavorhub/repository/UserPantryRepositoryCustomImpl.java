@@ -0,0 +1,66 @@
+package com.coveros.training.flavorhub.repository;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JPQL implementation of {@link UserPantryRepositoryCustom}
+ */
+class UserPantryRepositoryCustomImpl implements UserPantryRepositoryCustom {
+    
+    private static final String INGREDIENT = "ingredient";
+    private static final String INGREDIENT_PREFIX = INGREDIENT + ".";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findProjectedByUserId(Long userId, FieldSet fields) {
+        List<String> columns = FIELDS.stream()
+                .filter(field -> !field.equals(INGREDIENT))
+                .filter(field -> field.equals("id") || fields.contains(field)
+                        || field.startsWith(INGREDIENT_PREFIX) && fields.contains(INGREDIENT))
+                .toList();
+        boolean joinIngredient = columns.stream().anyMatch(column -> column.startsWith(INGREDIENT_PREFIX));
+        String select = columns.stream()
+                .map(column -> path(column) + " as " + alias(column))
+                .collect(Collectors.joining(", "));
+        String jpql = "select " + select + " from UserPantry p" + (joinIngredient ? " join p.ingredient i" : "")
+                + " where p.userId = :userId order by p.id";
+        
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(jpql, Tuple.class).setParameter("userId", userId).getResultList()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String column : columns) {
+                if (column.startsWith(INGREDIENT_PREFIX)) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> ingredient = (Map<String, Object>) item.computeIfAbsent(INGREDIENT,
+                            key -> new LinkedHashMap<String, Object>());
+                    ingredient.put(column.substring(INGREDIENT_PREFIX.length()), row.get(alias(column)));
+                } else {
+                    item.put(column, row.get(alias(column)));
+                }
+            }
+            items.add(item);
+        }
+        return items;
+    }
+    
+    private static String path(String column) {
+        return column.startsWith(INGREDIENT_PREFIX)
+                ? "i." + column.substring(INGREDIENT_PREFIX.length())
+                : "p." + column;
+    }
+    
+    private static String alias(String column) {
+        return column.replace('.', '_');
+    }
+}
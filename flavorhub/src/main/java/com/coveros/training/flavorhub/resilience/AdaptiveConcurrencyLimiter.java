@@ -0,0 +1,162 @@
+package com.coveros.training.flavorhub.resilience;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency using a gradient algorithm.
+ *
+ * The limiter tracks a slow-moving baseline of request latency and compares every sample with
+ * it. While samples stay near the baseline the limit grows by roughly its square root, probing
+ * for spare capacity; once queueing pushes latency above the baseline the gradient
+ * ({@code baseline / sample}) drops below one and the limit shrinks proportionally. Requests
+ * that fail because a downstream resource timed out halve the limit outright, at most once per
+ * sample window: the requests already in flight when the limit was halved hit the same overload,
+ * so their timeouts are not counted again. Requests beyond the current limit are rejected
+ * instead of queued, which keeps latency for the admitted ones close to the baseline.
+ */
+public class AdaptiveConcurrencyLimiter {
+    
+    /** Weight of each new sample in the short-term latency average */
+    private static final double SHORT_WEIGHT = 0.5;
+    /** Weight of each new sample in the long-term baseline (roughly a 600-sample window) */
+    private static final double LONG_WEIGHT = 1.0 / 600;
+    
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    /** Requests admitted before the last halving that have not completed yet */
+    private int dropWindowRemaining;
+    
+    /**
+     * @param name name used in logs and metrics
+     * @param initialLimit starting concurrency limit
+     * @param minLimit lowest limit the algorithm may settle on
+     * @param maxLimit highest limit the algorithm may settle on
+     * @param tolerance how much slower than the baseline a sample may be before the limit shrinks (e.g. 1.5)
+     * @param smoothing fraction of each newly computed limit applied per sample (0-1]
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for limiter " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * Try to admit a request
+     *
+     * @return true if admitted; the caller must then report the outcome exactly once
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Report a successfully completed request and its latency
+     */
+    public void onSuccess(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        update(rttNanos, concurrency);
+    }
+    
+    /**
+     * Report a request that failed because the service was overloaded (database or lock timeout,
+     * no free connection)
+     */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        if (endSample()) {
+            limit = Math.max(minLimit, limit / 2);
+            dropWindowRemaining = inFlight.get();
+        }
+    }
+    
+    /**
+     * Report a request whose outcome says nothing about capacity (client error, bug, shed request)
+     */
+    public synchronized void onIgnore() {
+        inFlight.decrementAndGet();
+        endSample();
+    }
+    
+    /**
+     * Count a completed request against the current drop window
+     *
+     * @return true if the window had already ended, so a drop may halve the limit again
+     */
+    private boolean endSample() {
+        if (dropWindowRemaining > 0) {
+            dropWindowRemaining--;
+            return false;
+        }
+        return true;
+    }
+    
+    private synchronized void update(long rttNanos, int concurrency) {
+        endSample();
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos = shortRttNanos * (1 - SHORT_WEIGHT) + rttNanos * SHORT_WEIGHT;
+        longRttNanos = longRttNanos * (1 - LONG_WEIGHT) + rttNanos * LONG_WEIGHT;
+        
+        // Let the baseline follow latency improvements quickly so it does not mask new queueing
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos = shortRttNanos * 2;
+        }
+        
+        // Do not grow the limit while the service is not using it; that would not be evidence of capacity
+        double current = limit;
+        if (concurrency < current / 2) {
+            return;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(current);
+        double newLimit = current * gradient + queueAllowance;
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
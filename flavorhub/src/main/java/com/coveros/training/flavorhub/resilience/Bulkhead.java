@@ -0,0 +1,98 @@
+package com.coveros.training.flavorhub.resilience;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded compartment of request concurrency.
+ *
+ * At most {@code maxConcurrent} callers run inside the bulkhead at once. Up to
+ * {@code maxWaiting} further callers may queue for at most {@code maxWait}; anything beyond
+ * that is rejected immediately, so a burst in one compartment can neither exhaust the shared
+ * request threads nor the database connections that another compartment depends on.
+ */
+public class Bulkhead {
+    
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    @Getter
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one permit");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+    
+    /**
+     * Try to enter the bulkhead, queueing briefly if it is full
+     *
+     * @return true if the caller entered and must call {@link #exit()}, false if rejected
+     */
+    public boolean tryEnter() {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Leave the bulkhead after a successful {@link #tryEnter()}
+     */
+    public void exit() {
+        permits.release();
+    }
+    
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+    
+    public int getWaiting() {
+        return waiting.get();
+    }
+    
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+    
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,101 @@
+package com.coveros.training.flavorhub.resilience;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Routes each API request through the bulkhead for its endpoint class.
+ *
+ * Expensive reads (searches, full-catalog listings, multi-gets, sync pages) and everything
+ * else get separate compartments whose limits together stay within the database connection
+ * pool. A request uses at most one pooled connection at a time, whether open-in-view holds it
+ * for the whole request or each transaction takes its own, so requests admitted by the
+ * bulkheads never wait on the pool, and a burst of expensive traffic leaves connections and
+ * request threads free for cheap reads such as {@code GET /api/recipes/{id}}. Requests that
+ * cannot get a permit in time receive a 503.
+ *
+ * A caller that already holds a permit covering a request, such as a consistent batch for its
+ * entries, marks it with {@link #PERMIT_HELD_ATTRIBUTE} and it passes straight through.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    
+    /** Request attribute marking a request whose permit is held by its caller */
+    public static final String PERMIT_HELD_ATTRIBUTE = BulkheadFilter.class.getName() + ".PERMIT_HELD";
+    
+    @Getter
+    private final Bulkhead expensive;
+    @Getter
+    private final Bulkhead cheap;
+    private final List<String> expensivePaths;
+    private final List<String> excludedPaths;
+    
+    public BulkheadFilter(BulkheadProperties properties) {
+        this.expensive = create("expensive", properties.getExpensive());
+        this.cheap = create("cheap", properties.getCheap());
+        this.expensivePaths = List.copyOf(properties.getExpensivePaths());
+        this.excludedPaths = List.copyOf(properties.getExcludedPaths());
+    }
+    
+    private static Bulkhead create(String name, BulkheadProperties.Compartment compartment) {
+        return new Bulkhead(name, compartment.getMaxConcurrent(),
+                compartment.getMaxWaiting(), compartment.getMaxWait());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/")
+                || matchesAny(excludedPaths, request)
+                || Boolean.TRUE.equals(request.getAttribute(PERMIT_HELD_ATTRIBUTE));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Bulkhead bulkhead = classify(request);
+        if (!bulkhead.tryEnter()) {
+            log.warn("Bulkhead '{}' full, rejecting {} {}", bulkhead.getName(),
+                    request.getMethod(), request.getRequestURI());
+            request.setAttribute(ConcurrencyLimitFilter.SHED_ATTRIBUTE, Boolean.TRUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many concurrent requests");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+    
+    Bulkhead classify(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return cheap;
+        }
+        return matchesAny(expensivePaths, request) ? expensive : cheap;
+    }
+    
+    private static boolean matchesAny(List<String> patterns, HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
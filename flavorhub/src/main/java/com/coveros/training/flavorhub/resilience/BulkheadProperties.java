@@ -0,0 +1,65 @@
+package com.coveros.training.flavorhub.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the endpoint bulkheads ({@code flavorhub.bulkhead.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.bulkhead")
+public class BulkheadProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Ant-style patterns of API requests that are expensive to serve (searches, full-catalog
+     * reads including sparse-fieldset ones, multi-gets and sync pages). Everything else under
+     * /api is treated as cheap.
+     */
+    private List<String> expensivePaths = new ArrayList<>(List.of(
+            "/api/recipes",
+            "/api/recipes/search",
+            "/api/recipes/batch",
+            "/api/ingredients/search",
+            "/api/sync"));
+    
+    /**
+     * Long-lived streams that have their own client limit and are never held in a compartment,
+     * and the batch endpoint, whose entries each take a permit for their own path
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/recipes/stream", "/api/batch"));
+    
+    private Compartment expensive = new Compartment(4, 20, Duration.ofMillis(500));
+    
+    private Compartment cheap = new Compartment(6, 100, Duration.ofMillis(250));
+    
+    /**
+     * Limits for one bulkhead compartment
+     */
+    @Data
+    public static class Compartment {
+        /**
+         * Requests that may run at once; keep the two compartments together within the
+         * connection pool size
+         */
+        private int maxConcurrent;
+        /** Requests that may queue for a permit before new ones are rejected */
+        private int maxWaiting;
+        /** How long a queued request waits for a permit */
+        private Duration maxWait;
+        
+        public Compartment() {
+        }
+        
+        public Compartment(int maxConcurrent, int maxWaiting, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaiting = maxWaiting;
+            this.maxWait = maxWait;
+        }
+    }
+}
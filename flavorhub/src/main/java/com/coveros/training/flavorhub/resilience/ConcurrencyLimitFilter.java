@@ -0,0 +1,127 @@
+package com.coveros.training.flavorhub.resilience;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sheds API load once the adaptive concurrency limit is reached.
+ *
+ * Reads and writes ({@code PUT /api/recipes/{id}/rate}, {@code POST /api/recipes}, pantry
+ * changes, ...) have separate limiters because writes hold locks and are slower, so their
+ * latency would otherwise drag down the read limit. Rejected requests get an immediate 503
+ * with {@code Retry-After} rather than waiting in an unbounded queue until they time out.
+ *
+ * Only failures that signal an overloaded backend (database timeouts, lock timeouts, no free
+ * connection) cut the limit. Requests shed by this filter or by a bulkhead further down are
+ * ignored, so shedding under load cannot itself drive the limit down.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    
+    /** Request attribute marking a response as shed by a load-protection filter */
+    static final String SHED_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".SHED";
+    
+    @Getter
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    @Getter
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final String retryAfter;
+    private final List<String> excludedPaths;
+    
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        this.readLimiter = create("read", properties.getRead(), properties);
+        this.writeLimiter = create("write", properties.getWrite(), properties);
+        this.retryAfter = String.valueOf(properties.getRetryAfterSeconds());
+        this.excludedPaths = List.copyOf(properties.getExcludedPaths());
+    }
+    
+    private static AdaptiveConcurrencyLimiter create(String name, ConcurrencyLimitProperties.Limit limit,
+                                                     ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(name, limit.getInitial(), limit.getMin(), limit.getMax(),
+                properties.getTolerance(), properties.getSmoothing());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!request.getRequestURI().startsWith(request.getContextPath() + "/api/")) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            log.debug("Concurrency limit {} reached for {} requests, shedding {} {}",
+                    limiter.getLimit(), limiter.getName(), request.getMethod(), request.getRequestURI());
+            request.setAttribute(SHED_ATTRIBUTE, Boolean.TRUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (failure == null) {
+                failure = (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+            }
+            if (isOverload(failure)) {
+                limiter.onDropped();
+            } else if (failure != null || response.getStatus() >= 400) {
+                // Client errors, bugs and requests shed further down say nothing about capacity
+                limiter.onIgnore();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Whether a failure means the database or another downstream resource could not keep up
+     */
+    static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
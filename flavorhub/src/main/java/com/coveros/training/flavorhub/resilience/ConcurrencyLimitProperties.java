@@ -0,0 +1,55 @@
+package com.coveros.training.flavorhub.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the adaptive concurrency limiters ({@code flavorhub.concurrency-limit.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    
+    private boolean enabled = true;
+    
+    /** Value of the Retry-After header sent with shed requests, in seconds */
+    private int retryAfterSeconds = 1;
+    
+    /** How much slower than the latency baseline requests may get before the limit shrinks */
+    private double tolerance = 1.5;
+    
+    /** Fraction of each newly computed limit that is applied per sample */
+    private double smoothing = 0.2;
+    
+    /**
+     * Long-lived streams that have their own client limit, whose latency says nothing about load,
+     * and the batch endpoint, whose entries are limited one by one
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/api/recipes/stream", "/api/batch"));
+    
+    private Limit read = new Limit(40, 10, 400);
+    
+    private Limit write = new Limit(20, 4, 100);
+    
+    /**
+     * Bounds for one limiter
+     */
+    @Data
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+        
+        public Limit() {
+        }
+        
+        public Limit(int initial, int min, int max) {
+            this.initial = initial;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.coveros.training.flavorhub.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registers the request filters that protect the REST API under load
+ */
+@Configuration
+@Slf4j
+@EnableConfigurationProperties({BulkheadProperties.class, ConcurrencyLimitProperties.class})
+public class ResilienceConfig {
+    
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public ConcurrencyLimitFilter concurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties);
+        bind(filter.getReadLimiter(), meterRegistry);
+        bind(filter.getWriteLimiter(), meterRegistry);
+        return filter;
+    }
+    
+    /**
+     * Runs before the bulkheads so that shed requests never occupy a bulkhead slot
+     */
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter concurrencyLimitFilter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    public BulkheadFilter bulkheadFilter(BulkheadProperties properties, MeterRegistry meterRegistry,
+                                         Environment environment) {
+        int permits = properties.getExpensive().getMaxConcurrent() + properties.getCheap().getMaxConcurrent();
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (permits > poolSize) {
+            log.warn("Bulkheads admit {} concurrent requests but the connection pool holds only {}; "
+                    + "admitted requests may wait for a connection", permits, poolSize);
+        }
+        BulkheadFilter filter = new BulkheadFilter(properties);
+        bind(filter.getExpensive(), meterRegistry);
+        bind(filter.getCheap(), meterRegistry);
+        return filter;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "flavorhub.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilterRegistration(BulkheadFilter bulkheadFilter) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(bulkheadFilter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+    
+    private static void bind(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder("flavorhub.concurrency-limit.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", limiter.getName())
+                .register(meterRegistry);
+        Gauge.builder("flavorhub.concurrency-limit.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests admitted by the limiter and still running")
+                .tag("limiter", limiter.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("flavorhub.concurrency-limit.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Requests shed because the limit was reached")
+                .tag("limiter", limiter.getName())
+                .register(meterRegistry);
+    }
+    
+    private static void bind(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        Gauge.builder("flavorhub.bulkhead.in-flight", bulkhead, Bulkhead::getInFlight)
+                .description("Requests holding a permit of the bulkhead compartment")
+                .tag("compartment", bulkhead.getName())
+                .register(meterRegistry);
+        Gauge.builder("flavorhub.bulkhead.waiting", bulkhead, Bulkhead::getWaiting)
+                .description("Requests queued for a permit of the bulkhead compartment")
+                .tag("compartment", bulkhead.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("flavorhub.bulkhead.requests", bulkhead, Bulkhead::getAcceptedCount)
+                .description("Requests admitted to or rejected by the bulkhead compartment")
+                .tags("compartment", bulkhead.getName(), "outcome", "accepted")
+                .register(meterRegistry);
+        FunctionCounter.builder("flavorhub.bulkhead.requests", bulkhead, Bulkhead::getRejectedCount)
+                .description("Requests admitted to or rejected by the bulkhead compartment")
+                .tags("compartment", bulkhead.getName(), "outcome", "rejected")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.coveros.training.flavorhub.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Coalesces concurrent identical calls into a single in-flight computation.
+ *
+ * The first caller for a key runs the loader; callers arriving with the same key while it is
+ * still running wait for and share its result instead of repeating the work. Once the
+ * computation finishes the key is forgotten, so this deduplicates concurrent work only and
+ * never serves stale results. Waiters give up after the timeout and run the loader themselves,
+ * so a stuck leader cannot stall every request for that key.
+ *
+ * Results are shared between threads and must not be modified by callers.
+ *
+ * As a {@link MeterBinder} it reports how often the loader ran, how many calls were coalesced
+ * and how many waiters timed out, tagged by {@code flight} name.
+ *
+ * @param <K> key type, which must implement equals and hashCode
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    
+    @Getter
+    private final String name;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    
+    public SingleFlight(String name, Duration timeout) {
+        this.name = name;
+        this.timeoutNanos = timeout.toNanos();
+    }
+    
+    /**
+     * Return the result for the key, joining an identical call already in flight if there is one
+     *
+     * @param key identifies identical calls
+     * @param loader computes the result when no identical call is in flight
+     * @return the loader's result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+        
+        executions.increment();
+        try {
+            V result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    private V await(CompletableFuture<V> flight, Supplier<V> loader) {
+        coalesced.increment();
+        try {
+            return flight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            executions.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced call failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for coalesced call", e);
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        calls(registry, "executed", SingleFlight::getExecutionCount);
+        calls(registry, "coalesced", SingleFlight::getCoalescedCount);
+        calls(registry, "timed-out", SingleFlight::getTimeoutCount);
+        Gauge.builder("flavorhub.single-flight.in-flight", this, SingleFlight::getInFlightCount)
+                .description("Keys currently being computed")
+                .tag("flight", name)
+                .register(registry);
+    }
+    
+    private void calls(MeterRegistry registry, String outcome, ToDoubleFunction<SingleFlight<K, V>> count) {
+        FunctionCounter.builder("flavorhub.single-flight.calls", this, count)
+                .description("Calls that ran the loader, joined an in-flight call, or timed out waiting and ran it themselves")
+                .tags("flight", name, "outcome", outcome)
+                .register(registry);
+    }
+    
+    /** Number of times the loader actually ran */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+    
+    /** Number of calls that joined another call's computation */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    /** Number of waiters that timed out and ran the loader themselves */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+    
+    /** Number of keys currently being computed */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.CatalogChanges;
+import com.coveros.training.flavorhub.model.CatalogEntity;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.model.Tombstone;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.repository.TombstoneRepository;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Incremental catalog sync: everything that changed after a client's last known catalog version.
+ *
+ * Versions are unique across recipes, ingredients and tombstones (see
+ * {@link com.coveros.training.flavorhub.sync.CatalogVersionCounter}), so a page is simply the
+ * {@code limit} lowest versions above {@code since}, and its last version is an exact cursor for
+ * the next page. A row changed several times is returned once, in its current state.
+ *
+ * The cursor relies on versions becoming visible in order, which only holds on the primary: a
+ * replica may apply a later change before a skipped earlier one (see
+ * {@link com.coveros.training.flavorhub.replication.ReplicaSet}). Pages are therefore read in a
+ * read-write transaction, which is never routed to a replica, even though they write nothing.
+ *
+ * Tombstones are pruned after {@code flavorhub.sync.tombstone-retention}, which raises the
+ * tombstone horizon to the highest pruned version. Every page reports the horizon, and the client
+ * passes back the one it got with its last page. A client that is below the current horizon and
+ * got its last page before that prune may hold a row whose tombstone is gone, so it gets
+ * {@code fullResyncRequired} instead of a page. A client paging through a full sync that started
+ * after the prune passes the current horizon and may go on: the pruned deletes happened before
+ * it read anything.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CatalogSyncService {
+    
+    /** Most changes a single page may hold */
+    public static final int MAX_LIMIT = 1000;
+    
+    private final RecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final CatalogVersionCounter catalogVersions;
+    
+    /**
+     * @param since the last catalog version the client has applied, 0 for a full sync
+     * @param tombstoneHorizon the horizon reported with that version, 0 for a full sync
+     * @param limit the most changes to return
+     * @throws IllegalArgumentException if {@code since} is negative or {@code limit} is not within 1..{@value #MAX_LIMIT}
+     */
+    public CatalogChanges changesSince(long since, long tombstoneHorizon, int limit) {
+        if (since < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("since must be >= 0 and limit within 1.." + MAX_LIMIT);
+        }
+        // One more than a page from each source tells whether anything is left after the page
+        Limit fetch = Limit.of(limit + 1);
+        List<Recipe> recipes = recipeRepository.findByChangeVersionGreaterThanOrderByChangeVersion(since, fetch);
+        List<Ingredient> ingredients = ingredientRepository.findByChangeVersionGreaterThanOrderByChangeVersion(since, fetch);
+        List<Tombstone> tombstones = tombstoneRepository.findByChangeVersionGreaterThanOrderByChangeVersion(since, fetch);
+        // Read after the tombstones: a prune that removed any of the ones this page needs has then raised it
+        long horizon = catalogVersions.tombstoneHorizon();
+        if (since > 0 && since < horizon && tombstoneHorizon < horizon) {
+            CatalogChanges resync = new CatalogChanges();
+            resync.setFullResyncRequired(true);
+            resync.setTombstoneHorizon(horizon);
+            return resync;
+        }
+        
+        List<Long> versions = Stream.of(
+                        recipes.stream().map(CatalogEntity::getChangeVersion),
+                        ingredients.stream().map(CatalogEntity::getChangeVersion),
+                        tombstones.stream().map(Tombstone::getChangeVersion))
+                .flatMap(s -> s)
+                .sorted()
+                .toList();
+        
+        CatalogChanges changes = new CatalogChanges();
+        changes.setTombstoneHorizon(horizon);
+        changes.setHasMore(versions.size() > limit);
+        long version = versions.isEmpty() ? since : versions.get(Math.min(limit, versions.size()) - 1);
+        changes.setVersion(version);
+        for (Recipe recipe : recipes) {
+            if (recipe.getChangeVersion() <= version) {
+                Hibernate.initialize(recipe.getIngredients());
+                Hibernate.initialize(recipe.getInstructions());
+                changes.getRecipes().add(recipe);
+            }
+        }
+        ingredients.stream()
+                .filter(ingredient -> ingredient.getChangeVersion() <= version)
+                .forEach(changes.getIngredients()::add);
+        for (Tombstone tombstone : tombstones) {
+            if (tombstone.getChangeVersion() > version) {
+                break;
+            }
+            if (Recipe.class.getSimpleName().equals(tombstone.getEntityType())) {
+                changes.getDeletedRecipeIds().add(tombstone.getEntityId());
+            } else {
+                changes.getDeletedIngredientIds().add(tombstone.getEntityId());
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,66 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks which catalog versions an event-fed in-memory view of a catalog table has already
+ * applied, so that it can drop {@link RecipeChangedEvent}s and {@link IngredientChangedEvent}s
+ * that arrive late.
+ *
+ * Catalog versions commit in order, but the after-commit listeners of two transactions run on
+ * their request threads and can apply in either order. A view remembers the version its last
+ * load read up to and the version of the last event it applied to each row, including
+ * deletes; an event at or below either describes a state the view has already moved past.
+ *
+ * Not thread-safe: each view calls it under the lock that guards its own state.
+ */
+class ChangeVersions {
+    
+    private final Map<Long, Long> appliedVersions = new HashMap<>();
+    private long loadedVersion;
+    
+    /**
+     * Start over for a load whose queries run after {@code version} committed
+     */
+    void reset(long version) {
+        appliedVersions.clear();
+        loadedVersion = version;
+    }
+    
+    /**
+     * Start over from the state another view has reached, for a view loaded from that view
+     */
+    void reset(ChangeVersions other) {
+        appliedVersions.clear();
+        appliedVersions.putAll(other.appliedVersions);
+        loadedVersion = other.loadedVersion;
+    }
+    
+    boolean accept(RecipeChangedEvent event) {
+        return accept(event.recipeId(), event.version());
+    }
+    
+    boolean accept(IngredientChangedEvent event) {
+        return accept(event.ingredientId(), event.version());
+    }
+    
+    /**
+     * Whether a change is newer than everything applied so far for its row; if so, it is
+     * recorded as applied
+     */
+    private boolean accept(Long id, long version) {
+        if (version <= loadedVersion) {
+            return false;
+        }
+        Long applied = appliedVersions.get(id);
+        if (applied != null && version <= applied) {
+            return false;
+        }
+        appliedVersions.put(id, version);
+        return true;
+    }
+}
@@ -0,0 +1,190 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.FacetCounts;
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepositoryCustom;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory facet counts for the recipe and ingredient filters: recipes per cuisine, difficulty
+ * and rating bucket, and ingredients per category.
+ *
+ * The counts are loaded once from the database and then maintained incrementally from the
+ * recipe and ingredient change events after each commit, so reading them never runs SQL and
+ * costs time proportional to the number of facet values. The counter remembers the facet values
+ * of every recipe and ingredient, which lets an update or delete decrement the old values without
+ * a query, and makes applying the same change twice harmless. Events older than the state
+ * already counted are dropped; see {@link ChangeVersions}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FacetCounter {
+    
+    static final String UNRATED = "unrated";
+    
+    private static final FieldSet FACET_FIELDS = FieldSet.parse("cuisineType,difficultyLevel,averageRating,ratingCount",
+            RecipeRepositoryCustom.FIELDS);
+    
+    private final RecipeRepository recipeRepository;
+    private final IngredientCatalog ingredientCatalog;
+    private final CatalogVersionCounter catalogVersions;
+    
+    private final ChangeVersions recipeVersions = new ChangeVersions();
+    private final ChangeVersions ingredientVersions = new ChangeVersions();
+    private final Map<Long, RecipeFacets> recipeFacets = new HashMap<>();
+    private final Map<Long, String> ingredientCategories = new HashMap<>();
+    private final Map<String, Integer> cuisines = new TreeMap<>();
+    private final Map<String, Integer> difficulties = new TreeMap<>();
+    private final Map<String, Integer> ratings = new TreeMap<>();
+    private final Map<String, Integer> categories = new TreeMap<>();
+    private boolean loaded;
+    
+    /**
+     * Current counts, loading them from the database on first use
+     */
+    public synchronized FacetCounts counts() {
+        if (!loaded) {
+            reload();
+        }
+        return new FacetCounts(recipeFacets.size(), ingredientCategories.size(),
+                new LinkedHashMap<>(cuisines), new LinkedHashMap<>(difficulties),
+                new LinkedHashMap<>(ratings), new LinkedHashMap<>(categories));
+    }
+    
+    /**
+     * Rebuild all counts: one projected query for the recipes, ingredients from the catalog.
+     * Runs once the application is ready so that data seeded at startup is picked up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        recipeFacets.clear();
+        ingredientCategories.clear();
+        cuisines.clear();
+        difficulties.clear();
+        ratings.clear();
+        categories.clear();
+        recipeVersions.reset(catalogVersions.current());
+        for (Map<String, Object> row : recipeRepository.findAllProjected(FACET_FIELDS)) {
+            putRecipe((Long) row.get("id"), new RecipeFacets((String) row.get("cuisineType"),
+                    (String) row.get("difficultyLevel"),
+                    ratingBucket((Double) row.get("averageRating"), (Integer) row.get("ratingCount"))));
+        }
+        for (Ingredient ingredient : ingredientCatalog.snapshot(ingredientVersions).all()) {
+            putIngredient(ingredient.getId(), ingredient.getCategory());
+        }
+        loaded = true;
+        log.debug("Loaded facet counts for {} recipes and {} ingredients",
+                recipeFacets.size(), ingredientCategories.size());
+    }
+    
+    /**
+     * Apply a committed recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRecipeChanged(RecipeChangedEvent event) {
+        if (!loaded) {
+            // Nothing counted yet; the first read will load the committed state
+            return;
+        }
+        if (!recipeVersions.accept(event)) {
+            return;
+        }
+        if (event.type() == ChangeType.DELETED) {
+            removeRecipe(event.recipeId());
+        } else {
+            Recipe recipe = event.recipe();
+            putRecipe(event.recipeId(), new RecipeFacets(recipe.getCuisineType(), recipe.getDifficultyLevel(),
+                    ratingBucket(recipe.getAverageRating(), recipe.getRatingCount())));
+        }
+    }
+    
+    /**
+     * Apply a committed ingredient change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onIngredientChanged(IngredientChangedEvent event) {
+        if (!loaded || !ingredientVersions.accept(event)) {
+            return;
+        }
+        if (event.type() == ChangeType.DELETED) {
+            removeIngredient(event.ingredientId());
+        } else {
+            putIngredient(event.ingredientId(), event.ingredient().getCategory());
+        }
+    }
+    
+    private void putRecipe(Long id, RecipeFacets facets) {
+        removeRecipe(id);
+        recipeFacets.put(id, facets);
+        increment(cuisines, facets.cuisine());
+        increment(difficulties, facets.difficulty());
+        increment(ratings, facets.ratingBucket());
+    }
+    
+    private void removeRecipe(Long id) {
+        RecipeFacets previous = recipeFacets.remove(id);
+        if (previous != null) {
+            decrement(cuisines, previous.cuisine());
+            decrement(difficulties, previous.difficulty());
+            decrement(ratings, previous.ratingBucket());
+        }
+    }
+    
+    private void putIngredient(Long id, String category) {
+        removeIngredient(id);
+        ingredientCategories.put(id, category);
+        increment(categories, category);
+    }
+    
+    private void removeIngredient(Long id) {
+        if (ingredientCategories.containsKey(id)) {
+            decrement(categories, ingredientCategories.remove(id));
+        }
+    }
+    
+    private static void increment(Map<String, Integer> counts, String value) {
+        if (value != null) {
+            counts.merge(value, 1, Integer::sum);
+        }
+    }
+    
+    private static void decrement(Map<String, Integer> counts, String value) {
+        if (value != null) {
+            // Returning null from the remapping function drops values that reach zero
+            counts.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+    
+    /**
+     * Bucket an average rating by whole stars: {@code 1-2} up to {@code 4-5} (a perfect 5 falls in
+     * {@code 4-5}), or {@link #UNRATED} for recipes nobody has rated
+     */
+    static String ratingBucket(Double averageRating, Integer ratingCount) {
+        if (averageRating == null || ratingCount == null || ratingCount == 0) {
+            return UNRATED;
+        }
+        int lower = Math.max(1, Math.min(4, (int) Math.floor(averageRating)));
+        return lower + "-" + (lower + 1);
+    }
+    
+    private record RecipeFacets(String cuisine, String difficulty, String ratingBucket) {
+    }
+}
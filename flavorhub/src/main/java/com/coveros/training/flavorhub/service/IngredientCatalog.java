@@ -0,0 +1,176 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, in-memory snapshot of the ingredient table.
+ *
+ * The ingredient table is small and read far more often than it is written, so every read is
+ * served from a snapshot published through a volatile reference. Readers never lock and never
+ * touch the database. Writers build a complete new snapshot (copy-on-write) and swap it in
+ * atomically once their transaction has committed, so readers see either the old or the new
+ * catalog but never a partially updated one.
+ *
+ * Ingredient instances held by the catalog are shared between callers and must be treated as
+ * read-only. Change events older than the state already published are dropped; see
+ * {@link ChangeVersions}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientCatalog {
+    
+    private final IngredientRepository ingredientRepository;
+    private final CatalogVersionCounter catalogVersions;
+    
+    private final ChangeVersions ingredientVersions = new ChangeVersions();
+    private volatile Snapshot snapshot;
+    
+    /**
+     * Get the current snapshot, loading it from the database on first use
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : loadIfAbsent();
+    }
+    
+    /**
+     * Load the first snapshot once, however many readers arrive before it is published
+     */
+    private synchronized Snapshot loadIfAbsent() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+    
+    /**
+     * Rebuild the snapshot from the database.
+     * Runs once the application is ready so that data seeded at startup is picked up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized Snapshot reload() {
+        ingredientVersions.reset(catalogVersions.current());
+        Snapshot loaded = Snapshot.of(ingredientRepository.findAll());
+        snapshot = loaded;
+        log.debug("Loaded ingredient catalog with {} ingredients", loaded.all().size());
+        return loaded;
+    }
+    
+    /**
+     * Get the current snapshot and copy the versions it reflects into {@code versions}, for views
+     * that load from the catalog and then follow the same change events
+     */
+    synchronized Snapshot snapshot(ChangeVersions versions) {
+        Snapshot current = snapshot != null ? snapshot : reload();
+        versions.reset(ingredientVersions);
+        return current;
+    }
+    
+    /**
+     * Apply a committed ingredient change by publishing a new snapshot
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onIngredientChanged(IngredientChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Nothing published yet; the first read will load the committed state
+            return;
+        }
+        if (!ingredientVersions.accept(event)) {
+            return;
+        }
+        Map<Long, Ingredient> byId = new HashMap<>(current.byId());
+        if (event.type() == ChangeType.DELETED) {
+            byId.remove(event.ingredientId());
+        } else {
+            byId.put(event.ingredientId(), copyOf(event.ingredient()));
+        }
+        snapshot = Snapshot.of(byId.values());
+    }
+    
+    private static Ingredient copyOf(Ingredient ingredient) {
+        Ingredient copy = new Ingredient(ingredient.getId(), ingredient.getName(),
+                ingredient.getCategory(), ingredient.getUnit());
+        copy.setChangeVersion(ingredient.getChangeVersion());
+        return copy;
+    }
+    
+    /**
+     * One immutable version of the catalog with its lookup indexes
+     *
+     * @param all every ingredient ordered by ID
+     * @param byId ingredients keyed by ID
+     * @param byLowerName ingredients keyed by lower-cased name
+     * @param byCategory ingredients grouped by exact category, each list ordered by ID
+     */
+    public record Snapshot(List<Ingredient> all,
+                           Map<Long, Ingredient> byId,
+                           Map<String, Ingredient> byLowerName,
+                           Map<String, List<Ingredient>> byCategory) {
+        
+        static Snapshot of(Collection<Ingredient> ingredients) {
+            List<Ingredient> all = new ArrayList<>(ingredients.size());
+            for (Ingredient ingredient : ingredients) {
+                all.add(copyOf(ingredient));
+            }
+            all.sort(Comparator.comparing(Ingredient::getId));
+            
+            Map<Long, Ingredient> byId = new HashMap<>();
+            Map<String, Ingredient> byLowerName = new HashMap<>();
+            Map<String, List<Ingredient>> byCategory = new LinkedHashMap<>();
+            for (Ingredient ingredient : all) {
+                byId.put(ingredient.getId(), ingredient);
+                byLowerName.put(normalize(ingredient.getName()), ingredient);
+                if (ingredient.getCategory() != null) {
+                    byCategory.computeIfAbsent(ingredient.getCategory(), key -> new ArrayList<>()).add(ingredient);
+                }
+            }
+            byCategory.replaceAll((category, members) -> List.copyOf(members));
+            
+            return new Snapshot(List.copyOf(all), Map.copyOf(byId),
+                    Map.copyOf(byLowerName), Map.copyOf(byCategory));
+        }
+        
+        public Optional<Ingredient> findById(Long id) {
+            return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+        }
+        
+        public Optional<Ingredient> findByNameIgnoreCase(String name) {
+            return name == null ? Optional.empty() : Optional.ofNullable(byLowerName.get(normalize(name)));
+        }
+        
+        public List<Ingredient> findByCategory(String category) {
+            return category == null ? List.of() : byCategory.getOrDefault(category, List.of());
+        }
+        
+        public List<Ingredient> findByNameContainingIgnoreCase(String searchTerm) {
+            String term = normalize(searchTerm);
+            return all.stream()
+                    .filter(ingredient -> normalize(ingredient.getName()).contains(term))
+                    .toList();
+        }
+        
+        private static String normalize(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
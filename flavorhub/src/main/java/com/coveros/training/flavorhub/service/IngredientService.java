@@ -1,8 +1,11 @@
 package com.coveros.training.flavorhub.service;
 
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
 import com.coveros.training.flavorhub.model.Ingredient;
 import com.coveros.training.flavorhub.repository.IngredientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,39 +14,53 @@ import java.util.Optional;
 
 /**
  * Service for managing ingredients
+ * 
+ * Reads are served from the in-memory {@link IngredientCatalog} without opening a transaction;
+ * only writes go to the database.
  */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class IngredientService {
     
     private final IngredientRepository ingredientRepository;
+    private final IngredientCatalog ingredientCatalog;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Ingredient> getAllIngredients() {
-        return ingredientRepository.findAll();
+        return ingredientCatalog.snapshot().all();
     }
     
     public Optional<Ingredient> getIngredientById(Long id) {
-        return ingredientRepository.findById(id);
+        return ingredientCatalog.snapshot().findById(id);
     }
     
     public Optional<Ingredient> getIngredientByName(String name) {
-        return ingredientRepository.findByNameIgnoreCase(name);
+        return ingredientCatalog.snapshot().findByNameIgnoreCase(name);
     }
     
     public List<Ingredient> getIngredientsByCategory(String category) {
-        return ingredientRepository.findByCategory(category);
+        return ingredientCatalog.snapshot().findByCategory(category);
     }
     
     public List<Ingredient> searchIngredients(String searchTerm) {
-        return ingredientRepository.findByNameContainingIgnoreCase(searchTerm);
+        return ingredientCatalog.snapshot().findByNameContainingIgnoreCase(searchTerm);
     }
     
+    @Transactional
     public Ingredient saveIngredient(Ingredient ingredient) {
-        return ingredientRepository.save(ingredient);
+        ChangeType type = ingredient.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        Ingredient saved = ingredientRepository.save(ingredient);
+        // Flushing runs the entity listener, which assigns the version the event carries
+        ingredientRepository.flush();
+        eventPublisher.publishEvent(new IngredientChangedEvent(type, saved.getId(), saved, saved.getChangeVersion()));
+        return saved;
     }
     
+    @Transactional
     public void deleteIngredient(Long id) {
-        ingredientRepository.deleteById(id);
+        ingredientRepository.findById(id).ifPresent(ingredient -> {
+            ingredientRepository.delete(ingredient);
+            eventPublisher.publishEvent(new IngredientChangedEvent(ChangeType.DELETED, id, null, ingredient.getChangeVersion()));
+        });
     }
 }
@@ -0,0 +1,124 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepositoryCustom;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-rendered HTML of the first page of recipe cards on {@code /recipes}, so the page shows
+ * recipes in the same round trip instead of after a separate API call.
+ *
+ * Cards are rendered from the summary columns only, without ingredient or instruction lists, and
+ * the HTML is kept until the next recipe write commits; most page views neither query the
+ * database nor run the template. Every write bumps a generation number, and HTML rendered before
+ * the latest write is never served, even if its render finished after the write.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeCardFragmentCache {
+    
+    /** Cards rendered into the page; the page script loads the rest */
+    public static final int FIRST_PAGE_SIZE = 24;
+    
+    private static final FieldSet CARD_FIELDS = FieldSet.parse(
+            "name,description,prepTime,cookTime,servings,difficultyLevel,cuisineType,averageRating,ratingCount",
+            RecipeRepositoryCustom.FIELDS);
+    
+    private final RecipeRepository recipeRepository;
+    private final ITemplateEngine templateEngine;
+    
+    private final AtomicLong generation = new AtomicLong();
+    /** Not {@code synchronized}: a virtual thread blocked in the query would pin its carrier */
+    private final ReentrantLock renderLock = new ReentrantLock();
+    private volatile Fragment cached;
+    
+    /**
+     * HTML of the first page of cards, rendered again only after a recipe write
+     */
+    public String firstPage() {
+        Fragment current = cached;
+        if (current != null && current.generation() == generation.get()) {
+            return current.html();
+        }
+        return render();
+    }
+    
+    /**
+     * Render once for all requests that find the cache stale at the same time
+     */
+    private String render() {
+        renderLock.lock();
+        try {
+            long renderedGeneration = generation.get();
+            Fragment current = cached;
+            if (current != null && current.generation() == renderedGeneration) {
+                return current.html();
+            }
+            // One more than a page tells whether the script has more cards to load
+            List<Card> cards = recipeRepository.findPageProjected(CARD_FIELDS, 0, FIRST_PAGE_SIZE + 1).stream()
+                    .map(Card::of)
+                    .toList();
+            Context context = new Context(Locale.ROOT);
+            context.setVariable("cards", cards.subList(0, Math.min(cards.size(), FIRST_PAGE_SIZE)));
+            context.setVariable("hasMore", cards.size() > FIRST_PAGE_SIZE);
+            String html = templateEngine.process("fragments/recipe-cards", Set.of("cards"), context);
+            cached = new Fragment(renderedGeneration, html);
+            return html;
+        } finally {
+            renderLock.unlock();
+        }
+    }
+    
+    /**
+     * Invalidate the rendered cards once a recipe change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        generation.incrementAndGet();
+    }
+    
+    private record Fragment(long generation, String html) {
+    }
+    
+    /**
+     * What one card shows, formatted like the cards the page script renders
+     */
+    public record Card(Long id, String name, String description, String cuisineType, String difficultyLevel,
+                       int totalTime, Integer servings, double averageRating, int ratingCount) {
+        
+        static Card of(Map<String, Object> row) {
+            return new Card((Long) row.get("id"), (String) row.get("name"), (String) row.get("description"),
+                    (String) row.get("cuisineType"), (String) row.get("difficultyLevel"),
+                    orZero((Integer) row.get("prepTime")) + orZero((Integer) row.get("cookTime")),
+                    (Integer) row.get("servings"),
+                    row.get("averageRating") != null ? (Double) row.get("averageRating") : 0.0,
+                    orZero((Integer) row.get("ratingCount")));
+        }
+        
+        private static int orZero(Integer value) {
+            return value != null ? value : 0;
+        }
+        
+        /** Filled stars out of five, rounding half stars up */
+        public int filledStars() {
+            return (int) Math.floor(averageRating + 0.5);
+        }
+        
+        public String ratingInfo() {
+            return String.format(Locale.ROOT, "%.1f stars (%d ratings)", averageRating, ratingCount);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.RecipeFilter;
+import com.coveros.training.flavorhub.dto.RecipeFilterResult;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of the recipe attributes used by multi-criteria filters.
+ *
+ * Each attribute is a primitive array indexed by row, with rows kept in ID order: prep time,
+ * cook time and servings as {@code int[]}, the average rating as {@code double[]}, and cuisine
+ * and difficulty as dictionary codes in {@code short[]}. A filter is evaluated one column at a
+ * time over blocks of {@value #BLOCK_SIZE} rows. The first predicate writes the matching rows of
+ * a block into a selection vector and each further predicate narrows it, in branch-free loops
+ * over a single array. No recipe objects are touched; only the matching IDs are produced.
+ *
+ * The columns are loaded with one streaming scan of {@code recipes} and then kept up to date
+ * from {@link RecipeChangedEvent}s after each commit, skipping events for rows that already hold
+ * a newer version. Filters share a read lock; writes, which change a single row, take the write lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecipeColumnStore {
+    
+    /** Most IDs a single filter may return; the total is always counted */
+    public static final int MAX_LIMIT = 10000;
+    
+    private static final int BLOCK_SIZE = 1024;
+    
+    /** Stored for a missing int value; no predicate range includes it */
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    
+    private static final String LOAD_SQL = "select id, prep_time, cook_time, servings, average_rating, "
+            + "cuisine_type, difficulty_level from recipes order by id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionCounter catalogVersions;
+    
+    private final ChangeVersions recipeVersions = new ChangeVersions();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary cuisineDictionary = new Dictionary();
+    private final Dictionary difficultyDictionary = new Dictionary();
+    private long[] ids = new long[0];
+    private int[] prepTimes = new int[0];
+    private int[] cookTimes = new int[0];
+    private int[] servings = new int[0];
+    private double[] ratings = new double[0];
+    private short[] cuisines = new short[0];
+    private short[] difficulties = new short[0];
+    private int size;
+    private volatile boolean loaded;
+    
+    /**
+     * IDs of the recipes matching every given criterion, in ID order
+     *
+     * @param limit the most IDs to return
+     * @throws IllegalArgumentException if {@code limit} is not within 0..{@value #MAX_LIMIT}
+     */
+    public RecipeFilterResult filter(RecipeFilter filter, int limit) {
+        if (limit < 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be within 0.." + MAX_LIMIT);
+        }
+        if (!loaded) {
+            reload();
+        }
+        lock.readLock().lock();
+        try {
+            List<BlockPredicate> predicates = predicates(filter);
+            RecipeFilterResult result = new RecipeFilterResult();
+            if (predicates == null) {
+                // A set criterion named no value that any recipe has
+                return result;
+            }
+            int[] selection = new int[BLOCK_SIZE];
+            int total = 0;
+            for (int from = 0; from < size; from += BLOCK_SIZE) {
+                int to = Math.min(from + BLOCK_SIZE, size);
+                int count;
+                if (predicates.isEmpty()) {
+                    count = to - from;
+                    for (int k = 0; k < count; k++) {
+                        selection[k] = from + k;
+                    }
+                } else {
+                    count = predicates.get(0).select(from, to, selection);
+                    for (int p = 1; p < predicates.size() && count > 0; p++) {
+                        count = predicates.get(p).refine(selection, count);
+                    }
+                }
+                for (int k = 0; k < count && result.getIds().size() < limit; k++) {
+                    result.getIds().add(ids[selection[k]]);
+                }
+                total += count;
+            }
+            result.setTotal(total);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * One predicate per given criterion, or {@code null} if the filter cannot match anything
+     */
+    private List<BlockPredicate> predicates(RecipeFilter filter) {
+        List<BlockPredicate> predicates = new ArrayList<>();
+        // Dictionary lookups first: they are cheap and usually the most selective
+        if (filter.getCuisine() != null) {
+            boolean[] allowed = cuisineDictionary.codesOf(filter.getCuisine());
+            if (allowed == null) {
+                return null;
+            }
+            predicates.add(codeIn(cuisines, allowed));
+        }
+        if (filter.getDifficulty() != null) {
+            boolean[] allowed = difficultyDictionary.codesOf(filter.getDifficulty());
+            if (allowed == null) {
+                return null;
+            }
+            predicates.add(codeIn(difficulties, allowed));
+        }
+        if (filter.getMaxPrepTime() != null) {
+            predicates.add(intRange(prepTimes, NULL_INT + 1, filter.getMaxPrepTime()));
+        }
+        if (filter.getMaxCookTime() != null) {
+            predicates.add(intRange(cookTimes, NULL_INT + 1, filter.getMaxCookTime()));
+        }
+        if (filter.getMinServings() != null || filter.getMaxServings() != null) {
+            int min = filter.getMinServings() != null ? Math.max(filter.getMinServings(), NULL_INT + 1) : NULL_INT + 1;
+            int max = filter.getMaxServings() != null ? filter.getMaxServings() : Integer.MAX_VALUE;
+            if (min > max) {
+                return null;
+            }
+            predicates.add(intRange(servings, min, max));
+        }
+        if (filter.getMinRating() != null) {
+            predicates.add(doubleAtLeast(ratings, filter.getMinRating()));
+        }
+        return predicates;
+    }
+    
+    /**
+     * Load all columns with one scan of the recipe table. Runs when the application is ready, after
+     * the data initializer has seeded the recipes, so the first filter request does not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            size = 0;
+            cuisineDictionary.clear();
+            difficultyDictionary.clear();
+            recipeVersions.reset(catalogVersions.current());
+            jdbcTemplate.query(LOAD_SQL, (ResultSet rs) -> {
+                append(rs.getLong(1), intOrNull(rs, 2), intOrNull(rs, 3), intOrNull(rs, 4),
+                        rs.getObject(5) != null ? rs.getDouble(5) : Double.NaN, rs.getString(6), rs.getString(7));
+            });
+            loaded = true;
+            log.info("Loaded {} recipes into the column store in {} ms", size, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Apply a committed recipe change to its row
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded || !recipeVersions.accept(event)) {
+                // Either the scan run by the first filter will see this change, or the row is newer
+                return;
+            }
+            int row = Arrays.binarySearch(ids, 0, size, event.recipeId());
+            if (event.type() == ChangeType.DELETED) {
+                if (row >= 0) {
+                    removeRow(row);
+                }
+                return;
+            }
+            if (row < 0) {
+                row = -row - 1;
+                insertRow(row);
+                ids[row] = event.recipeId();
+            }
+            Recipe recipe = event.recipe();
+            set(row, orNull(recipe.getPrepTime()), orNull(recipe.getCookTime()), orNull(recipe.getServings()),
+                    recipe.getAverageRating() != null ? recipe.getAverageRating() : Double.NaN,
+                    recipe.getCuisineType(), recipe.getDifficultyLevel());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void append(long id, int prepTime, int cookTime, int servingCount, double rating,
+                        String cuisine, String difficulty) {
+        insertRow(size);
+        ids[size - 1] = id;
+        set(size - 1, prepTime, cookTime, servingCount, rating, cuisine, difficulty);
+    }
+    
+    private void set(int row, int prepTime, int cookTime, int servingCount, double rating,
+                     String cuisine, String difficulty) {
+        prepTimes[row] = prepTime;
+        cookTimes[row] = cookTime;
+        servings[row] = servingCount;
+        ratings[row] = rating;
+        cuisines[row] = cuisineDictionary.encode(cuisine);
+        difficulties[row] = difficultyDictionary.encode(difficulty);
+    }
+    
+    /**
+     * Open an empty row at the given position, shifting later rows up
+     */
+    private void insertRow(int row) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            prepTimes = Arrays.copyOf(prepTimes, capacity);
+            cookTimes = Arrays.copyOf(cookTimes, capacity);
+            servings = Arrays.copyOf(servings, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+            cuisines = Arrays.copyOf(cuisines, capacity);
+            difficulties = Arrays.copyOf(difficulties, capacity);
+        }
+        int tail = size - row;
+        System.arraycopy(ids, row, ids, row + 1, tail);
+        System.arraycopy(prepTimes, row, prepTimes, row + 1, tail);
+        System.arraycopy(cookTimes, row, cookTimes, row + 1, tail);
+        System.arraycopy(servings, row, servings, row + 1, tail);
+        System.arraycopy(ratings, row, ratings, row + 1, tail);
+        System.arraycopy(cuisines, row, cuisines, row + 1, tail);
+        System.arraycopy(difficulties, row, difficulties, row + 1, tail);
+        size++;
+    }
+    
+    private void removeRow(int row) {
+        int tail = size - row - 1;
+        System.arraycopy(ids, row + 1, ids, row, tail);
+        System.arraycopy(prepTimes, row + 1, prepTimes, row, tail);
+        System.arraycopy(cookTimes, row + 1, cookTimes, row, tail);
+        System.arraycopy(servings, row + 1, servings, row, tail);
+        System.arraycopy(ratings, row + 1, ratings, row, tail);
+        System.arraycopy(cuisines, row + 1, cuisines, row, tail);
+        System.arraycopy(difficulties, row + 1, difficulties, row, tail);
+        size--;
+    }
+    
+    private static int intOrNull(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? NULL_INT : value;
+    }
+    
+    private static int orNull(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+    
+    /**
+     * A predicate evaluated over one column for a block of rows
+     */
+    private interface BlockPredicate {
+        
+        /** Write the matching rows of {@code [from, to)} to the selection vector and return their count */
+        int select(int from, int to, int[] selection);
+        
+        /** Keep the matching rows among the first {@code count} of the selection vector and return their count */
+        int refine(int[] selection, int count);
+    }
+    
+    /**
+     * {@code min <= value <= max}, as one unsigned comparison of {@code value - min} against the range width
+     */
+    private static BlockPredicate intRange(int[] column, int min, int max) {
+        int width = max - min;
+        return new BlockPredicate() {
+            @Override
+            public int select(int from, int to, int[] selection) {
+                int count = 0;
+                for (int row = from; row < to; row++) {
+                    selection[count] = row;
+                    count += Integer.compareUnsigned(column[row] - min, width) <= 0 ? 1 : 0;
+                }
+                return count;
+            }
+            
+            @Override
+            public int refine(int[] selection, int count) {
+                int kept = 0;
+                for (int k = 0; k < count; k++) {
+                    int row = selection[k];
+                    selection[kept] = row;
+                    kept += Integer.compareUnsigned(column[row] - min, width) <= 0 ? 1 : 0;
+                }
+                return kept;
+            }
+        };
+    }
+    
+    /**
+     * {@code value >= min}; missing values are NaN and never match
+     */
+    private static BlockPredicate doubleAtLeast(double[] column, double min) {
+        return new BlockPredicate() {
+            @Override
+            public int select(int from, int to, int[] selection) {
+                int count = 0;
+                for (int row = from; row < to; row++) {
+                    selection[count] = row;
+                    count += column[row] >= min ? 1 : 0;
+                }
+                return count;
+            }
+            
+            @Override
+            public int refine(int[] selection, int count) {
+                int kept = 0;
+                for (int k = 0; k < count; k++) {
+                    int row = selection[k];
+                    selection[kept] = row;
+                    kept += column[row] >= min ? 1 : 0;
+                }
+                return kept;
+            }
+        };
+    }
+    
+    /**
+     * Dictionary code in a set, looked up in a table indexed by code
+     */
+    private static BlockPredicate codeIn(short[] column, boolean[] allowed) {
+        return new BlockPredicate() {
+            @Override
+            public int select(int from, int to, int[] selection) {
+                int count = 0;
+                for (int row = from; row < to; row++) {
+                    selection[count] = row;
+                    count += allowed[column[row]] ? 1 : 0;
+                }
+                return count;
+            }
+            
+            @Override
+            public int refine(int[] selection, int count) {
+                int kept = 0;
+                for (int k = 0; k < count; k++) {
+                    int row = selection[k];
+                    selection[kept] = row;
+                    kept += allowed[column[row]] ? 1 : 0;
+                }
+                return kept;
+            }
+        };
+    }
+    
+    /**
+     * Maps the distinct values of a text column to small codes; code 0 stands for no value
+     */
+    private static final class Dictionary {
+        
+        private final Map<String, Short> codes = new HashMap<>();
+        
+        short encode(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                if (codes.size() >= Short.MAX_VALUE) {
+                    throw new IllegalStateException("More than " + Short.MAX_VALUE + " distinct values");
+                }
+                return (short) (codes.size() + 1);
+            });
+        }
+        
+        /**
+         * Lookup table of the codes of the given values, or {@code null} if none of them occurs
+         */
+        boolean[] codesOf(List<String> values) {
+            boolean[] allowed = new boolean[codes.size() + 1];
+            boolean any = false;
+            for (String value : values) {
+                Short code = codes.get(value);
+                if (code != null) {
+                    allowed[code] = true;
+                    any = true;
+                }
+            }
+            return any ? allowed : null;
+        }
+        
+        void clear() {
+            codes.clear();
+        }
+    }
+}
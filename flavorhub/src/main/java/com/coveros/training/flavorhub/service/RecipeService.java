@@ -1,50 +1,186 @@
 package com.coveros.training.flavorhub.service;
 
+import com.coveros.training.flavorhub.dto.FieldSet;
+import com.coveros.training.flavorhub.dto.RecipeBatchResponse;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
 import com.coveros.training.flavorhub.model.Recipe;
 import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepositoryCustom;
+import com.coveros.training.flavorhub.resilience.SingleFlight;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service for managing recipes
+ * 
+ * Concurrent identical reads (e.g. thousands of requests for a featured recipe) are coalesced
+ * into one database query with {@link SingleFlight}. Only the caller that actually runs the
+ * query opens a read-only transaction, so callers waiting on a coalesced query do not hold a
+ * database connection. Callers that already run inside a transaction query on their own: the
+ * leader would otherwise join that transaction and hand its managed entities to every waiter,
+ * and a waiter's change to one would be flushed when the transaction commits.
+ * 
+ * Every write publishes a {@link RecipeChangedEvent} for in-memory views such as
+ * {@link FacetCounter}.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class RecipeService {
     
+    /** How long a coalesced caller waits for the in-flight query before running its own */
+    private static final Duration COALESCE_TIMEOUT = Duration.ofSeconds(5);
+    
+    /** Most ids a single multi-get may ask for */
+    public static final int MAX_BATCH_IDS = 100;
+    
+    /** Most recipes a single page of a sparse-fieldset list may hold */
+    public static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final TransactionDefinition READ_ONLY = readOnlyDefinition();
+    
     private final RecipeRepository recipeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Getter
+    private final SingleFlight<String, List<Recipe>> recipeListFlights =
+            new SingleFlight<>("recipes.list", COALESCE_TIMEOUT);
+    @Getter
+    private final SingleFlight<Long, Optional<Recipe>> recipeByIdFlights =
+            new SingleFlight<>("recipes.byId", COALESCE_TIMEOUT);
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Recipe> getAllRecipes() {
-        return recipeRepository.findAll();
+        return coalesced(recipeListFlights, "all",
+                () -> initialized(recipeRepository.findAll()));
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Recipe> getRecipeById(Long id) {
-        return recipeRepository.findById(id);
+        return coalesced(recipeByIdFlights, id,
+                () -> recipeRepository.findById(id).map(RecipeService::initialized));
+    }
+    
+    /**
+     * Load many recipes at once: one {@code IN} query for the rows, and collections fetched in
+     * batches (see {@code hibernate.default_batch_fetch_size}) instead of per recipe
+     *
+     * @param ids recipe ids in the order the caller wants them back; duplicates are returned once
+     * @throws IllegalArgumentException if more than {@link #MAX_BATCH_IDS} distinct ids are requested
+     */
+    @Transactional(readOnly = true)
+    public RecipeBatchResponse getRecipesByIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        Map<Long, Recipe> found = new HashMap<>();
+        for (Recipe recipe : recipeRepository.findAllById(distinctIds)) {
+            found.put(recipe.getId(), initialized(recipe));
+        }
+        RecipeBatchResponse response = new RecipeBatchResponse();
+        for (Long id : distinctIds) {
+            Recipe recipe = found.get(id);
+            if (recipe != null) {
+                response.getRecipes().add(recipe);
+            } else {
+                response.getMissingIds().add(id);
+            }
+        }
+        return response;
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Recipe> getRecipesByDifficulty(String difficultyLevel) {
-        return recipeRepository.findByDifficultyLevel(difficultyLevel);
+        return coalesced(recipeListFlights, "difficulty:" + difficultyLevel,
+                () -> initialized(recipeRepository.findByDifficultyLevel(difficultyLevel)));
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Recipe> getRecipesByCuisine(String cuisineType) {
-        return recipeRepository.findByCuisineType(cuisineType);
+        return coalesced(recipeListFlights, "cuisine:" + cuisineType,
+                () -> initialized(recipeRepository.findByCuisineType(cuisineType)));
     }
     
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Recipe> searchRecipes(String searchTerm) {
-        return recipeRepository.findByNameContainingIgnoreCase(searchTerm);
+        return coalesced(recipeListFlights, "search:" + searchTerm,
+                () -> initialized(recipeRepository.findByNameContainingIgnoreCase(searchTerm)));
+    }
+    
+    /**
+     * Sparse-fieldset reads: only the properties named in {@code fields} are loaded and returned
+     *
+     * @throws IllegalArgumentException if {@code fields} names an unknown property
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllRecipes(String fields) {
+        return recipeRepository.findAllProjected(recipeFields(fields));
+    }
+    
+    /**
+     * One page of {@link #getAllRecipes(String)}, in ID order
+     *
+     * @throws IllegalArgumentException if {@code fields} names an unknown property, {@code offset}
+     *         is negative or {@code limit} is not within 1..{@value #MAX_PAGE_SIZE}
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getRecipePage(String fields, int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit within 1.." + MAX_PAGE_SIZE);
+        }
+        return recipeRepository.findPageProjected(recipeFields(fields), offset, limit);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getRecipeById(Long id, String fields) {
+        return recipeRepository.findProjectedById(id, recipeFields(fields));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchRecipes(String searchTerm, String fields) {
+        return recipeRepository.findProjectedByNameContainingIgnoreCase(searchTerm, recipeFields(fields));
+    }
+    
+    private static FieldSet recipeFields(String fields) {
+        return FieldSet.parse(fields, RecipeRepositoryCustom.FIELDS);
     }
     
     public Recipe saveRecipe(Recipe recipe) {
-        return recipeRepository.save(recipe);
+        ChangeType type = recipe.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+        Recipe saved = recipeRepository.save(recipe);
+        // Flushing runs the entity listener, which assigns the version the event carries
+        recipeRepository.flush();
+        eventPublisher.publishEvent(new RecipeChangedEvent(type, saved.getId(), saved, saved.getChangeVersion()));
+        return saved;
     }
     
     public void deleteRecipe(Long id) {
-        recipeRepository.deleteById(id);
+        recipeRepository.findById(id).ifPresent(recipe -> {
+            recipeRepository.delete(recipe);
+            eventPublisher.publishEvent(new RecipeChangedEvent(ChangeType.DELETED, id, null, recipe.getChangeVersion()));
+        });
     }
     
     /**
@@ -77,7 +213,43 @@ public class RecipeService {
         recipe.setRatingCount(currentCount + 1);
         
         // Save and return updated recipe
-        return recipeRepository.save(recipe);
+        Recipe saved = recipeRepository.save(recipe);
+        recipeRepository.flush();
+        eventPublisher.publishEvent(new RecipeChangedEvent(ChangeType.RATED, recipeId, saved, saved.getChangeVersion()));
+        return saved;
+    }
+    
+    /**
+     * Run the query in its own read-only transaction, shared with identical concurrent calls, or
+     * directly in the caller's transaction if it has one
+     */
+    private <K, V> V coalesced(SingleFlight<K, V> flights, K key, Supplier<V> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return query.get();
+        }
+        return flights.execute(key,
+                () -> new TransactionTemplate(transactionManager, READ_ONLY).execute(status -> query.get()));
+    }
+    
+    private static TransactionDefinition readOnlyDefinition() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        return definition;
+    }
+    
+    /**
+     * Load the lazy collections of recipes that may be shared with coalesced callers, so that no
+     * other thread triggers lazy loading through the session that loaded them
+     */
+    private static List<Recipe> initialized(List<Recipe> recipes) {
+        recipes.forEach(RecipeService::initialized);
+        return recipes;
+    }
+    
+    private static Recipe initialized(Recipe recipe) {
+        Hibernate.initialize(recipe.getIngredients());
+        Hibernate.initialize(recipe.getInstructions());
+        return recipe;
     }
     
     /**
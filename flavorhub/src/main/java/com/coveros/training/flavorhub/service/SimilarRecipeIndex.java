@@ -0,0 +1,368 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.SimilarRecipe;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.RecipeIngredient;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds recipes with similar ingredient lists without comparing every pair of recipes.
+ *
+ * Each recipe's set of ingredient names gets a MinHash signature of {@value #BANDS} x
+ * {@value #ROWS} values. Two recipes agree on any one value with a probability equal to the
+ * Jaccard similarity of their ingredient sets. The signature is cut into {@value #BANDS} bands of
+ * {@value #ROWS} values, and each band is hashed into its own table (locality-sensitive hashing).
+ * Recipes that share a band bucket with the queried recipe are the candidates, and only those
+ * are compared exactly. A pair with similarity 0.5 shares a bucket with a probability of about
+ * 96%; a pair with similarity 0.1 does with about 2%.
+ *
+ * The band tables are hash chains in primitive arrays indexed by slot, so a recipe costs a few
+ * hundred bytes. Like {@link RecipeColumnStore}, the index loads at startup and follows committed
+ * {@link RecipeChangedEvent}s; a saved recipe is unlinked from its old buckets and relinked,
+ * unless the index already holds a newer version of it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SimilarRecipeIndex {
+    
+    /** Most similar recipes a single lookup may return */
+    public static final int MAX_LIMIT = 50;
+    
+    private static final int BANDS = 24;
+    private static final int ROWS = 3;
+    private static final int[] SEEDS = new SplittableRandom(0x5EED).ints(BANDS * ROWS).toArray();
+    
+    /** End of a hash chain */
+    private static final int NONE = -1;
+    
+    private static final String LOAD_SQL = "select r.id, ri.ingredient_name from recipes r "
+            + "left join recipe_ingredients ri on ri.recipe_id = r.id order by r.id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionCounter catalogVersions;
+    
+    /** Versions of the ingredient changes applied; ratings never reach it */
+    private final ChangeVersions recipeVersions = new ChangeVersions();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ingredientCodes = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] ids = new long[0];
+    /** Sorted ingredient codes per slot; {@code null} for a free slot */
+    private int[][] ingredients = new int[0][];
+    /** Band hash of each slot, at {@code slot * BANDS + band} */
+    private int[] bandHashes = new int[0];
+    /** Next slot in the same band bucket, at {@code slot * BANDS + band} */
+    private int[] nextInBucket = new int[0];
+    /** First slot of each bucket, per band */
+    private int[][] bucketHeads = new int[BANDS][0];
+    private int slotCount;
+    private volatile boolean loaded;
+    
+    /**
+     * The recipes most similar to a recipe, most similar first, excluding ones with no ingredient in common
+     *
+     * @param limit the most recipes to return
+     * @return empty if there is no recipe with this ID
+     * @throws IllegalArgumentException if {@code limit} is not within 1..{@value #MAX_LIMIT}
+     */
+    public Optional<List<SimilarRecipe>> similar(Long id, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be within 1.." + MAX_LIMIT);
+        }
+        if (!loaded) {
+            reload();
+        }
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            Comparator<SimilarRecipe> ranking = Comparator.comparingDouble(SimilarRecipe::getSimilarity).reversed()
+                    .thenComparing(SimilarRecipe::getId);
+            // Worst of the best so far on top
+            PriorityQueue<SimilarRecipe> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+            for (int candidate : candidates(slot)) {
+                double similarity = jaccard(ingredients[slot], ingredients[candidate]);
+                if (similarity > 0) {
+                    best.add(new SimilarRecipe(ids[candidate], similarity));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<SimilarRecipe> result = new ArrayList<>(best);
+            result.sort(ranking);
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Slots sharing at least one band bucket with the given slot
+     */
+    private Set<Integer> candidates(int slot) {
+        Set<Integer> candidates = new HashSet<>();
+        if (ingredients[slot].length == 0) {
+            return candidates;
+        }
+        int mask = bucketHeads[0].length - 1;
+        for (int band = 0; band < BANDS; band++) {
+            int hash = bandHashes[slot * BANDS + band];
+            for (int other = bucketHeads[band][hash & mask]; other != NONE; other = nextInBucket[other * BANDS + band]) {
+                if (other != slot && bandHashes[other * BANDS + band] == hash) {
+                    candidates.add(other);
+                }
+            }
+        }
+        return candidates;
+    }
+    
+    /**
+     * Rebuild the band tables from the ingredient lists of all recipes, read in one ordered join.
+     * Runs when the application is ready, once the recipes and their ingredients are seeded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            ingredientCodes.clear();
+            slots.clear();
+            freeSlots.clear();
+            ids = new long[0];
+            ingredients = new int[0][];
+            bandHashes = new int[0];
+            nextInBucket = new int[0];
+            bucketHeads = new int[BANDS][0];
+            slotCount = 0;
+            recipeVersions.reset(catalogVersions.current());
+            long[] current = {NONE};
+            List<String> names = new ArrayList<>();
+            jdbcTemplate.query(LOAD_SQL, (ResultSet rs) -> {
+                long id = rs.getLong(1);
+                if (id != current[0] && current[0] != NONE) {
+                    put(current[0], names);
+                    names.clear();
+                }
+                current[0] = id;
+                String name = rs.getString(2);
+                if (name != null) {
+                    names.add(name);
+                }
+            });
+            if (current[0] != NONE) {
+                put(current[0], names);
+            }
+            loaded = true;
+            log.info("Indexed the ingredients of {} recipes for similarity in {} ms",
+                    slots.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Reindex a recipe after its ingredients may have changed, or drop a deleted one
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == ChangeType.RATED) {
+            // Not recorded either: an ingredient change older than a rating must still apply
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded || !recipeVersions.accept(event)) {
+                // Either the first lookup's join will see this change, or a newer one is already indexed
+                return;
+            }
+            if (event.type() == ChangeType.DELETED) {
+                remove(event.recipeId());
+            } else {
+                put(event.recipeId(), event.recipe().getIngredients().stream()
+                        .map(RecipeIngredient::getIngredientName)
+                        .toList());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void put(long id, Collection<String> ingredientNames) {
+        Integer slot = slots.get(id);
+        if (slot != null) {
+            unlink(slot);
+        } else {
+            slot = allocate();
+            slots.put(id, slot);
+            ids[slot] = id;
+        }
+        ingredients[slot] = encode(ingredientNames);
+        hashBands(slot);
+        link(slot);
+    }
+    
+    private void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot != null) {
+            unlink(slot);
+            ingredients[slot] = null;
+            freeSlots.push(slot);
+        }
+    }
+    
+    /**
+     * Distinct ingredient codes, sorted; names are compared ignoring case and surrounding spaces
+     */
+    private int[] encode(Collection<String> ingredientNames) {
+        return ingredientNames.stream()
+                .filter(name -> name != null && !name.isBlank())
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .mapToInt(name -> ingredientCodes.computeIfAbsent(name, n -> ingredientCodes.size()))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+    
+    /**
+     * Compute the MinHash signature of a slot's ingredients and store the hash of each band
+     */
+    private void hashBands(int slot) {
+        int[] codes = ingredients[slot];
+        for (int band = 0; band < BANDS; band++) {
+            int bandHash = 0;
+            for (int row = 0; row < ROWS; row++) {
+                int seed = SEEDS[band * ROWS + row];
+                int min = Integer.MAX_VALUE;
+                for (int code : codes) {
+                    min = Math.min(min, mix(code ^ seed));
+                }
+                bandHash = bandHash * 31 + min;
+            }
+            bandHashes[slot * BANDS + band] = mix(bandHash);
+        }
+    }
+    
+    private void link(int slot) {
+        if (ingredients[slot].length == 0) {
+            return;
+        }
+        int mask = bucketHeads[0].length - 1;
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bandHashes[slot * BANDS + band] & mask;
+            nextInBucket[slot * BANDS + band] = bucketHeads[band][bucket];
+            bucketHeads[band][bucket] = slot;
+        }
+    }
+    
+    private void unlink(int slot) {
+        if (ingredients[slot].length == 0) {
+            return;
+        }
+        int mask = bucketHeads[0].length - 1;
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bandHashes[slot * BANDS + band] & mask;
+            int next = nextInBucket[slot * BANDS + band];
+            if (bucketHeads[band][bucket] == slot) {
+                bucketHeads[band][bucket] = next;
+                continue;
+            }
+            int previous = bucketHeads[band][bucket];
+            while (nextInBucket[previous * BANDS + band] != slot) {
+                previous = nextInBucket[previous * BANDS + band];
+            }
+            nextInBucket[previous * BANDS + band] = next;
+        }
+    }
+    
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == ids.length) {
+            grow();
+        }
+        return slotCount++;
+    }
+    
+    /**
+     * Double the capacity and rebuild the bucket tables at one bucket per slot
+     */
+    private void grow() {
+        int capacity = Math.max(16, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        ingredients = Arrays.copyOf(ingredients, capacity);
+        bandHashes = Arrays.copyOf(bandHashes, capacity * BANDS);
+        nextInBucket = Arrays.copyOf(nextInBucket, capacity * BANDS);
+        bucketHeads = new int[BANDS][capacity];
+        for (int[] heads : bucketHeads) {
+            Arrays.fill(heads, NONE);
+        }
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ingredients[slot] != null) {
+                link(slot);
+            }
+        }
+    }
+    
+    /**
+     * Shared ingredients over all distinct ingredients of two sorted code arrays
+     */
+    static double jaccard(int[] a, int[] b) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - shared;
+        return union == 0 ? 0 : (double) shared / union;
+    }
+    
+    /**
+     * MurmurHash3 finalizer: spreads every input bit over the whole hash
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
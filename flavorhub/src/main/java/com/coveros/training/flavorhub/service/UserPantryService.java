@@ -1,56 +1,69 @@
 package com.coveros.training.flavorhub.service;
 
+import com.coveros.training.flavorhub.dto.FieldSet;
 import com.coveros.training.flavorhub.model.Ingredient;
 import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.pantry.PantryStore;
 import com.coveros.training.flavorhub.repository.IngredientRepository;
-import com.coveros.training.flavorhub.repository.UserPantryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service for managing user pantry
+ * 
+ * Storage goes through {@link PantryStore}, which may keep each user's pantry on a different
+ * shard; every operation therefore names the user it acts for.
  */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class UserPantryService {
     
-    private final UserPantryRepository userPantryRepository;
+    private final PantryStore pantryStore;
     private final IngredientRepository ingredientRepository;
     
     public List<UserPantry> getUserPantry(Long userId) {
-        return userPantryRepository.findByUserId(userId);
+        return pantryStore.findByUserId(userId);
     }
     
-    public Optional<UserPantry> getPantryItemById(Long id) {
-        return userPantryRepository.findById(id);
+    /**
+     * Sparse-fieldset read of a user's pantry: only the properties named in {@code fields}
+     *
+     * @throws IllegalArgumentException if {@code fields} names an unknown property
+     */
+    public List<Map<String, Object>> getUserPantry(Long userId, String fields) {
+        return pantryStore.findProjectedByUserId(userId, FieldSet.parse(fields, PantryStore.FIELDS));
+    }
+    
+    public Optional<UserPantry> getPantryItemById(Long userId, Long id) {
+        return pantryStore.findById(userId, id);
     }
     
+    /**
+     * @throws IllegalArgumentException if the item has no ingredient, or one the store cannot resolve
+     */
     public UserPantry addPantryItem(UserPantry pantryItem) {
-        return userPantryRepository.save(pantryItem);
+        return pantryStore.save(pantryItem);
     }
     
-    public UserPantry updatePantryItem(Long id, UserPantry updatedPantryItem) {
-        return userPantryRepository.findById(id)
-            .map(existing -> {
+    public UserPantry updatePantryItem(Long userId, Long id, UserPantry updatedPantryItem) {
+        return pantryStore.update(userId, id, existing -> {
                 existing.setQuantity(updatedPantryItem.getQuantity());
                 existing.setUnit(updatedPantryItem.getUnit());
                 existing.setNotes(updatedPantryItem.getNotes());
-                return userPantryRepository.save(existing);
             })
             .orElseThrow(() -> new RuntimeException("Pantry item not found with id: " + id));
     }
     
-    public void deletePantryItem(Long id) {
-        userPantryRepository.deleteById(id);
+    public void deletePantryItem(Long userId, Long id) {
+        pantryStore.deleteById(userId, id);
     }
     
     public void clearUserPantry(Long userId) {
-        userPantryRepository.deleteByUserId(userId);
+        pantryStore.deleteByUserId(userId);
     }
     
     /**
@@ -0,0 +1,243 @@
+package com.coveros.training.flavorhub.stream;
+
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed recipe changes out to every connected stream client.
+ *
+ * Changes are handed to a small sender pool right after commit, so the writing request never
+ * waits for clients. Each client collects changes for {@code coalesceWindow} before they are
+ * written, with at most one write in flight per client; its bounded buffer (see
+ * {@link RecipeStreamClient}) keeps its memory use fixed. Streams are held as async requests, so
+ * idle clients use no request threads.
+ *
+ * {@link SseEmitter#send} blocks while the client's socket buffer is full, so writes run on a
+ * fixed pool of {@code writerThreads} rather than the sender pool: a client that stops reading
+ * holds one writer thread and delays nobody else while writers remain. A client whose write is
+ * still blocked after {@code writeTimeout} is disconnected and its slot freed. The container does
+ * not let the write be interrupted; the writer thread is released once the container's own write
+ * timeout fails the write. Writes queue for a free writer, at most one per client.
+ */
+@Slf4j
+public class RecipeEventBroadcaster implements DisposableBean {
+    
+    private final RecipeStreamProperties properties;
+    private final Set<RecipeStreamClient> clients = ConcurrentHashMap.newKeySet();
+    /** One permit per client that may still connect */
+    private final Semaphore openSlots;
+    private final ScheduledExecutorService sender;
+    private final ExecutorService writers;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter resyncs;
+    private final Counter stalled;
+    
+    public RecipeEventBroadcaster(RecipeStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.openSlots = new Semaphore(properties.getMaxClients());
+        this.sender = Executors.newScheduledThreadPool(properties.getSenderThreads(), daemonThreads("recipe-stream-"));
+        // Fixed size: a fan-out queues one write per client, which must not mean one thread per client
+        this.writers = Executors.newFixedThreadPool(properties.getWriterThreads(), daemonThreads("recipe-stream-writer-"));
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        sender.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        long stallCheck = Math.max(1, properties.getWriteTimeout().toMillis() / 2);
+        sender.scheduleAtFixedRate(this::disconnectStalled, stallCheck, stallCheck, TimeUnit.MILLISECONDS);
+        
+        Gauge.builder("flavorhub.recipe-stream.clients", clients, Set::size)
+                .description("Connected recipe stream clients")
+                .register(meterRegistry);
+        this.sent = events(meterRegistry, "sent");
+        this.coalesced = events(meterRegistry, "coalesced");
+        this.resyncs = events(meterRegistry, "resync");
+        this.stalled = Counter.builder("flavorhub.recipe-stream.stalled")
+                .description("Stream clients disconnected because a write blocked for longer than the write timeout")
+                .register(meterRegistry);
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static Counter events(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("flavorhub.recipe-stream.events")
+                .description("Recipe stream events per client: sent, merged into a pending event, or replaced by a resync")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream for a new client
+     *
+     * @return the emitter, or empty if {@code maxClients} streams are already open
+     */
+    public Optional<SseEmitter> subscribe() {
+        return subscribe(new SseEmitter(properties.getTimeout().toMillis()));
+    }
+    
+    Optional<SseEmitter> subscribe(SseEmitter emitter) {
+        if (!openSlots.tryAcquire()) {
+            return Optional.empty();
+        }
+        RecipeStreamClient client = new RecipeStreamClient(emitter, properties.getBufferSize());
+        clients.add(client);
+        emitter.onCompletion(() -> disconnect(client));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> disconnect(client));
+        try {
+            // Flushes the response headers so the client sees the stream open right away
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            disconnect(client);
+        }
+        return Optional.of(emitter);
+    }
+    
+    /**
+     * Stop sending to a client and free its slot; safe to call more than once
+     */
+    private void disconnect(RecipeStreamClient client) {
+        if (clients.remove(client)) {
+            openSlots.release();
+        }
+    }
+    
+    public int clientCount() {
+        return clients.size();
+    }
+    
+    /**
+     * Queue a committed change for every client
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        RecipeUpdate update = RecipeUpdate.of(event);
+        try {
+            sender.execute(() -> fanOut(update));
+        } catch (RejectedExecutionException e) {
+            log.debug("Recipe stream shut down, dropping change to recipe {}", event.recipeId());
+        }
+    }
+    
+    private void fanOut(RecipeUpdate update) {
+        for (RecipeStreamClient client : clients) {
+            if (client.offer(update)) {
+                coalesced.increment();
+            }
+            scheduleFlush(client, properties.getCoalesceWindow().toMillis());
+        }
+    }
+    
+    private void heartbeat() {
+        for (RecipeStreamClient client : clients) {
+            client.requestHeartbeat();
+            scheduleFlush(client, 0);
+        }
+    }
+    
+    /**
+     * Disconnect clients whose current write has been blocked for longer than the write timeout
+     */
+    private void disconnectStalled() {
+        long deadline = System.nanoTime() - properties.getWriteTimeout().toNanos();
+        for (RecipeStreamClient client : clients) {
+            if (client.writingSince(deadline)) {
+                // The writer ends the stream; completing the emitter here would wait for the blocked write
+                disconnect(client);
+                stalled.increment();
+                log.debug("Disconnected a recipe stream client whose write blocked for over {}",
+                        properties.getWriteTimeout());
+            }
+        }
+    }
+    
+    private void scheduleFlush(RecipeStreamClient client, long delayMillis) {
+        if (client.tryScheduleFlush()) {
+            try {
+                sender.schedule(() -> startFlush(client), delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                client.flushDone();
+            }
+        }
+    }
+    
+    private void startFlush(RecipeStreamClient client) {
+        try {
+            writers.execute(() -> flush(client));
+        } catch (RejectedExecutionException e) {
+            client.flushDone();
+        }
+    }
+    
+    private void flush(RecipeStreamClient client) {
+        RecipeStreamClient.Batch batch = client.drain();
+        SseEmitter emitter = client.emitter();
+        client.writeStarted();
+        try {
+            if (batch.resync()) {
+                emitter.send(SseEmitter.event().id(String.valueOf(sequence.incrementAndGet()))
+                        .name("resync").data("reload"));
+                resyncs.increment();
+            } else {
+                for (RecipeUpdate update : batch.updates()) {
+                    emitter.send(SseEmitter.event().id(String.valueOf(sequence.incrementAndGet()))
+                            .name(update.eventName()).data(update, MediaType.APPLICATION_JSON));
+                    sent.increment();
+                }
+            }
+            if (batch.heartbeat()) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Disconnected or already completed; the container reports the error to the emitter
+            disconnect(client);
+            return;
+        } finally {
+            client.writeDone();
+        }
+        if (!clients.contains(client)) {
+            // Disconnected meanwhile, e.g. as stalled just before the write went through
+            emitter.complete();
+            return;
+        }
+        client.flushDone();
+        if (client.hasWork()) {
+            scheduleFlush(client, properties.getCoalesceWindow().toMillis());
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        writers.shutdownNow();
+        clients.forEach(client -> client.emitter().complete());
+        clients.clear();
+    }
+}
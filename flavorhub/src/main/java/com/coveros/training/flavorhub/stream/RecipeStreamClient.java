@@ -0,0 +1,113 @@
+package com.coveros.training.flavorhub.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One connected stream client and the changes waiting to be sent to it.
+ *
+ * Pending changes are keyed by recipe, so a burst of changes to one recipe occupies one slot and
+ * is sent as one event. At most {@code bufferSize} recipes can be pending; beyond that the
+ * pending changes are dropped and the client is sent a single {@code resync} event instead.
+ */
+class RecipeStreamClient {
+    
+    private final SseEmitter emitter;
+    private final int bufferSize;
+    private final Map<Long, RecipeUpdate> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    
+    /** Whether a flush is scheduled or running; keeps writes to this client sequential */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    
+    /** Start of the running write, in {@link System#nanoTime()} */
+    private long writeStartedAt;
+    private boolean writing;
+    
+    RecipeStreamClient(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+    
+    SseEmitter emitter() {
+        return emitter;
+    }
+    
+    /**
+     * Queue a change, merging it with one already pending for the same recipe
+     *
+     * @return {@code true} if the change was merged into a pending one or dropped on overflow
+     */
+    synchronized boolean offer(RecipeUpdate update) {
+        if (overflowed) {
+            return true;
+        }
+        RecipeUpdate previous = pending.get(update.id());
+        if (previous != null) {
+            pending.put(update.id(), previous.followedBy(update));
+            return true;
+        }
+        if (pending.size() >= bufferSize) {
+            pending.clear();
+            overflowed = true;
+            return true;
+        }
+        pending.put(update.id(), update);
+        return false;
+    }
+    
+    synchronized void requestHeartbeat() {
+        heartbeatDue = true;
+    }
+    
+    /**
+     * Take everything waiting to be sent
+     */
+    synchronized Batch drain() {
+        Batch batch = new Batch(new ArrayList<>(pending.values()), overflowed, heartbeatDue);
+        pending.clear();
+        overflowed = false;
+        heartbeatDue = false;
+        return batch;
+    }
+    
+    synchronized boolean hasWork() {
+        return !pending.isEmpty() || overflowed || heartbeatDue;
+    }
+    
+    /**
+     * Claim the right to schedule a flush; {@link #flushDone()} releases it
+     */
+    boolean tryScheduleFlush() {
+        return flushScheduled.compareAndSet(false, true);
+    }
+    
+    void flushDone() {
+        flushScheduled.set(false);
+    }
+    
+    synchronized void writeStarted() {
+        writing = true;
+        writeStartedAt = System.nanoTime();
+    }
+    
+    synchronized void writeDone() {
+        writing = false;
+    }
+    
+    /**
+     * Whether a write that started before {@code deadline} ({@link System#nanoTime()}) is still running
+     */
+    synchronized boolean writingSince(long deadline) {
+        return writing && writeStartedAt - deadline < 0;
+    }
+    
+    record Batch(List<RecipeUpdate> updates, boolean resync, boolean heartbeat) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wires the recipe change stream ({@code GET /api/recipes/stream})
+ */
+@Configuration
+@ConditionalOnProperty(name = "flavorhub.recipe-stream.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RecipeStreamProperties.class)
+public class RecipeStreamConfig {
+    
+    @Bean
+    public RecipeEventBroadcaster recipeEventBroadcaster(RecipeStreamProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new RecipeEventBroadcaster(properties, meterRegistry);
+    }
+}
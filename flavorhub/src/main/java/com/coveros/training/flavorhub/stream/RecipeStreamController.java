@@ -0,0 +1,41 @@
+package com.coveros.training.flavorhub.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events stream of committed recipe changes, e.g. with {@code new EventSource("/api/recipes/stream")}.
+ *
+ * Event names are {@code recipe} (created, updated or deleted), {@code rating} (a new rating) and
+ * {@code resync} (the client fell behind and should reload the catalog); the data of the first two
+ * is a {@link RecipeUpdate}.
+ */
+@RestController
+@ConditionalOnProperty(name = "flavorhub.recipe-stream.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/recipes/stream")
+@RequiredArgsConstructor
+public class RecipeStreamController {
+    
+    private final RecipeEventBroadcaster broadcaster;
+    
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        return broadcaster.subscribe()
+                .map(emitter -> ResponseEntity.ok()
+                        // Keep proxies such as nginx from buffering the stream
+                        .header("X-Accel-Buffering", "no")
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+}
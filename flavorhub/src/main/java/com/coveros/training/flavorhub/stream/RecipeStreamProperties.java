@@ -0,0 +1,50 @@
+package com.coveros.training.flavorhub.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the recipe change stream ({@code flavorhub.recipe-stream.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.recipe-stream")
+public class RecipeStreamProperties {
+    
+    private boolean enabled = true;
+    
+    /** Connected clients before new subscriptions are refused with 503 */
+    private int maxClients = 10000;
+    
+    /**
+     * Distinct recipes that may be waiting for one client. A client that falls further behind
+     * gets a single {@code resync} event instead, telling it to reload the catalog.
+     */
+    private int bufferSize = 256;
+    
+    /** How long changes are collected before being sent; repeated changes to a recipe within it are merged */
+    private Duration coalesceWindow = Duration.ofMillis(250);
+    
+    /** Interval of keep-alive comments, which also detect disconnected clients */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    
+    /** How long one stream stays open; browsers reconnect automatically afterwards */
+    private Duration timeout = Duration.ofMinutes(30);
+    
+    /** Threads coalescing changes and scheduling writes; the writes run on the writer threads */
+    private int senderThreads = 4;
+    
+    /**
+     * Threads writing to clients, at most one per client at a time. A client that stopped reading
+     * holds one until the container fails its write, so this many stalled clients at once delay
+     * the writes of all others; keep it well below {@code maxClients}.
+     */
+    private int writerThreads = 32;
+    
+    /**
+     * Longest a single write to a client may block, e.g. because it stopped reading and its socket
+     * buffer is full. The client is then disconnected.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,48 @@
+package com.coveros.training.flavorhub.stream;
+
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data of one {@code recipe} or {@code rating} stream event: the recipe's summary fields as of
+ * the change, or only the ID for deletes
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecipeUpdate(ChangeType type, Long id, String name, String cuisineType, String difficultyLevel,
+                           Double averageRating, Integer ratingCount) {
+    
+    static RecipeUpdate of(RecipeChangedEvent event) {
+        Recipe recipe = event.recipe();
+        if (recipe == null) {
+            return new RecipeUpdate(event.type(), event.recipeId(), null, null, null, null, null);
+        }
+        return new RecipeUpdate(event.type(), event.recipeId(), recipe.getName(), recipe.getCuisineType(),
+                recipe.getDifficultyLevel(), recipe.getAverageRating(), recipe.getRatingCount());
+    }
+    
+    /**
+     * Merge a later change to the same recipe into this one. The later state wins, but a recipe
+     * created within the window is still reported as created.
+     */
+    RecipeUpdate followedBy(RecipeUpdate later) {
+        if (type == ChangeType.CREATED && later.type != ChangeType.DELETED) {
+            return new RecipeUpdate(ChangeType.CREATED, later.id, later.name, later.cuisineType,
+                    later.difficultyLevel, later.averageRating, later.ratingCount);
+        }
+        if (type != ChangeType.RATED && later.type == ChangeType.RATED) {
+            // An update followed by a rating is still an update
+            return new RecipeUpdate(type, later.id, later.name, later.cuisineType,
+                    later.difficultyLevel, later.averageRating, later.ratingCount);
+        }
+        return later;
+    }
+    
+    /**
+     * SSE event name: {@code rating} when only the rating changed, {@code recipe} otherwise
+     */
+    String eventName() {
+        return type == ChangeType.RATED ? "rating" : "recipe";
+    }
+}
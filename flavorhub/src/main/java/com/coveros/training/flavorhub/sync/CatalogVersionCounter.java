@@ -0,0 +1,74 @@
+package com.coveros.training.flavorhub.sync;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Allocates catalog versions from the single row of {@code catalog_version}.
+ *
+ * Incrementing the row locks it until the writing transaction ends, so catalog writes are
+ * serialized and versions become visible in the order they were allocated: once a client has
+ * seen version V, no change with a lower version can still commit. That is what lets clients
+ * page forward by version without missing changes that were in flight while they read.
+ *
+ * The price is paid by every catalog write, ratings included: a rating holds the row from its
+ * flush until commit. With only ratings offered, throughput levelled off at about 130-155 per
+ * second against about 150-200 with an unlocked counter, and at 150 per second p99 rose from
+ * 0.8 s to 1.5 s (see the README section on incremental sync).
+ *
+ * Runs on the JDBC connection of the current transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionCounter {
+    
+    private static final String INCREMENT =
+            "select version from final table (update catalog_version set version = version + 1 where id = 1)";
+    
+    private static final String CURRENT = "select version from catalog_version where id = 1";
+    
+    private static final String TOMBSTONE_HORIZON = "select tombstone_horizon from catalog_version where id = 1";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public long next() {
+        List<Long> version = jdbcTemplate.queryForList(INCREMENT, Long.class);
+        if (version.isEmpty()) {
+            // Fresh schema generated by Hibernate; the first catalog write starts the count
+            jdbcTemplate.update("insert into catalog_version (id, version, tombstone_horizon) values (1, 1, 0)");
+            return 1;
+        }
+        return version.get(0);
+    }
+    
+    /**
+     * The last committed version: every change up to it is visible to queries that start afterwards
+     */
+    public long current() {
+        List<Long> version = jdbcTemplate.queryForList(CURRENT, Long.class);
+        return version.isEmpty() ? 0 : version.get(0);
+    }
+    
+    /**
+     * Highest version of a pruned tombstone, 0 if none was pruned yet
+     */
+    public long tombstoneHorizon() {
+        List<Long> horizon = jdbcTemplate.queryForList(TOMBSTONE_HORIZON, Long.class);
+        return horizon.isEmpty() ? 0 : horizon.get(0);
+    }
+    
+    /**
+     * Record that a recipe or ingredient was deleted, at the next catalog version
+     *
+     * @return the version of the deletion
+     */
+    public long recordDeletion(String entityType, Long entityId) {
+        long version = next();
+        jdbcTemplate.update("insert into tombstones (entity_type, entity_id, change_version, deleted_at) "
+                + "values (?, ?, ?, current_timestamp)", entityType, entityId, version);
+        return version;
+    }
+}
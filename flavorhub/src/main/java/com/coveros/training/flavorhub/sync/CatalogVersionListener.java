@@ -0,0 +1,33 @@
+package com.coveros.training.flavorhub.sync;
+
+import com.coveros.training.flavorhub.model.CatalogEntity;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+
+/**
+ * Entity listener of {@link CatalogEntity}: stamps inserts and updates with a new catalog version
+ * and records deletes as tombstones, stamping the removed entity with the tombstone's version.
+ * Created by Spring through Hibernate's bean container.
+ *
+ * Request bodies never carry {@code changeVersion}, so a merged update always differs from the
+ * stored row, and even a change to a recipe's ingredient or instruction list alone gets a version.
+ */
+@RequiredArgsConstructor
+public class CatalogVersionListener {
+    
+    private final CatalogVersionCounter counter;
+    
+    @PrePersist
+    @PreUpdate
+    void stamp(CatalogEntity entity) {
+        entity.setChangeVersion(counter.next());
+    }
+    
+    @PreRemove
+    void bury(CatalogEntity entity) {
+        entity.setChangeVersion(counter.recordDeletion(Hibernate.getClass(entity).getSimpleName(), entity.getId()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.coveros.training.flavorhub.sync;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Wires the tombstone retention of incremental catalog sync ({@code GET /api/sync})
+ */
+@Configuration
+@EnableConfigurationProperties(SyncProperties.class)
+public class SyncConfig {
+    
+    @Bean
+    public TombstonePruner tombstonePruner(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                           SyncProperties properties) {
+        return new TombstonePruner(jdbcTemplate, new TransactionTemplate(transactionManager), properties);
+    }
+}
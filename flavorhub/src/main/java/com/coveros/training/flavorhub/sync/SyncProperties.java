@@ -0,0 +1,23 @@
+package com.coveros.training.flavorhub.sync;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for incremental catalog sync ({@code flavorhub.sync.*})
+ */
+@Data
+@ConfigurationProperties(prefix = "flavorhub.sync")
+public class SyncProperties {
+    
+    /**
+     * How long tombstones of deleted recipes and ingredients are kept. A client that has not
+     * synced for longer is told to start over with a full sync.
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+    
+    /** How often expired tombstones are pruned */
+    private Duration pruneInterval = Duration.ofHours(1);
+}
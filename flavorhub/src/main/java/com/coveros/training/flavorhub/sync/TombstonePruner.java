@@ -0,0 +1,84 @@
+package com.coveros.training.flavorhub.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes tombstones older than {@code flavorhub.sync.tombstone-retention}, so the table does not
+ * grow with every delete ever made.
+ *
+ * Each prune first raises the tombstone horizon in {@code catalog_version} to the highest pruned
+ * version, in the same transaction. A client whose last sync is below the horizon may have missed
+ * one of the pruned deletes, and {@code GET /api/sync} tells it to start over instead.
+ */
+@Slf4j
+public class TombstonePruner implements DisposableBean {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SyncProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tombstone-pruner");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public TombstonePruner(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           SyncProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getPruneInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::pruneSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Delete the tombstones older than the retention period
+     *
+     * @return how many were deleted
+     */
+    public int prune() {
+        Instant cutoff = Instant.now().minus(properties.getTombstoneRetention());
+        Integer pruned = transactionTemplate.execute(status -> {
+            Long horizon = jdbcTemplate.queryForObject("select max(change_version) from tombstones where deleted_at < ?",
+                    Long.class, cutoff.atOffset(ZoneOffset.UTC));
+            if (horizon == null) {
+                return 0;
+            }
+            jdbcTemplate.update("update catalog_version set tombstone_horizon = greatest(tombstone_horizon, ?) where id = 1",
+                    horizon);
+            return jdbcTemplate.update("delete from tombstones where change_version <= ?", horizon);
+        });
+        if (pruned != null && pruned > 0) {
+            log.info("Pruned {} tombstones older than {}", pruned, properties.getTombstoneRetention());
+        }
+        return pruned != null ? pruned : 0;
+    }
+    
+    private void pruneSafely() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("Could not prune tombstones", e);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
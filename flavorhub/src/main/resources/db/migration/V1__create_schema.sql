@@ -0,0 +1,56 @@
+-- Initial FlavorHub schema, matching the JPA entity mappings (validated with ddl-auto=validate)
+
+create table ingredients (
+    id       bigint generated by default as identity,
+    name     varchar(255) not null,
+    category varchar(255),
+    unit     varchar(255),
+    primary key (id),
+    constraint uk_ingredients_name unique (name)
+);
+
+create table recipes (
+    id               bigint generated by default as identity,
+    name             varchar(255) not null,
+    description      text,
+    prep_time        integer,
+    cook_time        integer,
+    servings         integer,
+    difficulty_level varchar(255),
+    cuisine_type     varchar(255),
+    image_url        varchar(255),
+    average_rating   float(53),
+    rating_count     integer,
+    primary key (id)
+);
+
+create table recipe_ingredients (
+    recipe_id       bigint not null,
+    ingredient_name varchar(255),
+    quantity        float(53),
+    unit            varchar(255),
+    notes           varchar(255),
+    constraint fk_recipe_ingredients_recipe foreign key (recipe_id) references recipes (id)
+);
+
+create table recipe_instructions (
+    recipe_id    bigint not null,
+    step_number  integer not null,
+    instructions varchar(255),
+    primary key (recipe_id, step_number),
+    constraint fk_recipe_instructions_recipe foreign key (recipe_id) references recipes (id)
+);
+
+create table user_pantry (
+    id            bigint generated by default as identity,
+    user_id       bigint,
+    ingredient_id bigint not null,
+    quantity      float(53),
+    unit          varchar(255),
+    notes         varchar(255),
+    primary key (id),
+    constraint fk_user_pantry_ingredient foreign key (ingredient_id) references ingredients (id)
+);
+
+-- GET /api/pantry reads by user
+create index idx_user_pantry_user on user_pantry (user_id);
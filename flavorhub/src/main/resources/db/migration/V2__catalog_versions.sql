@@ -0,0 +1,34 @@
+-- Catalog versions and tombstones for incremental sync (GET /api/sync)
+
+create table catalog_version (
+    id      bigint not null,
+    version bigint not null,
+    primary key (id)
+);
+
+create table tombstones (
+    id             bigint generated by default as identity,
+    entity_type    varchar(255) not null,
+    entity_id      bigint not null,
+    change_version bigint not null,
+    primary key (id)
+);
+
+alter table ingredients add column change_version bigint;
+alter table recipes add column change_version bigint;
+
+-- Existing rows get distinct versions, so a full sync can page through them like any other changes
+create sequence catalog_version_backfill;
+update ingredients set change_version = next value for catalog_version_backfill;
+update recipes set change_version = next value for catalog_version_backfill;
+insert into catalog_version (id, version)
+    select 1, coalesce(max(change_version), 0) from (
+        select change_version from ingredients union all select change_version from recipes);
+drop sequence catalog_version_backfill;
+
+alter table ingredients alter column change_version set not null;
+alter table recipes alter column change_version set not null;
+
+create index idx_ingredients_change_version on ingredients (change_version);
+create index idx_recipes_change_version on recipes (change_version);
+create index idx_tombstones_change_version on tombstones (change_version);
@@ -0,0 +1,6 @@
+-- Tombstones are pruned after flavorhub.sync.tombstone-retention. The highest pruned version is
+-- kept as the tombstone horizon, so clients that last synced before it are told to start over.
+
+alter table tombstones add column deleted_at timestamp(6) with time zone default current_timestamp not null;
+
+alter table catalog_version add column tombstone_horizon bigint default 0 not null;
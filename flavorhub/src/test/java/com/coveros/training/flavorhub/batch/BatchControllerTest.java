@@ -0,0 +1,158 @@
+package com.coveros.training.flavorhub.batch;
+
+import com.coveros.training.flavorhub.dto.BatchRequest;
+import com.coveros.training.flavorhub.dto.BatchResponse;
+import com.coveros.training.flavorhub.resilience.Bulkhead;
+import com.coveros.training.flavorhub.resilience.BulkheadFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end tests for POST /api/batch. These run against a real server because entries are
+ * dispatched through the application's DispatcherServlet, which MockMvc does not initialize.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BulkheadFilter bulkheadFilter;
+
+    @Test
+    void testBatch_WhenReadsRunInParallel_ThenReturnsEachResultInRequestOrder() {
+        // Arrange
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation("recipes", "GET", "/api/recipes?fields=name"),
+                new BatchRequest.Operation("pantry", "GET", "/api/pantry"),
+                new BatchRequest.Operation("missing", "GET", "/api/recipes/-1")), false);
+
+        // Act
+        ResponseEntity<BatchResponse> response = restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<BatchResponse.Result> results = response.getBody().getResponses();
+        assertThat(results).extracting(BatchResponse.Result::getId).containsExactly("recipes", "pantry", "missing");
+        assertThat(results).extracting(BatchResponse.Result::getStatus).containsExactly(200, 200, 404);
+        assertThat(results.get(0).getBody().get(0).has("name")).isTrue();
+        assertThat(results.get(0).getBody().get(0).has("description")).isFalse();
+        assertThat(results.get(1).getBody().isArray()).isTrue();
+    }
+
+    @Test
+    void testBatch_WhenConsistentAndOneEntryFails_ThenOtherEntriesStillSucceed() {
+        // Arrange
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation(null, "GET", "/api/recipes?fields=unknownField"),
+                new BatchRequest.Operation(null, "GET", "/api/ingredients")), true);
+
+        // Act
+        ResponseEntity<BatchResponse> response = restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<BatchResponse.Result> results = response.getBody().getResponses();
+        assertThat(results).extracting(BatchResponse.Result::getId).containsExactly("0", "1");
+        assertThat(results).extracting(BatchResponse.Result::getStatus).containsExactly(400, 200);
+    }
+
+    @Test
+    void testBatch_WhenEntryIsNotARead_ThenRejectsOnlyThatEntry() {
+        // Arrange
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation("delete", "DELETE", "/api/recipes/1"),
+                new BatchRequest.Operation("nested", "GET", "/api/batch")), false);
+
+        // Act
+        ResponseEntity<BatchResponse> response = restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+
+        // Assert
+        assertThat(response.getBody().getResponses()).extracting(BatchResponse.Result::getStatus)
+                .containsExactly(405, 400);
+    }
+
+    @Test
+    void testBatch_WhenEntriesAreExpensiveReads_ThenEachTakesAnExpensiveBulkheadPermit() {
+        // Arrange
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation(null, "GET", "/api/recipes?fields=name"),
+                new BatchRequest.Operation(null, "GET", "/api/recipes/search?name=pasta"),
+                new BatchRequest.Operation(null, "GET", "/api/pantry")), false);
+        double expensiveBefore = acceptedBy("expensive");
+        double cheapBefore = acceptedBy("cheap");
+
+        // Act
+        restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+
+        // Assert
+        assertThat(acceptedBy("expensive") - expensiveBefore).isEqualTo(2);
+        assertThat(acceptedBy("cheap") - cheapBefore).isEqualTo(1);
+    }
+
+    @Test
+    void testBatch_WhenConsistent_ThenTakesOneExpensivePermitForAllEntries() {
+        // Arrange
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation(null, "GET", "/api/recipes?fields=name"),
+                new BatchRequest.Operation(null, "GET", "/api/recipes/search?query=pasta"),
+                new BatchRequest.Operation(null, "GET", "/api/pantry")), true);
+        double expensiveBefore = acceptedBy("expensive");
+        double cheapBefore = acceptedBy("cheap");
+
+        // Act
+        ResponseEntity<BatchResponse> response = restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+
+        // Assert
+        assertThat(response.getBody().getResponses()).extracting(BatchResponse.Result::getStatus)
+                .containsExactly(200, 200, 200);
+        assertThat(acceptedBy("expensive") - expensiveBefore).isEqualTo(1);
+        assertThat(acceptedBy("cheap") - cheapBefore).isEqualTo(0);
+    }
+
+    @Test
+    void testBatch_WhenConsistentAndExpensiveCompartmentIsFull_ThenRejectsEveryEntry() {
+        // Arrange - every expensive permit taken
+        Bulkhead expensive = bulkheadFilter.getExpensive();
+        int held = 0;
+        while (expensive.tryEnter()) {
+            held++;
+        }
+        BatchRequest batch = new BatchRequest(List.of(
+                new BatchRequest.Operation(null, "GET", "/api/ingredients"),
+                new BatchRequest.Operation(null, "GET", "/api/pantry")), true);
+
+        // Act
+        ResponseEntity<BatchResponse> response;
+        try {
+            response = restTemplate.postForEntity("/api/batch", batch, BatchResponse.class);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                expensive.exit();
+            }
+        }
+
+        // Assert
+        assertThat(response.getBody().getResponses()).extracting(BatchResponse.Result::getStatus)
+                .containsExactly(503, 503);
+    }
+
+    private double acceptedBy(String compartment) {
+        return meterRegistry.get("flavorhub.bulkhead.requests")
+                .tags("compartment", compartment, "outcome", "accepted")
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.coveros.training.flavorhub.batch;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SubRequest, which must not reach the batch request once it is built
+ */
+class SubRequestTest {
+
+    private final SubRequest subRequest = new SubRequest(new MockHttpServletRequest("POST", "/api/batch"),
+            "/api/recipes?fields=name");
+
+    @Test
+    void testSubRequest_WhenBuilt_ThenAnswersEveryRequestMethodItself() {
+        // Act
+        List<String> delegated = Arrays.stream(HttpServletRequest.class.getMethods())
+                .filter(method -> declaringClassOf(method) != SubRequest.class)
+                .map(Method::getName)
+                .toList();
+
+        // Assert
+        assertThat(delegated).isEmpty();
+    }
+
+    @Test
+    void testSubRequest_WhenAskedForBodyDispatcherAndIds_ThenReturnsSafeDefaults() throws Exception {
+        // Act & Assert
+        assertThat(subRequest.getReader().read()).isEqualTo(-1);
+        assertThat(subRequest.getInputStream().read()).isEqualTo(-1);
+        assertThat(subRequest.getParts()).isEmpty();
+        assertThat(subRequest.getPart("file")).isNull();
+        assertThat(subRequest.getTrailerFields()).isEmpty();
+        assertThat(subRequest.getRequestDispatcher("/api/pantry")).isNull();
+        assertThat(subRequest.getRequestId()).isNull();
+        assertThat(subRequest.getProtocolRequestId()).isNull();
+        assertThat(subRequest.getServletConnection()).isNull();
+        assertThat(subRequest.getPathTranslated()).isNull();
+        assertThat(subRequest.newPushBuilder()).isNull();
+        assertThat(subRequest.isRequestedSessionIdFromCookie()).isFalse();
+        assertThat(subRequest.authenticate(new MockHttpServletResponse())).isFalse();
+        subRequest.logout();
+    }
+
+    @Test
+    void testSubRequest_WhenAskedForAsyncOrSessionChanges_ThenThrowsIllegalState() {
+        // Act & Assert
+        assertThatThrownBy(subRequest::startAsync).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(subRequest::getAsyncContext).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(subRequest::changeSessionId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testGetRequest_WhenPlaceholderIsUsedAsAnObject_ThenDoesNotThrow() {
+        // Arrange
+        Object placeholder = subRequest.getRequest();
+
+        // Act & Assert
+        assertThat(placeholder.toString()).isEqualTo("detached batch request");
+        assertThat(placeholder).isEqualTo(placeholder);
+        assertThat(placeholder.hashCode()).isEqualTo(System.identityHashCode(placeholder));
+    }
+
+    private static Class<?> declaringClassOf(Method method) {
+        try {
+            return SubRequest.class.getMethod(method.getName(), method.getParameterTypes()).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
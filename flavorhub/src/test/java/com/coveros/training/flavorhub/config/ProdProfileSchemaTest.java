@@ -0,0 +1,41 @@
+package com.coveros.training.flavorhub.config;
+
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the prod profile against a fresh file database: the Flyway migrations must produce a
+ * schema that Hibernate validates against the entities, and the empty database gets seeded
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileSchemaTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry) {
+        registry.add("flavorhub.data-dir", () -> dataDir.toString());
+    }
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void testStartup_WhenDatabaseIsEmpty_ThenMigratesValidatesAndSeeds() {
+        // Assert
+        assertThat(recipeRepository.count()).isPositive();
+        assertThat(dataDir.resolve("recipedb.mv.db")).exists();
+    }
+}
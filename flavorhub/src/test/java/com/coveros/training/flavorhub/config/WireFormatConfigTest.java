@@ -0,0 +1,84 @@
+package com.coveros.training.flavorhub.config;
+
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation and pretty printing for API responses
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void testGetRecipe_WhenAnyTypeAccepted_ThenReturnsCompactJson() throws Exception {
+        // Arrange
+        Long id = recipeRepository.findAll().get(0).getId();
+
+        // Act
+        String body = mockMvc.perform(get("/api/recipes/" + id).accept("*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(body).startsWith("{\"id\":").doesNotContain("\n");
+    }
+
+    @Test
+    void testGetRecipe_WhenPrettyRequested_ThenReturnsIndentedJson() throws Exception {
+        // Arrange
+        Long id = recipeRepository.findAll().get(0).getId();
+
+        // Act
+        String body = mockMvc.perform(get("/api/recipes/" + id).param("pretty", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(body).startsWith("{\n");
+    }
+
+    @Test
+    void testGetRecipe_WhenSmileAccepted_ThenReturnsSmileWithSameContent() throws Exception {
+        // Arrange
+        Recipe recipe = recipeRepository.findAll().get(0);
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/recipes/" + recipe.getId()).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode decoded = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(decoded.get("name").asText()).isEqualTo(recipe.getName());
+    }
+
+    @Test
+    void testGetRecipes_WhenCborFormatParameter_ThenReturnsCbor() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/recipes").param("format", "cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.coveros.training.flavorhub.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ZipfSampler and the synthetic ingredient names it ranks
+ */
+class ZipfSamplerTest {
+
+    @Test
+    void testSample_WhenSameSeed_ThenSameSequence() {
+        // Arrange
+        ZipfSampler sampler = new ZipfSampler(500, 1.07);
+        SplittableRandom first = new SplittableRandom(42);
+        SplittableRandom second = new SplittableRandom(42);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    void testSample_WhenDrawnManyTimes_ThenFrequencyFallsWithRank() {
+        // Arrange
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[sampler.size()];
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        // Assert - with exponent 1, rank 1 is drawn about twice as often as rank 2 and ten times rank 10
+        assertEquals(2.0, (double) counts[0] / counts[1], 0.2);
+        assertEquals(10.0, (double) counts[0] / counts[9], 1.5);
+        assertTrue(counts[99] > 0);
+    }
+
+    @Test
+    void testConstructor_WhenEmptyPopulation_ThenThrowsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+
+    @Test
+    void testIngredientName_WhenCatalogIsLarge_ThenNamesAreUnique() {
+        // Arrange
+        Set<String> names = new HashSet<>();
+
+        // Act
+        for (int rank = 0; rank < 10_000; rank++) {
+            names.add(SyntheticDataGenerator.ingredientName(rank));
+        }
+
+        // Assert
+        assertEquals(10_000, names.size());
+        assertEquals("Salt", SyntheticDataGenerator.ingredientName(0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.metrics.SqlStatementCountExtension;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.service.RecipeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the server-rendered recipe cards on the recipes page
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class HomeControllerTest {
+
+    @RegisterExtension
+    SqlStatementCountExtension sql = new SqlStatementCountExtension();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Test
+    void testRecipes_WhenRenderedBefore_ThenServesCardsWithoutSql() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/recipes")).andExpect(status().isOk());
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<h3>Classic Spaghetti Carbonara</h3>")));
+
+        // Assert
+        sql.assertStatementCount(0);
+    }
+
+    @Test
+    void testRecipes_WhenRecipeCreatedAndDeleted_ThenCardsFollowTheWrites() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/recipes")).andExpect(status().isOk());
+        Recipe recipe = recipeService.saveRecipe(new Recipe("Rendered Stew", "Test recipe", 10, 60, 4, "Easy", "French"));
+
+        // Act & Assert
+        mockMvc.perform(get("/recipes"))
+                .andExpect(content().string(containsString("<h3>Rendered Stew</h3>")));
+        recipeService.deleteRecipe(recipe.getId());
+        mockMvc.perform(get("/recipes"))
+                .andExpect(content().string(not(containsString("Rendered Stew"))));
+    }
+}
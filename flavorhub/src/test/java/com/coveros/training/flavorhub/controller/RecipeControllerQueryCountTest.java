@@ -0,0 +1,223 @@
+package com.coveros.training.flavorhub.controller;
+
+import com.coveros.training.flavorhub.metrics.SqlBudgetFilter;
+import com.coveros.training.flavorhub.metrics.SqlStatementCountExtension;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.service.RecipeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count tests for the recipe and pantry endpoints against the sample data.
+ * The second-level and query caches are cleared before each test, so counts are for a cold cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecipeControllerQueryCountTest {
+
+    @RegisterExtension
+    SqlStatementCountExtension sql = new SqlStatementCountExtension();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void evictCaches() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void testGetRecipeById_WhenRecipeExists_ThenLoadsRecipeAndCollectionsOnly() throws Exception {
+        // Arrange
+        Long id = recipeRepository.findAll().get(0).getId();
+        evictCaches();
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlBudgetFilter.STATEMENT_COUNT_HEADER, "3"));
+
+        // Assert - the recipe row, its ingredients and its instructions
+        sql.assertStatementCount(3);
+    }
+
+    @Test
+    void testGetRecipeById_WhenAlreadyCached_ThenRunsNoStatements() throws Exception {
+        // Arrange
+        Long id = recipeRepository.findAll().get(0).getId();
+        mockMvc.perform(get("/api/recipes/" + id)).andExpect(status().isOk());
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingredients").isNotEmpty());
+
+        // Assert - recipe and both collections come from the second-level cache
+        sql.assertStatementCount(0);
+    }
+
+    @Test
+    void testGetRecipesByCuisine_WhenQueryRepeated_ThenServedFromQueryCache() throws Exception {
+        // Arrange
+        List<Recipe> first = recipeService.getRecipesByCuisine("Italian");
+        sql.reset();
+
+        // Act
+        List<Recipe> second = recipeService.getRecipesByCuisine("Italian");
+
+        // Assert
+        assertThat(second).extracting(Recipe::getId).containsExactlyElementsOf(first.stream().map(Recipe::getId).toList());
+        sql.assertStatementCount(0);
+    }
+
+    @Test
+    void testGetAllRecipes_WhenCatalogLoaded_ThenBatchFetchesCollections() throws Exception {
+        // Arrange
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes")).andExpect(status().isOk());
+
+        // Assert - one query for the list plus one per collection for the whole (sample-sized) catalog
+        sql.assertStatementCount(3);
+    }
+
+    @Test
+    void testGetRecipesByIds_WhenSomeIdsMissing_ThenReturnsRequestOrderInFixedStatementCount() throws Exception {
+        // Arrange
+        List<Long> ids = recipeRepository.findAll().stream().map(Recipe::getId).limit(5).toList();
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes/batch")
+                        .param("ids", ids.get(3) + ",-1," + ids.get(0) + "," + ids.get(4)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes[0].id").value(ids.get(3)))
+                .andExpect(jsonPath("$.recipes[1].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.recipes[2].id").value(ids.get(4)))
+                .andExpect(jsonPath("$.recipes[2].ingredients").isNotEmpty())
+                .andExpect(jsonPath("$.missingIds[0]").value(-1));
+
+        // Assert - the IN query for the rows plus one batch per collection
+        sql.assertStatementCount(3);
+    }
+
+    @Test
+    void testSearchRecipes_WhenSearching_ThenRunsSingleQuery() throws Exception {
+        // Arrange
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes/search").param("query", "no such recipe"))
+                .andExpect(status().isOk());
+
+        // Assert
+        sql.assertStatementCountAtMost(1);
+    }
+
+    @Test
+    void testGetAllRecipes_WhenScalarFieldsRequested_ThenRunsSingleQueryAndWritesOnlyThoseFields() throws Exception {
+        // Arrange
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes").param("fields", "name,cuisineType"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist());
+
+        // Assert
+        sql.assertStatementCount(1);
+    }
+
+    @Test
+    void testGetAllRecipes_WhenCollectionRequested_ThenAddsOneQueryForAllRecipes() throws Exception {
+        // Arrange
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes").param("fields", "name,instructions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].instructions").isArray());
+
+        // Assert
+        sql.assertStatementCount(2);
+    }
+
+    @Test
+    void testGetRecipePage_WhenLimitAndOffsetGiven_ThenRunsSingleQueryForThatPage() throws Exception {
+        // Arrange
+        List<Long> ids = recipeRepository.findAll().stream().map(Recipe::getId).sorted().toList();
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/recipes").param("fields", "name").param("limit", "2").param("offset", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(ids.get(1)))
+                .andExpect(jsonPath("$[1].id").value(ids.get(2)))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        // Assert
+        sql.assertStatementCount(1);
+    }
+
+    @Test
+    void testGetRecipePage_WhenLimitOutOfRange_ThenReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/recipes").param("fields", "name").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetUserPantry_WhenIngredientNameRequested_ThenJoinsInSingleQuery() throws Exception {
+        // Arrange
+        sql.reset();
+
+        // Act
+        mockMvc.perform(get("/api/pantry").param("fields", "quantity,ingredient.name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ingredient.name").exists())
+                .andExpect(jsonPath("$[0].ingredient.category").doesNotExist())
+                .andExpect(jsonPath("$[0].unit").doesNotExist());
+
+        // Assert
+        sql.assertStatementCount(1);
+    }
+
+    @Test
+    void testGetAllRecipes_WhenUnknownFieldRequested_ThenReturnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/recipes").param("fields", "name,secretSauce"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,103 @@
+package com.coveros.training.flavorhub.diagnostics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServiceCallEventAspect
+ */
+class ServiceCallEventAspectTest {
+
+    private Recording recording;
+    private LookupService service;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable(ServiceCallEvent.NAME).withoutThreshold();
+        recording.start();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LookupService());
+        factory.addAspect(new ServiceCallEventAspect());
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void testRecordServiceCall_WhenMethodReturns_ThenEmitsEventWithIdAndResultCount() throws IOException {
+        // Act
+        service.findAll();
+        service.findById(42L);
+
+        // Assert
+        List<RecordedEvent> events = recordedEvents();
+        assertEquals(2, events.size());
+        RecordedEvent findById = events.stream()
+                .filter(event -> "findById".equals(event.getString("method")))
+                .findFirst().orElseThrow();
+        assertEquals("LookupService", findById.getString("service"));
+        assertEquals(42L, findById.getLong("entityId"));
+        assertEquals(1, findById.getInt("resultCount"));
+        assertEquals(0, findById.getInt("sqlStatements"));
+        assertTrue(findById.getBoolean("cacheHit"));
+        RecordedEvent findAll = events.stream()
+                .filter(event -> "findAll".equals(event.getString("method")))
+                .findFirst().orElseThrow();
+        assertEquals(3, findAll.getInt("resultCount"));
+    }
+
+    @Test
+    void testRecordServiceCall_WhenMethodThrows_ThenEmitsEventWithException() throws IOException {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.findById(-1L));
+        RecordedEvent event = recordedEvents().get(0);
+        assertEquals("IllegalArgumentException", event.getString("exception"));
+        assertFalse(event.getBoolean("cacheHit"));
+    }
+
+    private List<RecordedEvent> recordedEvents() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("service-call-test", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(ServiceCallEvent.NAME))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Service
+    static class LookupService {
+
+        public List<String> findAll() {
+            return List.of("a", "b", "c");
+        }
+
+        public Optional<String> findById(Long id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Negative id");
+            }
+            return Optional.of("item-" + id);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.coveros.training.flavorhub.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LayerTimingAspect
+ */
+class LayerTimingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GreetingService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new GreetingService());
+        factory.addAspect(new LayerTimingAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void testTimeService_WhenCallSucceeds_ThenRecordsTimerPerMethod() {
+        // Act
+        service.greet("Ada");
+        service.greet("Grace");
+
+        // Assert
+        Timer timer = meterRegistry.find(LayerTimingAspect.SERVICE_TIMER)
+                .tags("class", "GreetingService", "method", "greet", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void testTimeService_WhenCallThrows_ThenTagsExceptionAndRethrows() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, service::fail);
+        Timer timer = meterRegistry.find(LayerTimingAspect.SERVICE_TIMER)
+                .tags("method", "fail", "exception", "IllegalStateException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Service
+    static class GreetingService {
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.coveros.training.flavorhub.metrics;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements each test runs on the test thread, including those run by
+ * MockMvc requests.
+ *
+ * <pre>
+ * &#64;RegisterExtension
+ * SqlStatementCountExtension sql = new SqlStatementCountExtension();
+ *
+ * sql.reset();
+ * mockMvc.perform(get("/api/recipes/1"));
+ * sql.assertStatementCount(3);
+ * </pre>
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private SqlStatementStats stats;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        stats = SqlStatementStats.begin();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        stats.end();
+    }
+
+    /**
+     * Forget the statements run so far, e.g. by test setup
+     */
+    public void reset() {
+        stats.reset();
+    }
+
+    public int getStatementCount() {
+        return stats.getStatementCount();
+    }
+
+    public void assertStatementCount(int expected) {
+        assertEquals(expected, stats.getStatementCount(), this::describe);
+    }
+
+    public void assertStatementCountAtMost(int max) {
+        assertTrue(stats.getStatementCount() <= max, this::describe);
+    }
+
+    private String describe() {
+        return "SQL statements run (" + stats.getStatementCount() + "):\n" + stats.getCountsBySql().entrySet().stream()
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.coveros.training.flavorhub.pantry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 100_000;
+
+    @Test
+    void testNodeFor_WhenManyUsers_ThenSpreadsEvenly() {
+        // Arrange
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), 128);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+
+        // Act
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.nodeFor(userId), 1, Integer::sum);
+        }
+
+        // Assert - each of the 4 shards within 20% of an even 25% share
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(20_000, 30_000));
+    }
+
+    @Test
+    void testNodeFor_WhenNodeAdded_ThenOnlyKeysForNewNodeMove() {
+        // Arrange
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(4), 128);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(5), 128);
+        int moved = 0;
+
+        // Act
+        for (long userId = 1; userId <= USERS; userId++) {
+            String oldNode = before.nodeFor(userId);
+            String newNode = after.nodeFor(userId);
+            if (!oldNode.equals(newNode)) {
+                moved++;
+                // Assert - a user only ever moves to the added shard
+                assertThat(newNode).isEqualTo("shard-4");
+            }
+        }
+
+        // Assert - roughly 1/5 of the users move, not most of them as with modulo hashing
+        assertThat(moved).isBetween(USERS / 10, USERS * 3 / 10);
+    }
+
+    private static Map<String, String> nodes(int count) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("shard-" + i, "shard-" + i);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.controller.UserPantryController;
+import com.coveros.training.flavorhub.model.UserPantry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pantry endpoints and storage in the application database, the default profile
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JpaPantryStoreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JpaPantryStore pantryStore;
+
+    @Test
+    void testAddPantryItem_WhenBodyCarriesAnotherUsersItemId_ThenCreatesNewItem() throws Exception {
+        // Arrange - an item from the sample pantry of user 1
+        UserPantry victim = pantryStore.findByUserId(1L).get(0);
+
+        // Act
+        mockMvc.perform(post("/api/pantry")
+                        .header(UserPantryController.USER_ID_HEADER, 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + victim.getId() + ",\"ingredient\":{\"id\":"
+                                + victim.getIngredient().getId() + "},\"quantity\":99,\"unit\":\"stolen\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(not(victim.getId().intValue())))
+                .andExpect(jsonPath("$.userId").value(2));
+
+        // Assert
+        UserPantry stored = pantryStore.findById(1L, victim.getId()).orElseThrow();
+        assertThat(stored.getQuantity()).isEqualTo(victim.getQuantity());
+        assertThat(stored.getUnit()).isEqualTo(victim.getUnit());
+    }
+
+    @Test
+    void testSave_WhenIdBelongsToAnotherUser_ThenThrowsAndKeepsItem() {
+        // Arrange
+        UserPantry victim = pantryStore.findByUserId(1L).get(0);
+        UserPantry forged = new UserPantry(victim.getId(), 2L, victim.getIngredient(), 99.0, "stolen", null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> pantryStore.save(forged)).isInstanceOf(EmptyResultDataAccessException.class);
+        assertThat(pantryStore.findById(1L, victim.getId()).orElseThrow().getUserId()).isEqualTo(1L);
+        assertThat(pantryStore.findById(2L, victim.getId())).isEmpty();
+    }
+}
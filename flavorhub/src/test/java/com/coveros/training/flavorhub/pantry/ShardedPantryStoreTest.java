@@ -0,0 +1,160 @@
+package com.coveros.training.flavorhub.pantry;
+
+import com.coveros.training.flavorhub.controller.UserPantryController;
+import com.coveros.training.flavorhub.model.UserPantry;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.service.IngredientCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pantry endpoints with the sharded profile, on shard databases of their own
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("sharded")
+@TestPropertySource(properties = "flavorhub.pantry-sharding.url-template=jdbc:h2:mem:sharded-pantry-test-{shard}")
+class ShardedPantryStoreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardedPantryStore pantryStore;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Test
+    void testAddPantryItem_WhenUsersOnDifferentShards_ThenEachSeesOnlyOwnItems() throws Exception {
+        // Arrange - the sample user and another user hashed to a different shard
+        long otherUser = LongStream.rangeClosed(2, 100)
+                .filter(userId -> !pantryStore.shardOf(userId).equals(pantryStore.shardOf(1L)))
+                .findFirst().orElseThrow();
+        Long ingredientId = ingredientRepository.findByNameIgnoreCase("Salt").orElseThrow().getId();
+
+        // Act
+        mockMvc.perform(post("/api/pantry")
+                        .header(UserPantryController.USER_ID_HEADER, otherUser)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ingredient\":{\"id\":" + ingredientId + "},\"quantity\":3,\"unit\":\"teaspoons\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.userId").value(otherUser))
+                .andExpect(jsonPath("$.ingredient.name").value("Salt"));
+
+        // Assert
+        mockMvc.perform(get("/api/pantry").header(UserPantryController.USER_ID_HEADER, otherUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].ingredient.name").value("Salt"));
+        assertThat(pantryStore.findByUserId(1L)).noneMatch(item -> item.getUserId() == otherUser);
+    }
+
+    @Test
+    void testDeletePantryItem_WhenItemBelongsToAnotherUser_ThenKeepsItem() throws Exception {
+        // Arrange - an item from the sample pantry of user 1
+        Long itemId = pantryStore.findByUserId(1L).get(0).getId();
+
+        // Act
+        mockMvc.perform(delete("/api/pantry/" + itemId).header(UserPantryController.USER_ID_HEADER, 2))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertThat(pantryStore.findById(1L, itemId)).isPresent();
+    }
+
+    @Test
+    void testGetUserPantry_WhenFieldsRequested_ThenProjectsFromShard() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/pantry").param("fields", "quantity,ingredient.name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].quantity").exists())
+                .andExpect(jsonPath("$[0].ingredient.name").exists())
+                .andExpect(jsonPath("$[0].unit").doesNotExist());
+    }
+
+    @Test
+    void testUpdate_WhenItemIsDeletedDuringUpdate_ThenReturnsEmpty() {
+        // Arrange - an item from the sample pantry of user 1
+        Long itemId = pantryStore.findByUserId(1L).get(0).getId();
+
+        // Act
+        Optional<UserPantry> updated = pantryStore.update(1L, itemId, existing -> {
+            pantryStore.deleteById(1L, itemId);
+            existing.setNotes("Changed after delete");
+        });
+
+        // Assert
+        assertThat(updated).isEmpty();
+        assertThat(pantryStore.findById(1L, itemId)).isEmpty();
+    }
+
+    @Test
+    void testUpdate_WhenUpdatedConcurrently_ThenNoUpdateIsLost() throws Exception {
+        // Arrange - an item from the sample pantry of user 1
+        UserPantry item = pantryStore.findByUserId(1L).get(0);
+        int updates = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act - each update adds one to the quantity it read
+        try {
+            List<Future<Optional<UserPantry>>> results = IntStream.range(0, updates)
+                    .mapToObj(i -> executor.submit(() -> pantryStore.update(1L, item.getId(),
+                            existing -> existing.setQuantity(existing.getQuantity() + 1))))
+                    .toList();
+            for (Future<Optional<UserPantry>> result : results) {
+                assertThat(result.get()).isPresent();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertThat(pantryStore.findById(1L, item.getId()).orElseThrow().getQuantity())
+                .isEqualTo(item.getQuantity() + updates);
+    }
+
+    @Test
+    void testCreate_WhenShardCountDiffersFromExistingTables_ThenFailsToStart() {
+        // Arrange - shards that outlive their store, created for two shards
+        PantryShardingProperties properties = new PantryShardingProperties();
+        properties.setUrlTemplate("jdbc:h2:mem:shard-count-test-{shard};DB_CLOSE_DELAY=-1");
+        properties.setShards(2);
+        properties.setPoolSize(1);
+        new ShardedPantryStore(properties, ingredientCatalog, new SimpleMeterRegistry()).destroy();
+
+        // Act & Assert
+        properties.setShards(3);
+        assertThatThrownBy(() -> new ShardedPantryStore(properties, ingredientCatalog, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("created for 2 shards, not 3");
+    }
+}
@@ -0,0 +1,104 @@
+package com.coveros.training.flavorhub.replication;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ReplicaSet replica selection and log decoding, without starting replication
+ */
+class ReplicaSetTest {
+
+    private ReplicaSet replicaSet;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primary = new JdbcDataSource();
+        primary.setURL("jdbc:h2:mem:replica-set-test");
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setReplicas(1);
+        properties.setReplicaPoolSize(1);
+        replicaSet = new ReplicaSet(primary, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaSet.destroy();
+    }
+
+    @Test
+    void testChoose_WhenRequiredPositionWasSkippedAndIsPending_ThenUsesPrimary() {
+        // Arrange - the writer's change at 7 committed after the replica skipped it and moved on to 10
+        Replica replica = replicaSet.getReplicas().get(0);
+        replica.setAppliedLsn(10);
+        replica.getPendingGaps().add(7L);
+
+        // Act & Assert
+        assertThat(replicaSet.choose(8)).isEmpty();
+        assertThat(replicaSet.choose(7)).isEmpty();
+        assertThat(replicaSet.choose(6)).contains(replica);
+    }
+
+    @Test
+    void testChoose_WhenSkippedPositionIsAppliedLate_ThenUsesReplicaAgain() {
+        // Arrange
+        Replica replica = replicaSet.getReplicas().get(0);
+        replica.setAppliedLsn(10);
+        replica.getPendingGaps().add(7L);
+
+        // Act
+        replica.getPendingGaps().remove(7L);
+
+        // Assert
+        assertThat(replicaSet.choose(10)).contains(replica);
+        assertThat(replicaSet.choose(11)).isEmpty();
+    }
+
+    @Test
+    void testDeserialize_WhenRowHoldsColumnValues_ThenDecodesThem() {
+        // Arrange
+        Object[] row = {1L, 2, "Saffron", 1.5, true, new BigDecimal("2.50"), UUID.randomUUID(),
+                new Timestamp(0), OffsetDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC), new byte[]{1, 2}, null};
+
+        // Act
+        Object[] decoded = ReplicaSet.deserialize(serialize(row));
+
+        // Assert
+        assertThat(decoded).containsExactly(row);
+    }
+
+    @Test
+    void testDeserialize_WhenRowHoldsOtherClasses_ThenRejectsIt() {
+        // Arrange
+        Object[] row = {1L, new ArrayList<>(List.of("not a column value"))};
+
+        // Act & Assert
+        assertThatThrownBy(() -> ReplicaSet.deserialize(serialize(row))).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static byte[] serialize(Object[] row) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,189 @@
+package com.coveros.training.flavorhub.replication;
+
+import com.coveros.training.flavorhub.dto.CatalogChanges;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.service.CatalogSyncService;
+import com.coveros.training.flavorhub.service.IngredientService;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing with the replicas profile, on a database of its own so the change-log
+ * triggers stay out of other test contexts
+ */
+@SpringBootTest
+@ActiveProfiles("replicas")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replication-test;DB_CLOSE_DELAY=-1",
+        "flavorhub.replication.apply-interval=20ms",
+        "flavorhub.replication.gap-timeout=100ms"
+})
+class ReplicationRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testRouting_WhenTransactionIsReadOnly_ThenUsesReplica() {
+        // Act
+        String readUrl = connectionUrl(true);
+        String writeUrl = connectionUrl(false);
+
+        // Assert
+        assertThat(readUrl).contains("flavorhub-replica-");
+        assertThat(writeUrl).contains("replication-test");
+    }
+
+    @Test
+    void testCacheMode_WhenTransactionReadsFromReplica_ThenOnlyReadsFromHibernateCaches() {
+        // Act
+        CacheMode readMode = cacheMode(true);
+        CacheMode writeMode = cacheMode(false);
+
+        // Assert
+        assertThat(readMode).isEqualTo(CacheMode.GET);
+        assertThat(writeMode).isEqualTo(CacheMode.NORMAL);
+    }
+
+    @Test
+    void testApply_WhenPrimaryIsWritten_ThenReplicasCatchUp() throws InterruptedException {
+        // Arrange
+        String name = "Replicated Saffron";
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO ingredients (name, category, unit, change_version) VALUES (?, 'Spice', 'pinch', 0)", name));
+
+        // Assert
+        awaitReplicasContain(name);
+        assertThat(replicasContain(name)).isTrue();
+    }
+
+    @Test
+    void testApply_WhenSlowTransactionCommitsAfterGapTimeout_ThenReplicasApplyItLate() throws Exception {
+        // Arrange
+        String slow = "Late Sumac";
+        String fast = "Early Za'atar";
+        try (Connection connection = primaryDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO ingredients (name, category, unit, change_version) VALUES (?, 'Spice', 'pinch', 0)")) {
+                insert.setString(1, slow);
+                insert.executeUpdate();
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO ingredients (name, category, unit, change_version) VALUES (?, 'Spice', 'pinch', 0)", fast));
+            awaitReplicasContain(fast);
+
+            // Act
+            connection.commit();
+        }
+
+        // Assert
+        awaitReplicasContain(slow);
+        assertThat(replicasContain(slow)).isTrue();
+        assertThat(replicaSet.getReplicas()).allMatch(replica -> replica.getLateChanges().get() > 0);
+    }
+
+    @Test
+    void testRouting_WhenRequiredLsnIsAheadOfReplicas_ThenUsesPrimary() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(Long.MAX_VALUE)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        String readUrl = connectionUrl(true);
+
+        // Assert
+        assertThat(readUrl).contains("replication-test");
+    }
+
+    @Test
+    void testChangesSince_WhenReplicasHaveNotCaughtUp_ThenReadsFromPrimary() {
+        // Arrange - replicas apply every 20ms, so they cannot have this ingredient yet
+        Ingredient saved = ingredientService.saveIngredient(new Ingredient("Synced Sorrel", "Herb", "bunch"));
+
+        // Act
+        CatalogChanges changes = catalogSyncService.changesSince(saved.getChangeVersion() - 1, 0, 10);
+
+        // Assert
+        assertThat(changes.getIngredients()).extracting(Ingredient::getName).containsExactly("Synced Sorrel");
+    }
+
+    private String connectionUrl(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+
+    private CacheMode cacheMode(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> entityManager.unwrap(Session.class).getCacheMode());
+    }
+
+    private void awaitReplicasContain(String ingredientName) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!replicasContain(ingredientName) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(replicasContain(ingredientName)).as("replicas contain %s", ingredientName).isTrue();
+    }
+
+    private boolean replicasContain(String ingredientName) {
+        return replicaSet.getReplicas().stream().allMatch(replica -> {
+            Integer count = new JdbcTemplate(replica.getDataSource()).queryForObject(
+                    "SELECT COUNT(*) FROM ingredients WHERE name = ?", Integer.class, ingredientName);
+            return count != null && count == 1;
+        });
+    }
+}
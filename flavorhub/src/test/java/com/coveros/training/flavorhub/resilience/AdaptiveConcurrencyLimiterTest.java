@@ -0,0 +1,142 @@
+package com.coveros.training.flavorhub.resilience;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter and the outcomes ConcurrencyLimitFilter reports to it
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void testTryAcquire_WhenLimitReached_ThenRejects() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 1.5, 0.2);
+
+        // Act
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    void testOnSuccess_WhenLatencyStableUnderLoad_ThenLimitGrows() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 100, 1.5, 0.2);
+
+        // Act
+        runRounds(limiter, 50, FAST);
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "Limit should grow while latency stays at baseline");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testOnSuccess_WhenLatencyRisesAboveBaseline_ThenLimitShrinks() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 1, 100, 1.5, 0.2);
+        runRounds(limiter, 5, FAST);
+        int before = limiter.getLimit();
+
+        // Act
+        runRounds(limiter, 10, SLOW);
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "Limit should shrink when requests queue");
+    }
+
+    @Test
+    void testOnDropped_WhenRequestFails_ThenHalvesLimitButNotBelowMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 3, 10, 1.5, 0.2);
+
+        // Act
+        limiter.tryAcquire();
+        limiter.onDropped();
+        int afterFirstDrop = limiter.getLimit();
+        limiter.tryAcquire();
+        limiter.onDropped();
+
+        // Assert
+        assertEquals(4, afterFirstDrop);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void testOnDropped_WhenBurstOfTimeouts_ThenHalvesOncePerSampleWindow() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 16, 1, 32, 1.5, 0.2);
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+
+        // Act
+        for (int i = 0; i < admitted; i++) {
+            limiter.onDropped();
+        }
+        int afterBurst = limiter.getLimit();
+        limiter.tryAcquire();
+        limiter.onDropped();
+
+        // Assert
+        assertEquals(16, admitted);
+        assertEquals(8, afterBurst, "Timeouts of requests in flight at the first one should not halve again");
+        assertEquals(4, limiter.getLimit(), "A timeout admitted after the window should halve again");
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testDoFilter_WhenShedDownstreamOrDatabaseTimesOut_ThenOnlyTimeoutHalvesLimit() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties());
+        int initial = filter.getReadLimiter().getLimit();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/recipes"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    request.setAttribute(ConcurrencyLimitFilter.SHED_ATTRIBUTE, Boolean.TRUE);
+                    ((HttpServletResponse) response).sendError(503);
+                });
+        int afterShed = filter.getReadLimiter().getLimit();
+        assertThrows(QueryTimeoutException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/recipes"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new QueryTimeoutException("statement timed out");
+                }));
+
+        // Assert
+        assertEquals(initial, afterShed);
+        assertEquals(initial / 2, filter.getReadLimiter().getLimit());
+        assertEquals(0, filter.getReadLimiter().getInFlight());
+    }
+
+    private static void runRounds(AdaptiveConcurrencyLimiter limiter, int rounds, long rttNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.coveros.training.flavorhub.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Bulkhead and the endpoint classification of BulkheadFilter
+ */
+class BulkheadTest {
+
+    @Test
+    void testTryEnter_WhenPermitsAndQueueExhausted_ThenRejectsAndCounts() {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", 2, 0, Duration.ofMillis(10));
+
+        // Act
+        boolean first = bulkhead.tryEnter();
+        boolean second = bulkhead.tryEnter();
+        boolean third = bulkhead.tryEnter();
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, bulkhead.getInFlight());
+        assertEquals(2, bulkhead.getAcceptedCount());
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testTryEnter_WhenPermitReleasedWhileWaiting_ThenAdmitsWaiter() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(5));
+        assertTrue(bulkhead.tryEnter());
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            bulkhead.exit();
+        });
+
+        // Act
+        releaser.start();
+        boolean admitted = bulkhead.tryEnter();
+        releaser.join();
+
+        // Assert
+        assertTrue(admitted);
+        assertEquals(0, bulkhead.getWaiting());
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testClassify_WhenExpensiveGetOrOtherRequest_ThenPicksMatchingCompartment() {
+        // Arrange
+        BulkheadFilter filter = new BulkheadFilter(new BulkheadProperties());
+
+        // Act & Assert
+        assertSame(filter.getExpensive(), filter.classify(new MockHttpServletRequest("GET", "/api/recipes/search")));
+        assertSame(filter.getExpensive(), filter.classify(new MockHttpServletRequest("GET", "/api/recipes")));
+        assertSame(filter.getExpensive(), filter.classify(fieldsRequest()));
+        assertSame(filter.getExpensive(), filter.classify(new MockHttpServletRequest("GET", "/api/recipes/batch")));
+        assertSame(filter.getExpensive(), filter.classify(new MockHttpServletRequest("GET", "/api/sync")));
+        assertSame(filter.getCheap(), filter.classify(new MockHttpServletRequest("GET", "/api/recipes/7")));
+        assertSame(filter.getCheap(), filter.classify(new MockHttpServletRequest("GET", "/api/pantry")));
+        assertSame(filter.getCheap(), filter.classify(new MockHttpServletRequest("POST", "/api/recipes")));
+    }
+
+    @Test
+    void testDefaults_WhenCompartmentsAreAddedUp_ThenStayWithinDefaultConnectionPool() {
+        // Arrange
+        BulkheadProperties properties = new BulkheadProperties();
+
+        // Act
+        int permits = properties.getExpensive().getMaxConcurrent() + properties.getCheap().getMaxConcurrent();
+
+        // Assert - Hikari's default and configured pool size
+        assertTrue(permits <= 10);
+    }
+
+    @Test
+    void testShouldNotFilter_WhenEventStream_ThenBypassesBulkheads() {
+        // Arrange
+        BulkheadFilter filter = new BulkheadFilter(new BulkheadProperties());
+
+        // Act & Assert
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/recipes/stream")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/recipes/7")));
+    }
+
+    private static MockHttpServletRequest fieldsRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipes");
+        request.setQueryString("fields=name,cuisineType");
+        request.setParameter("fields", "name,cuisineType");
+        return request;
+    }
+}
@@ -0,0 +1,153 @@
+package com.coveros.training.flavorhub.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight
+ */
+class SingleFlightTest {
+
+    @Test
+    void testExecute_WhenIdenticalCallsOverlap_ThenLoaderRunsOnce() throws Exception {
+        // Arrange
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "recipe-" + loads.incrementAndGet();
+        })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> "recipe-" + loads.incrementAndGet())));
+        }
+        while (singleFlight.getCoalescedCount() < 4) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("recipe-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.getExecutionCount());
+        assertEquals(4, singleFlight.getCoalescedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_WhenCallsDoNotOverlap_ThenEachRunsLoader() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        int first = singleFlight.execute("all", loads::incrementAndGet);
+        int second = singleFlight.execute("all", loads::incrementAndGet);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    void testBindTo_WhenLoaderRan_ThenCountsAreTaggedByFlightName() {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("recipes.list", Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+
+        // Act
+        singleFlight.execute("all", () -> 1);
+
+        // Assert
+        assertEquals(1.0, registry.get("flavorhub.single-flight.calls")
+                .tags("flight", "recipes.list", "outcome", "executed").functionCounter().count());
+        assertEquals(0.0, registry.get("flavorhub.single-flight.calls")
+                .tags("flight", "recipes.list", "outcome", "coalesced").functionCounter().count());
+    }
+
+    @Test
+    void testExecute_WhenLeaderFails_ThenWaitersSeeSameFailure() throws Exception {
+        // Arrange
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        Future<String> waiter = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        while (singleFlight.getCoalescedCount() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception waiterFailure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertEquals("database unavailable", leaderFailure.getCause().getMessage());
+        assertEquals("database unavailable", waiterFailure.getCause().getMessage());
+        executor.shutdown();
+    }
+
+    @Test
+    void testExecute_WhenLeaderTooSlow_ThenWaiterTimesOutAndLoadsItself() throws Exception {
+        // Arrange
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", Duration.ofMillis(20));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        String result = singleFlight.execute(1L, () -> "own");
+        release.countDown();
+
+        // Assert
+        assertEquals("own", result);
+        assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.getTimeoutCount());
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.CatalogChanges;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.sync.TombstonePruner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for incremental catalog sync against the sample data
+ */
+@SpringBootTest(properties = "flavorhub.sync.tombstone-retention=0s")
+class CatalogSyncServiceTest {
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private TombstonePruner tombstonePruner;
+
+    @Test
+    void testChangesSince_WhenCatalogChanged_ThenReturnsOnlyChangedAndDeletedRows() {
+        // Arrange
+        CatalogChanges latest = latestPage();
+        Recipe recipe = recipeService.saveRecipe(new Recipe("Sync Soup", "Test recipe", 5, 10, 2, "Easy", "French"));
+        recipeService.addRating(recipe.getId(), 4);
+        Ingredient ingredient = ingredientService.saveIngredient(new Ingredient("Sync Salt", "Spice", "pinch"));
+        ingredientService.deleteIngredient(ingredient.getId());
+
+        // Act
+        CatalogChanges changes = catalogSyncService.changesSince(latest.getVersion(), latest.getTombstoneHorizon(), 100);
+
+        // Assert - the recipe once in its latest state, the ingredient only as a delete
+        assertThat(changes.getRecipes()).extracting(Recipe::getId).containsExactly(recipe.getId());
+        assertThat(changes.getRecipes().get(0).getRatingCount()).isEqualTo(1);
+        assertThat(changes.getIngredients()).isEmpty();
+        assertThat(changes.getDeletedIngredientIds()).containsExactly(ingredient.getId());
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(catalogSyncService.changesSince(changes.getVersion(), changes.getTombstoneHorizon(), 100)
+                .getRecipes()).isEmpty();
+
+        recipeService.deleteRecipe(recipe.getId());
+    }
+
+    @Test
+    void testChangesSince_WhenPagingFromZero_ThenReturnsEveryRowExactlyOnce() {
+        // Arrange
+        List<Long> recipeIds = new ArrayList<>();
+        List<Long> ingredientIds = new ArrayList<>();
+        long since = 0;
+        long horizon = 0;
+        CatalogChanges page;
+
+        // Act
+        do {
+            page = catalogSyncService.changesSince(since, horizon, 10);
+            horizon = page.getTombstoneHorizon();
+            page.getRecipes().forEach(recipe -> recipeIds.add(recipe.getId()));
+            page.getIngredients().forEach(ingredient -> ingredientIds.add(ingredient.getId()));
+            since = page.getVersion();
+        } while (page.isHasMore());
+
+        // Assert
+        assertThat(recipeIds).doesNotHaveDuplicates().hasSize((int) recipeRepository.count());
+        assertThat(new HashSet<>(ingredientIds)).hasSize((int) ingredientRepository.count());
+    }
+
+    @Test
+    void testChangesSince_WhenTombstonesAfterSincePruned_ThenRequiresFullResync() {
+        // Arrange
+        CatalogChanges before = latestPage();
+        Ingredient ingredient = ingredientService.saveIngredient(new Ingredient("Pruned Pepper", "Spice", "pinch"));
+        ingredientService.deleteIngredient(ingredient.getId());
+
+        // Act - every tombstone is past the zero retention of this test
+        int pruned = tombstonePruner.prune();
+        CatalogChanges stale = catalogSyncService.changesSince(before.getVersion(), before.getTombstoneHorizon(), 100);
+        CatalogChanges fullSyncPage = catalogSyncService.changesSince(before.getVersion(), stale.getTombstoneHorizon(), 100);
+
+        // Assert - a client that synced before the prune starts over; one in a later full sync goes on
+        assertThat(pruned).isPositive();
+        assertThat(stale.isFullResyncRequired()).isTrue();
+        assertThat(stale.getTombstoneHorizon()).isGreaterThan(before.getVersion());
+        assertThat(fullSyncPage.isFullResyncRequired()).isFalse();
+        assertThat(fullSyncPage.getDeletedIngredientIds()).isEmpty();
+    }
+
+    private CatalogChanges latestPage() {
+        CatalogChanges page = catalogSyncService.changesSince(0, 0, CatalogSyncService.MAX_LIMIT);
+        while (page.isHasMore()) {
+            page = catalogSyncService.changesSince(page.getVersion(), page.getTombstoneHorizon(),
+                    CatalogSyncService.MAX_LIMIT);
+        }
+        return page;
+    }
+}
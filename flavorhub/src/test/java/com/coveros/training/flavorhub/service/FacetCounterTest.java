@@ -0,0 +1,153 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.FacetCounts;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.repository.RecipeRepository;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FacetCounter
+ */
+@ExtendWith(MockitoExtension.class)
+class FacetCounterTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private CatalogVersionCounter catalogVersions;
+
+    private FacetCounter facetCounter;
+
+    @BeforeEach
+    void setUp() {
+        when(recipeRepository.findAllProjected(any())).thenReturn(List.of(
+                Map.of("id", 1L, "cuisineType", "Italian", "difficultyLevel", "Easy",
+                        "averageRating", 4.5, "ratingCount", 2),
+                Map.of("id", 2L, "cuisineType", "Italian", "difficultyLevel", "Hard",
+                        "averageRating", 0.0, "ratingCount", 0),
+                Map.of("id", 3L, "cuisineType", "Mexican", "difficultyLevel", "Easy",
+                        "averageRating", 2.0, "ratingCount", 1)));
+        when(ingredientRepository.findAll()).thenReturn(List.of(
+                new Ingredient(1L, "Milk", "Dairy", "cups"),
+                new Ingredient(2L, "Tomato", "Vegetable", "whole")));
+        facetCounter = new FacetCounter(recipeRepository, new IngredientCatalog(ingredientRepository, catalogVersions),
+                catalogVersions);
+    }
+
+    @Test
+    void testCounts_WhenFirstRead_ThenLoadsOnceFromDatabase() {
+        // Act
+        facetCounter.counts();
+        FacetCounts counts = facetCounter.counts();
+
+        // Assert
+        assertEquals(3, counts.getRecipes());
+        assertEquals(Map.of("Italian", 2, "Mexican", 1), counts.getCuisine());
+        assertEquals(Map.of("Easy", 2, "Hard", 1), counts.getDifficulty());
+        assertEquals(Map.of("4-5", 1, "2-3", 1, FacetCounter.UNRATED, 1), counts.getRating());
+        assertEquals(Map.of("Dairy", 1, "Vegetable", 1), counts.getIngredientCategory());
+        assertEquals("4-5", FacetCounter.ratingBucket(5.0, 1));
+        verify(recipeRepository, times(1)).findAllProjected(any());
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenRecipeUpdatedAndDeleted_ThenMovesAndDropsCounts() {
+        // Arrange
+        facetCounter.counts();
+        Recipe updated = new Recipe("Tacos", "Street tacos", 10, 10, 4, "Medium", "Mexican");
+        updated.setId(1L);
+        updated.setAverageRating(3.0);
+        updated.setRatingCount(3);
+
+        // Act
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L, updated, 11));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L, updated, 11));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 2L, null, 12));
+        FacetCounts counts = facetCounter.counts();
+
+        // Assert - the repeated update is applied once, and emptied facet values disappear
+        assertEquals(2, counts.getRecipes());
+        assertEquals(Map.of("Mexican", 2), counts.getCuisine());
+        assertEquals(Map.of("Easy", 1, "Medium", 1), counts.getDifficulty());
+        assertEquals(Map.of("2-3", 1, "3-4", 1), counts.getRating());
+        verify(recipeRepository, times(1)).findAllProjected(any());
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenEventsArriveOutOfOrder_ThenIgnoresStaleOnes() {
+        // Arrange - the load saw everything up to version 10
+        when(catalogVersions.current()).thenReturn(10L);
+        facetCounter.counts();
+        Recipe stale = new Recipe("Tacos", "Street tacos", 10, 10, 4, "Medium", "Mexican");
+        stale.setId(1L);
+        Recipe latest = new Recipe("Tacos", "Street tacos", 10, 10, 4, "Hard", "Mexican");
+        latest.setId(1L);
+
+        // Act
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 3L, stale, 9));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L, latest, 12));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L, stale, 11));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 2L, null, 14));
+        facetCounter.onRecipeChanged(new RecipeChangedEvent(ChangeType.CREATED, 2L, stale, 13));
+        FacetCounts counts = facetCounter.counts();
+
+        // Assert - only the newest change to each recipe counts
+        assertEquals(2, counts.getRecipes());
+        assertEquals(Map.of("Mexican", 2), counts.getCuisine());
+        assertEquals(Map.of("Easy", 1, "Hard", 1), counts.getDifficulty());
+    }
+
+    @Test
+    void testOnIngredientChanged_WhenCategoryChanges_ThenUpdatesCategoryCounts() {
+        // Arrange
+        facetCounter.counts();
+
+        // Act
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Milk", "Vegetable", "cups"), 11));
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.CREATED, 3L,
+                new Ingredient(3L, "Cheddar", "Dairy", "ounces"), 12));
+
+        // Assert
+        assertEquals(Map.of("Dairy", 1, "Vegetable", 2), facetCounter.counts().getIngredientCategory());
+    }
+
+    @Test
+    void testOnIngredientChanged_WhenOlderEventArrivesLast_ThenKeepsNewerCategory() {
+        // Arrange
+        facetCounter.counts();
+
+        // Act
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Milk", "Vegetable", "cups"), 12));
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Milk", "Spice", "cups"), 11));
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.DELETED, 2L, null, 14));
+        facetCounter.onIngredientChanged(new IngredientChangedEvent(ChangeType.CREATED, 2L,
+                new Ingredient(2L, "Tomato", "Vegetable", "whole"), 13));
+
+        // Assert
+        assertEquals(Map.of("Vegetable", 1), facetCounter.counts().getIngredientCategory());
+    }
+}
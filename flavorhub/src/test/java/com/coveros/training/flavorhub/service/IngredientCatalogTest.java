@@ -0,0 +1,127 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.IngredientChangedEvent;
+import com.coveros.training.flavorhub.model.Ingredient;
+import com.coveros.training.flavorhub.repository.IngredientRepository;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IngredientCatalog
+ */
+@ExtendWith(MockitoExtension.class)
+class IngredientCatalogTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private CatalogVersionCounter catalogVersions;
+
+    @InjectMocks
+    private IngredientCatalog ingredientCatalog;
+
+    @BeforeEach
+    void setUp() {
+        when(ingredientRepository.findAll()).thenReturn(List.of(
+                new Ingredient(2L, "Butter", "Dairy", "tablespoons"),
+                new Ingredient(1L, "Milk", "Dairy", "cups"),
+                new Ingredient(3L, "Tomato", "Vegetable", "whole")));
+    }
+
+    @Test
+    void testSnapshot_WhenFirstRead_ThenLoadsOnceAndOrdersById() {
+        // Act
+        List<Ingredient> first = ingredientCatalog.snapshot().all();
+        List<Ingredient> second = ingredientCatalog.snapshot().all();
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), first.stream().map(Ingredient::getId).toList());
+        assertSame(first, second);
+        verify(ingredientRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testSnapshot_WhenLookingUpByNameCategoryAndSearch_ThenUsesIndexes() {
+        // Act
+        IngredientCatalog.Snapshot snapshot = ingredientCatalog.snapshot();
+
+        // Assert
+        assertEquals(1L, snapshot.findByNameIgnoreCase("MILK").orElseThrow().getId());
+        assertEquals(2, snapshot.findByCategory("Dairy").size());
+        assertTrue(snapshot.findByCategory("dairy").isEmpty());
+        assertEquals(List.of(3L), snapshot.findByNameContainingIgnoreCase("mat").stream()
+                .map(Ingredient::getId).toList());
+        assertTrue(snapshot.findById(99L).isEmpty());
+    }
+
+    @Test
+    void testOnIngredientChanged_WhenCreated_ThenPublishesNewSnapshotWithoutTouchingOldOne() {
+        // Arrange
+        IngredientCatalog.Snapshot before = ingredientCatalog.snapshot();
+        Ingredient created = new Ingredient(4L, "Basil", "Spice", "leaves");
+
+        // Act
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.CREATED, 4L, created, 11));
+
+        // Assert
+        IngredientCatalog.Snapshot after = ingredientCatalog.snapshot();
+        assertEquals(3, before.all().size());
+        assertEquals(4, after.all().size());
+        assertEquals("Basil", after.findByNameIgnoreCase("basil").orElseThrow().getName());
+        assertNotSame(created, after.findById(4L).orElseThrow());
+        verify(ingredientRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testOnIngredientChanged_WhenUpdatedAndDeleted_ThenIndexesFollow() {
+        // Arrange
+        ingredientCatalog.snapshot();
+
+        // Act
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Whole Milk", "Dairy", "cups"), 11));
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.DELETED, 2L, null, 12));
+
+        // Assert
+        IngredientCatalog.Snapshot snapshot = ingredientCatalog.snapshot();
+        assertTrue(snapshot.findByNameIgnoreCase("milk").isEmpty());
+        assertTrue(snapshot.findByNameIgnoreCase("whole milk").isPresent());
+        assertEquals(List.of(1L), snapshot.findByCategory("Dairy").stream().map(Ingredient::getId).toList());
+    }
+
+    @Test
+    void testOnIngredientChanged_WhenOlderEventArrivesLast_ThenKeepsNewerState() {
+        // Arrange
+        when(catalogVersions.current()).thenReturn(10L);
+        ingredientCatalog.snapshot();
+
+        // Act
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Oat Milk", "Dairy", "cups"), 13));
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 1L,
+                new Ingredient(1L, "Whole Milk", "Dairy", "cups"), 12));
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.DELETED, 3L, null, 15));
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 3L,
+                new Ingredient(3L, "Roma Tomato", "Vegetable", "whole"), 14));
+        ingredientCatalog.onIngredientChanged(new IngredientChangedEvent(ChangeType.UPDATED, 2L,
+                new Ingredient(2L, "Salted Butter", "Dairy", "tablespoons"), 9));
+
+        // Assert - only the newest change to each ingredient, and none the load already saw
+        IngredientCatalog.Snapshot snapshot = ingredientCatalog.snapshot();
+        assertEquals("Oat Milk", snapshot.findById(1L).orElseThrow().getName());
+        assertEquals("Butter", snapshot.findById(2L).orElseThrow().getName());
+        assertTrue(snapshot.findById(3L).isEmpty());
+    }
+}
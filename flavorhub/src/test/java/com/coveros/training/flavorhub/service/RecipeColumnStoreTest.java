@@ -0,0 +1,141 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.RecipeFilter;
+import com.coveros.training.flavorhub.dto.RecipeFilterResult;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecipeColumnStore
+ */
+@ExtendWith(MockitoExtension.class)
+class RecipeColumnStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RecipeColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        // An empty table at catalog version 0, then four recipes created at versions 1-4
+        store = new RecipeColumnStore(jdbcTemplate, new CatalogVersionCounter(jdbcTemplate));
+        store.reload();
+        // Out of ID order on purpose
+        created(recipe(3L, 10, 20, 4, 4.5, "Italian", "Easy"));
+        created(recipe(1L, 30, 60, 2, 3.0, "Thai", "Hard"));
+        created(recipe(2L, 15, null, 6, null, "Italian", "Medium"));
+        created(recipe(4L, 5, 0, 1, 4.8, null, "Easy"));
+    }
+
+    @Test
+    void testFilter_WhenRangesAndCuisines_ThenReturnsMatchingIdsInOrder() {
+        // Arrange
+        RecipeFilter filter = new RecipeFilter();
+        filter.setMaxPrepTime(20);
+        filter.setCuisine(List.of("Italian", "Thai", "Unknown"));
+
+        // Act
+        RecipeFilterResult result = store.filter(filter, 10);
+
+        // Assert
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(2L, 3L), result.getIds());
+    }
+
+    @Test
+    void testFilter_WhenCriterionValueMissing_ThenRecipeNeverMatches() {
+        // Arrange
+        RecipeFilter filter = new RecipeFilter();
+        filter.setMaxCookTime(100);
+        filter.setMinRating(0.0);
+
+        // Act
+        RecipeFilterResult result = store.filter(filter, 1);
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(1L), result.getIds());
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenUpdatedAndDeleted_ThenFilterSeesLatestState() {
+        // Arrange
+        RecipeFilter filter = new RecipeFilter();
+        filter.setDifficulty(List.of("Easy"));
+        filter.setMinServings(2);
+
+        // Act
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L,
+                recipe(1L, 30, 60, 2, 3.0, "Thai", "Easy"), 11));
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 3L, null, 12));
+        RecipeFilterResult result = store.filter(filter, 10);
+
+        // Assert
+        assertEquals(List.of(1L), result.getIds());
+        assertThrows(IllegalArgumentException.class, () -> store.filter(filter, RecipeColumnStore.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testFilter_WhenMinRatingJustBelowStoredRating_ThenComparesAtFullPrecision() {
+        // Arrange
+        RecipeFilter filter = new RecipeFilter();
+        filter.setMinRating(4.79999999);
+
+        // Act
+        RecipeFilterResult justBelow = store.filter(filter, 10);
+        filter.setMinRating(4.80000001);
+        RecipeFilterResult justAbove = store.filter(filter, 10);
+
+        // Assert
+        assertEquals(List.of(4L), justBelow.getIds());
+        assertEquals(0, justAbove.getTotal());
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenEventsArriveOutOfOrder_ThenKeepsNewestRow() {
+        // Arrange
+        RecipeFilter filter = new RecipeFilter();
+        filter.setCuisine(List.of("Thai"));
+
+        // Act
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 1L, null, 12));
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 1L,
+                recipe(1L, 30, 60, 2, 3.0, "Thai", "Easy"), 11));
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.UPDATED, 3L,
+                recipe(3L, 10, 20, 4, 4.5, "Thai", "Easy"), 3));
+        RecipeFilterResult result = store.filter(filter, 10);
+
+        // Assert
+        assertEquals(0, result.getTotal());
+    }
+
+    private void created(Recipe recipe) {
+        store.onRecipeChanged(new RecipeChangedEvent(ChangeType.CREATED, recipe.getId(), recipe, recipe.getId()));
+    }
+
+    private static Recipe recipe(Long id, Integer prepTime, Integer cookTime, Integer servings, Double rating,
+                                 String cuisine, String difficulty) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setPrepTime(prepTime);
+        recipe.setCookTime(cookTime);
+        recipe.setServings(servings);
+        recipe.setAverageRating(rating);
+        recipe.setCuisineType(cuisine);
+        recipe.setDifficultyLevel(difficulty);
+        return recipe;
+    }
+}
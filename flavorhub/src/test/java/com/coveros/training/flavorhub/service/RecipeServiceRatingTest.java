@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -24,6 +25,9 @@ class RecipeServiceRatingTest {
     @Mock
     private RecipeRepository recipeRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private RecipeService recipeService;
     
@@ -36,6 +40,7 @@ class RecipeServiceRatingTest {
         testRecipe.setId(1L);
         testRecipe.setAverageRating(0.0);
         testRecipe.setRatingCount(0);
+        testRecipe.setChangeVersion(1L);
     }
     
     @Test
@@ -8,8 +8,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +31,12 @@ class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -36,6 +48,7 @@ class RecipeServiceTest {
         testRecipe.setId(1L);
         testRecipe.setAverageRating(0.0);
         testRecipe.setRatingCount(0);
+        testRecipe.setChangeVersion(1L);
     }
 
     @Test
@@ -138,4 +151,40 @@ class RecipeServiceTest {
         assertEquals(3.666666666666667, result.getAverageRating(), 0.01);
         assertEquals(3, result.getRatingCount());
     }
+
+    @Test
+    void testGetRecipeById_WhenFollowerMutatesResultWhileTransactionalCallerQueries_ThenTransactionalRecipeUnchanged() throws Exception {
+        // Arrange
+        Recipe followerCopy = new Recipe("Pasta", "Italian pasta dish", 10, 15, 4, "Easy", "Italian");
+        followerCopy.setId(1L);
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(recipeRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    queryStarted.countDown();
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                    return Optional.of(testRecipe);
+                })
+                .thenReturn(Optional.of(followerCopy));
+        CompletableFuture<Optional<Recipe>> transactional = CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                return recipeService.getRecipeById(1L);
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        });
+        assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Recipe follower = recipeService.getRecipeById(1L).orElseThrow();
+        follower.setName("Changed by follower");
+        release.countDown();
+        Recipe transactionalRecipe = transactional.get(5, TimeUnit.SECONDS).orElseThrow();
+
+        // Assert
+        assertNotSame(transactionalRecipe, follower);
+        assertEquals("Pasta", transactionalRecipe.getName());
+        assertEquals(0, recipeService.getRecipeByIdFlights().getCoalescedCount());
+    }
 }
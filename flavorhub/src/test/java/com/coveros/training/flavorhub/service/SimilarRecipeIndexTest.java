@@ -0,0 +1,89 @@
+package com.coveros.training.flavorhub.service;
+
+import com.coveros.training.flavorhub.dto.SimilarRecipe;
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Recipe;
+import com.coveros.training.flavorhub.model.RecipeIngredient;
+import com.coveros.training.flavorhub.sync.CatalogVersionCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimilarRecipeIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class SimilarRecipeIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimilarRecipeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Nothing to index at startup; the recipes are created afterwards, at versions 1-4
+        index = new SimilarRecipeIndex(jdbcTemplate, new CatalogVersionCounter(jdbcTemplate));
+        index.reload();
+        saved(ChangeType.CREATED, 1L, 1, "Pasta", "Eggs", "Cheese", "Black Pepper", "Bacon");
+        saved(ChangeType.CREATED, 2L, 2, "pasta", "Eggs", "Cheese", "Black Pepper", "Cream");
+        saved(ChangeType.CREATED, 3L, 3, "Pasta", "Eggs", "Cheese", "Black Pepper", "Bacon", "Peas");
+        saved(ChangeType.CREATED, 4L, 4, "Rice", "Soy Sauce", "Ginger", "Scallion");
+    }
+
+    @Test
+    void testSimilar_WhenIngredientsOverlap_ThenRanksByJaccardSimilarity() {
+        // Act
+        Optional<List<SimilarRecipe>> similar = index.similar(1L, 10);
+
+        // Assert
+        assertEquals(Optional.of(List.of(new SimilarRecipe(3L, 5 / 6.0), new SimilarRecipe(2L, 4 / 6.0))), similar);
+        assertEquals(Optional.of(List.of()), index.similar(4L, 10));
+        assertEquals(Optional.empty(), index.similar(99L, 10));
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenUpdatedAndDeleted_ThenReindexes() {
+        // Act
+        saved(ChangeType.UPDATED, 4L, 11, "Pasta", "Eggs", "Cheese", "Black Pepper", "Bacon", "Parsley");
+        index.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 3L, null, 12));
+        Optional<List<SimilarRecipe>> similar = index.similar(1L, 1);
+
+        // Assert
+        assertEquals(Optional.of(List.of(new SimilarRecipe(4L, 5 / 6.0))), similar);
+        assertEquals(Optional.empty(), index.similar(3L, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.similar(1L, SimilarRecipeIndex.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenOlderChangeArrivesLate_ThenKeepsNewerIngredients() {
+        // Act - a rating does not hide an older ingredient change, a newer ingredient change does
+        index.onRecipeChanged(new RecipeChangedEvent(ChangeType.RATED, 4L, null, 13));
+        saved(ChangeType.UPDATED, 4L, 12, "Pasta", "Eggs", "Cheese", "Black Pepper", "Bacon");
+        saved(ChangeType.UPDATED, 4L, 11, "Rice", "Soy Sauce", "Ginger", "Scallion");
+        index.onRecipeChanged(new RecipeChangedEvent(ChangeType.DELETED, 2L, null, 14));
+        saved(ChangeType.UPDATED, 2L, 10, "Pasta", "Eggs", "Cheese", "Black Pepper", "Cream");
+
+        // Assert
+        assertEquals(Optional.of(List.of(new SimilarRecipe(4L, 1.0))), index.similar(1L, 1));
+        assertEquals(Optional.empty(), index.similar(2L, 1));
+    }
+
+    private void saved(ChangeType type, Long id, long version, String... ingredientNames) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        for (String name : ingredientNames) {
+            recipe.getIngredients().add(new RecipeIngredient(name, 1.0, "cups", null));
+        }
+        index.onRecipeChanged(new RecipeChangedEvent(type, id, recipe, version));
+    }
+}
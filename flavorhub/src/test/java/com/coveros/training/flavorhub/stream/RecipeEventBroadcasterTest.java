@@ -0,0 +1,187 @@
+package com.coveros.training.flavorhub.stream;
+
+import com.coveros.training.flavorhub.event.ChangeType;
+import com.coveros.training.flavorhub.event.RecipeChangedEvent;
+import com.coveros.training.flavorhub.model.Recipe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecipeEventBroadcaster with clients that read normally or not at all
+ */
+class RecipeEventBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RecipeEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        RecipeStreamProperties properties = new RecipeStreamProperties();
+        properties.setMaxClients(200);
+        properties.setSenderThreads(1);
+        properties.setWriterThreads(4);
+        properties.setCoalesceWindow(Duration.ZERO);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        properties.setWriteTimeout(Duration.ofMillis(200));
+        broadcaster = new RecipeEventBroadcaster(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenClientStopsReading_ThenOthersStillReceiveAndItIsDisconnected() throws Exception {
+        // Arrange
+        TestEmitter stalled = new TestEmitter(true);
+        TestEmitter reading = new TestEmitter(false);
+        broadcaster.subscribe(stalled);
+        broadcaster.subscribe(reading);
+
+        // Act
+        broadcaster.onRecipeChanged(rated(1L));
+
+        // Assert - the blocked write neither holds up the other client nor keeps its slot
+        assertTrue(eventually(() -> reading.sent.size() == 2));
+        assertTrue(eventually(() -> broadcaster.clientCount() == 1));
+        assertEquals(1.0, meterRegistry.get("flavorhub.recipe-stream.stalled").counter().count());
+        assertTrue(broadcaster.subscribe(new TestEmitter(false)).isPresent());
+        stalled.writable.countDown();
+    }
+
+    @Test
+    void testOnRecipeChanged_WhenManyClientsAreSlow_ThenWriterThreadsStayBounded() throws Exception {
+        // Arrange
+        AtomicInteger writing = new AtomicInteger();
+        AtomicInteger mostWriting = new AtomicInteger();
+        Set<Thread> writerThreads = ConcurrentHashMap.newKeySet();
+        List<SlowEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            SlowEmitter emitter = new SlowEmitter(writing, mostWriting, writerThreads);
+            emitters.add(emitter);
+            broadcaster.subscribe(emitter);
+        }
+
+        // Act
+        broadcaster.onRecipeChanged(rated(1L));
+
+        // Assert - every client gets the change, written by no more than the configured writers
+        assertTrue(eventually(() -> emitters.stream().allMatch(emitter -> emitter.events.get() == 2)));
+        assertTrue(mostWriting.get() <= 4, "concurrent writes: " + mostWriting.get());
+        assertTrue(writerThreads.size() <= 4, "writer threads: " + writerThreads.size());
+    }
+
+    @Test
+    void testSubscribe_WhenMaxClientsOpen_ThenRefusesMore() {
+        // Arrange
+        for (int i = 0; i < 199; i++) {
+            broadcaster.subscribe(new TestEmitter(false));
+        }
+
+        // Act
+        boolean last = broadcaster.subscribe(new TestEmitter(false)).isPresent();
+        boolean beyond = broadcaster.subscribe(new TestEmitter(false)).isPresent();
+
+        // Assert
+        assertTrue(last);
+        assertFalse(beyond);
+        assertEquals(200, broadcaster.clientCount());
+    }
+
+    private static RecipeChangedEvent rated(Long id) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setAverageRating(4.0);
+        recipe.setRatingCount(1);
+        return new RecipeChangedEvent(ChangeType.RATED, id, recipe, 1);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * Takes 20 ms per write after the first, like a client on a slow link, and records which
+     * threads wrote and how many wrote at once
+     */
+    private static class SlowEmitter extends SseEmitter {
+
+        private final AtomicInteger writing;
+        private final AtomicInteger mostWriting;
+        private final Set<Thread> writerThreads;
+        private final AtomicInteger events = new AtomicInteger();
+
+        SlowEmitter(AtomicInteger writing, AtomicInteger mostWriting, Set<Thread> writerThreads) {
+            this.writing = writing;
+            this.mostWriting = mostWriting;
+            this.writerThreads = writerThreads;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (events.incrementAndGet() == 1) {
+                // The "connected" comment, sent on the subscribing thread
+                return;
+            }
+            writerThreads.add(Thread.currentThread());
+            mostWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new IOException("Write interrupted", e);
+            } finally {
+                writing.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Records what is sent; a stalling emitter blocks every send after the first, like a client
+     * whose socket buffer is full, until the test releases it
+     */
+    private static class TestEmitter extends SseEmitter {
+
+        private final boolean stalls;
+        private final List<SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writable = new CountDownLatch(1);
+
+        TestEmitter(boolean stalls) {
+            this.stalls = stalls;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stalls && !sent.isEmpty()) {
+                try {
+                    writable.await();
+                } catch (InterruptedException e) {
+                    throw new IOException("Write interrupted", e);
+                }
+            }
+            sent.add(builder);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.coveros.training.flavorhub.stream;
+
+import com.coveros.training.flavorhub.event.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-client buffer of the recipe stream
+ */
+class RecipeStreamClientTest {
+
+    @Test
+    void testOffer_WhenBurstForSameRecipe_ThenSendsLatestStateOnce() {
+        // Arrange
+        RecipeStreamClient client = new RecipeStreamClient(new SseEmitter(), 10);
+
+        // Act
+        boolean first = client.offer(rated(1L, 4.0, 1));
+        boolean second = client.offer(rated(1L, 4.5, 2));
+        client.offer(rated(2L, 3.0, 1));
+        RecipeStreamClient.Batch batch = client.drain();
+
+        // Assert
+        assertFalse(first);
+        assertTrue(second);
+        assertEquals(List.of(rated(1L, 4.5, 2), rated(2L, 3.0, 1)), batch.updates());
+        assertFalse(client.hasWork());
+    }
+
+    @Test
+    void testOffer_WhenMoreRecipesThanBuffer_ThenDropsPendingAndRequestsResync() {
+        // Arrange
+        RecipeStreamClient client = new RecipeStreamClient(new SseEmitter(), 2);
+
+        // Act
+        client.offer(rated(1L, 4.0, 1));
+        client.offer(rated(2L, 4.0, 1));
+        client.offer(rated(3L, 4.0, 1));
+        client.offer(rated(4L, 4.0, 1));
+        RecipeStreamClient.Batch batch = client.drain();
+
+        // Assert
+        assertTrue(batch.resync());
+        assertTrue(batch.updates().isEmpty());
+    }
+
+    @Test
+    void testFollowedBy_WhenCreatedThenRated_ThenStaysCreatedWithLatestRating() {
+        // Arrange
+        RecipeUpdate created = new RecipeUpdate(ChangeType.CREATED, 1L, "Soup", "French", "Easy", 0.0, 0);
+
+        // Act
+        RecipeUpdate merged = created.followedBy(rated(1L, 5.0, 1));
+
+        // Assert
+        assertEquals(ChangeType.CREATED, merged.type());
+        assertEquals("recipe", merged.eventName());
+        assertEquals(5.0, merged.averageRating());
+    }
+
+    private static RecipeUpdate rated(Long id, double average, int count) {
+        return new RecipeUpdate(ChangeType.RATED, id, "Recipe " + id, "Italian", "Easy", average, count);
+    }
+}